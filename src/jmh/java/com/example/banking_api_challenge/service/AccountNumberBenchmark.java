@@ -0,0 +1,100 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.accountnumber.AccountNumberBlock;
+import com.example.banking_api_challenge.accountnumber.AccountNumberGenerator;
+import com.example.banking_api_challenge.accountnumber.AccountNumberProperties;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AccountNumberGenerator} against the former random UUID prefix, single-threaded and with four threads,
+ * plus per-number cost when numbers are taken from a reserved {@link AccountNumberBlock}. Run with
+ * {@code -prof gc} to compare allocation per call. The trial setup also draws {@value #COLLISION_SAMPLE}
+ * legacy numbers and prints how many collided; the generator cannot collide by construction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountNumberBenchmark {
+
+    private static final int COLLISION_SAMPLE = 200_000;
+
+    private static final int BLOCK_SIZE = 1_000;
+
+    private AccountNumberGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // No stored numbers: every repository call answers null
+        AccountRepository emptyRepository = (AccountRepository) Proxy.newProxyInstance(AccountRepository.class.getClassLoader(),
+                new Class<?>[]{AccountRepository.class}, (proxy, method, args) -> null);
+        generator = new AccountNumberGenerator(new AccountNumberProperties(), emptyRepository);
+
+        Set<String> seen = new HashSet<>(COLLISION_SAMPLE * 2);
+        int collisions = 0;
+        for (int i = 0; i < COLLISION_SAMPLE; i++) {
+            if (!seen.add(legacyNumber())) {
+                collisions++;
+            }
+        }
+        System.out.printf("%nlegacy UUID prefix: %d collisions in %d numbers%n", collisions, COLLISION_SAMPLE);
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacyNumber();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacyContended() {
+        return legacyNumber();
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateContended() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BLOCK_SIZE)
+    public void generateFromBlock(Blackhole blackhole) {
+        AccountNumberBlock block = generator.reserve(BLOCK_SIZE);
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            blackhole.consume(block.get(i));
+        }
+    }
+
+    private static String legacyNumber() {
+        return "ACC-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.BankingApiChallengeApplication;
+import com.example.banking_api_challenge.accountnumber.AccountNumberBlock;
+import com.example.banking_api_challenge.accountnumber.AccountNumberGenerator;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application without a web server against a private in-memory H2 database for one benchmark trial.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        return new SpringApplicationBuilder(BankingApiChallengeApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";LOCK_TIMEOUT=10000",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    static List<Long> createAccounts(ConfigurableApplicationContext context, int count, BigDecimal balance) {
+        CustomerRepository customers = context.getBean(CustomerRepository.class);
+        AccountRepository accounts = context.getBean(AccountRepository.class);
+        Customer customer = customers.save(new Customer(null, "Benchmark Customer", null));
+        AccountNumberBlock numbers = context.getBean(AccountNumberGenerator.class).reserve(count);
+        List<Account> created = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            created.add(Account.builder().accountNumber(numbers.get(i))
+                    .balance(balance).customer(customer).createdAt(LocalDateTime.now()).build());
+        }
+        return accounts.saveAll(created).stream().map(Account::getId).toList();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.ColumnarTransferPage;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.json.AccountResponseSerializer;
+import com.example.banking_api_challenge.json.ColumnarTransferPageSerializer;
+import com.example.banking_api_challenge.json.TransferResponseSerializer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson cost of the API DTOs, using an ObjectMapper configured the way Spring Boot builds it, with
+ * ({@code handwritten}) and without ({@code reflective}) the serializers from the {@code json} package.
+ * The history benchmarks also cover the columnar page format and gzip at Tomcat's default level; the
+ * payload sizes of each format are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"reflective", "handwritten"})
+    public String serializers;
+
+    private ObjectWriter transferWriter;
+
+    private ObjectWriter accountWriter;
+
+    private ObjectWriter historyWriter;
+
+    private ObjectWriter columnarWriter;
+
+    private ObjectReader requestReader;
+
+    private TransferResponse transfer;
+
+    private AccountResponse account;
+
+    private List<TransferResponse> history;
+
+    private ColumnarTransferPage columnarHistory;
+
+    private String requestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (serializers.equals("handwritten")) {
+            builder.serializers(new TransferResponseSerializer(), new AccountResponseSerializer(), new ColumnarTransferPageSerializer());
+        }
+        ObjectMapper mapper = builder.build();
+        transferWriter = mapper.writerFor(TransferResponse.class);
+        accountWriter = mapper.writerFor(AccountResponse.class);
+        historyWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, TransferResponse.class));
+        columnarWriter = mapper.writerFor(ColumnarTransferPage.class);
+        requestReader = mapper.readerFor(TransferRequest.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        transfer = new TransferResponse(1L, 1L, 2L, new BigDecimal("125.50"), "Invoice 42", now);
+        account = new AccountResponse(1L, "ACC-1A2B3C4D", new BigDecimal("1000.00"), 1L, "Arisha Barron", now);
+        history = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            history.add(new TransferResponse((long) i, 1L, 2L, new BigDecimal("1.00"), "T" + i, now.minusSeconds(i)));
+        }
+        columnarHistory = new ColumnarTransferPage(history, null, false);
+        byte[] rows = writeHistoryOf1000();
+        byte[] columns = writeColumnarHistoryOf1000();
+        System.out.printf("%n[%s] history of 1000: rows %d bytes (%d gzipped), columnar %d bytes (%d gzipped)%n",
+                serializers, rows.length, gzip(rows).length, columns.length, gzip(columns).length);
+        requestJson = mapper.writeValueAsString(new TransferRequest(1L, 2L, new BigDecimal("125.50"), "Invoice 42"));
+    }
+
+    @Benchmark
+    public byte[] writeTransferResponse() throws JsonProcessingException {
+        return transferWriter.writeValueAsBytes(transfer);
+    }
+
+    @Benchmark
+    public byte[] writeAccountResponse() throws JsonProcessingException {
+        return accountWriter.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public byte[] writeHistoryOf1000() throws JsonProcessingException {
+        return historyWriter.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public byte[] writeColumnarHistoryOf1000() throws JsonProcessingException {
+        return columnarWriter.writeValueAsBytes(columnarHistory);
+    }
+
+    @Benchmark
+    public byte[] writeHistoryOf1000Gzipped() throws IOException {
+        return gzip(historyWriter.writeValueAsBytes(history));
+    }
+
+    @Benchmark
+    public TransferRequest readTransferRequest() throws JsonProcessingException {
+        return requestReader.readValue(requestJson);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.splitbalance.SplitBalances;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AccountService#transferFunds} throughput with eight threads all paying one hot account from
+ * {@value #SOURCES} different sources, by the hot account's number of balance slots. With {@code 0} it is not
+ * split and every credit waits for the lock on its row; with slots, credits only queue behind others that
+ * hash to the same slot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class HotAccountBenchmark {
+
+    private static final int SOURCES = 256;
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Param({"0", "1", "4", "16"})
+    public int slots;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private List<Long> sourceIds;
+
+    private Long hotId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("hot-account-bench");
+        accountService = context.getBean(AccountService.class);
+        sourceIds = BenchmarkApplication.createAccounts(context, SOURCES, new BigDecimal("1000000000.00"));
+        hotId = BenchmarkApplication.createAccounts(context, 1, BigDecimal.ZERO).get(0);
+        if (slots > 0) {
+            context.getBean(SplitBalances.class).split(hotId, slots);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%d slots: hot account balance %s%n", slots, accountService.getAccountBalance(hotId).getBalance());
+        context.close();
+    }
+
+    @Benchmark
+    public TransferResponse payHotAccount() {
+        Long from = sourceIds.get(ThreadLocalRandom.current().nextInt(SOURCES));
+        return accountService.transferFunds(new TransferRequest(from, hotId, AMOUNT, "bench"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.banking_api_challenge.service;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.handler.ErrorLogProperties;
+import com.example.banking_api_challenge.handler.ExpectedFailureLog;
+import com.example.banking_api_challenge.handler.GlobalExceptionHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A flood of rejected transfers on four threads, from the throw to the serialized error body. {@code legacy}
+ * is the former path: an exception with a full stack trace, {@code log.error} with that trace, a counter looked
+ * up by tags and a {@link HashMap} body. {@code lean} is {@link GlobalExceptionHandler} with the stackless
+ * {@link InsufficientFundsException}, sampled logging and a problem response. Each exception is thrown
+ * {@value #CALL_DEPTH} frames deep, roughly where a service sits below Tomcat and the Spring MVC filters,
+ * and log output is formatted but written to a null stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RejectionPathBenchmark {
+
+    private static final int CALL_DEPTH = 80;
+
+    private static final org.slf4j.Logger LEGACY_LOG = LoggerFactory.getLogger("legacy-exception-handler");
+
+    @Param({"legacy", "lean"})
+    public String path;
+
+    private MeterRegistry meterRegistry;
+
+    private GlobalExceptionHandler handler;
+
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        discardOutput(LEGACY_LOG.getName());
+        discardOutput(ExpectedFailureLog.class.getName());
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new GlobalExceptionHandler(meterRegistry, new ExpectedFailureLog(new ErrorLogProperties()));
+        writer = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build().writer();
+    }
+
+    @Benchmark
+    public byte[] rejectTransfer() throws JsonProcessingException {
+        boolean legacy = path.equals("legacy");
+        try {
+            return throwFrom(CALL_DEPTH, legacy);
+        } catch (LegacyInsufficientFundsException ex) {
+            LEGACY_LOG.error(ex.getMessage(), ex);
+            meterRegistry.counter(GlobalExceptionHandler.EXCEPTIONS_COUNTER, "exception", ex.getClass().getSimpleName()).increment();
+            Map<String, Object> response = new HashMap<>();
+            response.put("timestamp", LocalDateTime.now());
+            response.put("status", 400);
+            response.put("error", "Insufficient Funds");
+            response.put("message", ex.getMessage());
+            return writer.writeValueAsBytes(response);
+        } catch (InsufficientFundsException ex) {
+            return writer.writeValueAsBytes(handler.handleInsufficientFunds(ex).getBody());
+        }
+    }
+
+    private static byte[] throwFrom(int depth, boolean legacy) {
+        if (depth > 0) {
+            return throwFrom(depth - 1, legacy);
+        }
+        String message = "Insufficient funds in account: ACC-" + Thread.currentThread().getId();
+        throw legacy ? new LegacyInsufficientFundsException(message) : new InsufficientFundsException(message);
+    }
+
+    private static void discardOutput(String loggerName) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %-5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        Logger logger = context.getLogger(loggerName);
+        logger.detachAndStopAllAppenders();
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+    }
+
+    private static final class LegacyInsufficientFundsException extends RuntimeException {
+        private LegacyInsufficientFundsException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Latency until {@link AccountService#transferFunds} acknowledges a transfer, sampled per call with four threads.
+ * {@code database} is the row-lock, {@code transferRepository.save} and JDBC commit path; {@code journal} is the
+ * in-memory ledger, which acknowledges once its journal entry is forced to storage by a group commit and
+ * writes to the database behind. The journal lives in a temporary directory, so the result depends on the
+ * device that directory is on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TransferAckBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    private static final int ACCOUNTS = 100;
+
+    @Param({"database", "journal"})
+    public String ack;
+
+    private Path journalDirectory;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private List<Long> accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalDirectory = Files.createTempDirectory("ledger-journal-bench");
+        String mode = ack.equals("journal") ? "in-memory" : "database";
+        context = BenchmarkApplication.start("ack-bench-" + ack,
+                "banking.ledger.mode=" + mode,
+                "banking.ledger.journal-path=" + journalDirectory);
+        accountService = context.getBean(AccountService.class);
+        accountIds = BenchmarkApplication.createAccounts(context, ACCOUNTS, new BigDecimal("1000000000.00"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(journalDirectory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public TransferResponse transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        return accountService.transferFunds(new TransferRequest(accountIds.get(from), accountIds.get(to), AMOUNT, "bench"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferHistoryPage;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.archive.TransferArchive;
+import com.example.banking_api_challenge.archive.TransferArchiveSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * History reads over {@code transfers} transfers spread over a year among {@value #ACCOUNTS} accounts, with
+ * everything in the transfers table ({@code archived=false}) and with the transfers older than the 90-day
+ * retention moved to the monthly archive tables ({@code archived=true}). The archival runs in the trial setup,
+ * which prints its throughput.
+ * <p>
+ * The transfers are generated by the database itself, with ids from 1 that bypass the transfer sequence. The
+ * default size fits in-memory H2; the 100M-row run needs the file database and a large heap, e.g.
+ * {@code -Djmh.args="TransferArchiveBenchmark -p transfers=100000000 -p database=file -jvmArgs -Xmx16g"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferArchiveBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+
+    private static final int HISTORY_SECONDS = 365 * 24 * 3600;
+
+    private static final int INSERT_CHUNK = 1_000_000;
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1000000"})
+    public int transfers;
+
+    @Param({"false", "true"})
+    public boolean archived;
+
+    /** {@code mem} or {@code file}, the latter under target/. */
+    @Param({"mem"})
+    public String database;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private List<Long> accountIds;
+
+    private String halfYearAgo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String name = "archive-bench-" + transfers + "-" + archived;
+        context = BenchmarkApplication.start(name,
+                "spring.datasource.url=" + ("file".equals(database) ? "jdbc:h2:file:./target/" + name : "jdbc:h2:mem:" + name) + ";LOCK_TIMEOUT=10000",
+                "banking.archive.retention=90d",
+                "banking.archive.chunk-size=10000");
+        accountService = context.getBean(AccountService.class);
+        accountIds = BenchmarkApplication.createAccounts(context, ACCOUNTS, new BigDecimal("1000.00"));
+        long firstId = accountIds.get(0);
+        if (accountIds.get(ACCOUNTS - 1) - firstId != ACCOUNTS - 1) {
+            throw new IllegalStateException("Benchmark accounts need consecutive ids");
+        }
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime now = LocalDateTime.now();
+        long start = System.nanoTime();
+        for (long from = 1; from <= transfers; from += INSERT_CHUNK) {
+            jdbcTemplate.update(("INSERT INTO transfers (id, from_account_id, to_account_id, amount, timestamp, description) "
+                            + "SELECT X, %1$d + MOD(X * 7919, %2$d), %1$d + MOD(X * 104729 + 1, %2$d), 1.00, "
+                            + "DATEADD('SECOND', -MOD(X * 2654435761, %3$d), CAST(? AS TIMESTAMP)), 'Bench' FROM SYSTEM_RANGE(%4$d, %5$d)")
+                    .formatted(firstId, ACCOUNTS, HISTORY_SECONDS, from, Math.min(transfers, from + INSERT_CHUNK - 1)), now);
+        }
+        System.out.printf("%nLoaded %d transfers in %d ms%n", transfers, (System.nanoTime() - start) / 1_000_000);
+
+        if (archived) {
+            TransferArchiveSummary summary = context.getBean(TransferArchive.class).archive();
+            System.out.printf("Archived %d transfers into %d monthly tables in %d ms: %.0f transfers/s%n", summary.transfers(),
+                    summary.partitions(), summary.durationMillis(), summary.transfers() * 1000.0 / Math.max(1, summary.durationMillis()));
+        }
+        halfYearAgo = new TransferCursor(now.minusDays(180), Long.MAX_VALUE).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** The newest page, served from the transfers table once it is archived. */
+    @Benchmark
+    public TransferHistoryPage latestPage() {
+        return accountService.getTransferHistoryPage(randomAccount(), null, PAGE_SIZE);
+    }
+
+    /** A page six months back, which comes from the archive once it is archived. */
+    @Benchmark
+    public TransferHistoryPage pageSixMonthsBack() {
+        return accountService.getTransferHistoryPage(randomAccount(), halfYearAgo, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<TransferResponse> fullHistory() {
+        return accountService.getTransferHistory(randomAccount());
+    }
+
+    private Long randomAccount() {
+        return accountIds.get(ThreadLocalRandom.current().nextInt(ACCOUNTS));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AccountService#transferFunds} throughput with four threads, for each concurrency strategy across
+ * hot-set sizes. With two accounts every transfer contends on the same rows, so optimistic transfers mostly
+ * conflict and pay for a rollback, a backoff and a second attempt; with a hundred most transfers touch
+ * disjoint pairs and skipping the row locks is pure gain. Retries and conflicts per trial are printed from
+ * the {@code banking.transfer.attempts} and {@code banking.transfer.conflicts} meters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TransferBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Param({"pessimistic", "optimistic"})
+    public String strategy;
+
+    @Param({"2", "16", "100"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private List<Long> accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("transfer-bench",
+                "banking.transfer.concurrency.strategy=" + strategy,
+                "banking.transfer.concurrency.max-attempts=1000");
+        accountService = context.getBean(AccountService.class);
+        accountIds = BenchmarkApplication.createAccounts(context, accounts, new BigDecimal("1000000000.00"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        DistributionSummary attempts = meterRegistry.get("banking.transfer.attempts").summary();
+        double conflicts = meterRegistry.get("banking.transfer.conflicts").counter().count();
+        System.out.printf("%n%s/%d: %d transfers, %.0f conflicts, %.2f attempts per transfer%n",
+                strategy, accounts, attempts.count(), conflicts, attempts.mean());
+        context.close();
+    }
+
+    @Benchmark
+    public TransferResponse transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+        return accountService.transferFunds(new TransferRequest(accountIds.get(from), accountIds.get(to), AMOUNT, "bench"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading one account's full history: the DTO projection behind {@link AccountService#getTransferHistory}
+ * against loading entities and mapping them with {@link AccountService#mapToTransferResponse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferHistoryBenchmark {
+
+    private static final int INSERT_CHUNK = 5_000;
+
+    @Param({"10", "1000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private TransferRepository transferRepository;
+
+    private TransactionTemplate readOnly;
+
+    private Long accountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("history-bench-" + rows);
+        accountService = context.getBean(AccountService.class);
+        transferRepository = context.getBean(TransferRepository.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Long> ids = BenchmarkApplication.createAccounts(context, 2, new BigDecimal("100.00"));
+        accountId = ids.get(0);
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        for (int start = 0; start < rows; start += INSERT_CHUNK) {
+            int end = Math.min(rows, start + INSERT_CHUNK);
+            int first = start;
+            transactions.executeWithoutResult(status -> {
+                Account account = accountRepository.getReferenceById(ids.get(0));
+                Account other = accountRepository.getReferenceById(ids.get(1));
+                List<Transfer> chunk = new ArrayList<>(end - first);
+                for (int i = first; i < end; i++) {
+                    boolean outgoing = i % 2 == 0;
+                    chunk.add(Transfer.builder().fromAccount(outgoing ? account : other).toAccount(outgoing ? other : account)
+                            .amount(new BigDecimal("1.00")).timestamp(base.plusNanos(i * 1_000L)).description("T" + i).build());
+                }
+                transferRepository.saveAll(chunk);
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransferResponse> projection() {
+        return accountService.getTransferHistory(accountId);
+    }
+
+    @Benchmark
+    public List<TransferResponse> entityMapping() {
+        return readOnly.execute(status -> transferRepository.findTransferHistoryByAccountId(accountId).stream()
+                .map(AccountService::mapToTransferResponse)
+                .toList());
+    }
+}
@@ -2,8 +2,10 @@ package com.example.banking_api_challenge;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class BankingApiChallengeApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,22 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountImportResult {
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    /** 1-based line of the row in the uploaded document, header and blank lines included. */
+    private long line;
+    private Status status;
+    private Long accountId;
+    private String accountNumber;
+    private String error;
+}
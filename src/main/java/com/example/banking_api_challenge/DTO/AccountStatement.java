@@ -0,0 +1,27 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountStatement {
+    private Long accountId;
+    private LocalDate from;
+    private LocalDate to;
+    /** Balance at the start of {@code from}. */
+    private BigDecimal openingBalance;
+    /** Balance at the end of {@code to}. */
+    private BigDecimal closingBalance;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+    private long transferCount;
+    /** Only the days that had transfers, oldest first. */
+    private List<DailyBalanceResponse> days;
+}
@@ -0,0 +1,29 @@
+package com.example.banking_api_challenge.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AsyncTransferStatus {
+    public enum Status {
+        PENDING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String submissionId;
+    private Status status;
+    /** The committed transfer, once the status is COMPLETED. */
+    private TransferResponse transfer;
+    /** Why the transfer was not applied, once the status is FAILED. */
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+}
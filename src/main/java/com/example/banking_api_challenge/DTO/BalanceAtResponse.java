@@ -0,0 +1,18 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceAtResponse {
+    private Long accountId;
+    private LocalDateTime at;
+    /** Balance after every transfer with a timestamp at or before {@code at}. */
+    private BigDecimal balance;
+}
@@ -0,0 +1,21 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTransferItemResult {
+    public enum Status {
+        COMPLETED,
+        FAILED,
+        ROLLED_BACK
+    }
+
+    private int index;
+    private Status status;
+    private TransferResponse transfer;
+    private String error;
+}
@@ -0,0 +1,8 @@
+package com.example.banking_api_challenge.DTO;
+
+public enum BatchTransferMode {
+    /** Any failing item rolls back the whole batch; nothing is written. */
+    ALL_OR_NOTHING,
+    /** Valid items are committed, failing items are reported and skipped. */
+    BEST_EFFORT
+}
@@ -0,0 +1,25 @@
+package com.example.banking_api_challenge.DTO;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTransferRequest {
+    public static final int MAX_TRANSFERS = 50_000;
+
+    @NotEmpty(message = "At least one transfer is required")
+    @Size(max = MAX_TRANSFERS, message = "A batch may contain at most " + MAX_TRANSFERS + " transfers")
+    private List<@Valid @NotNull TransferRequest> transfers;
+
+    @NotNull(message = "Batch mode is required")
+    private BatchTransferMode mode = BatchTransferMode.ALL_OR_NOTHING;
+}
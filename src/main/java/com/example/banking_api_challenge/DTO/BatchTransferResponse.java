@@ -0,0 +1,18 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTransferResponse {
+    private BatchTransferMode mode;
+    private boolean committed;
+    private int succeeded;
+    private int failed;
+    private List<BatchTransferItemResult> results;
+}
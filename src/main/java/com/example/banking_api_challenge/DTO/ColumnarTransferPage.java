@@ -0,0 +1,24 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A {@link TransferHistoryPage} written column by column: one array per field instead of one object per
+ * transfer, so field names appear once per page rather than once per row. Requested with {@code format=columnar}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ColumnarTransferPage {
+    private List<TransferResponse> transfers;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public ColumnarTransferPage(TransferHistoryPage page) {
+        this(page.getTransfers(), page.getNextCursor(), page.isHasMore());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerPage {
+    private List<CustomerResponse> customers;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+}
@@ -0,0 +1,26 @@
+package com.example.banking_api_challenge.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CustomerResponse {
+    private Long id;
+    private String name;
+    /** Only present when the accounts summary was requested. */
+    private Long accountCount;
+    /** Only present when the accounts summary was requested. */
+    private BigDecimal totalBalance;
+
+    public CustomerResponse(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+}
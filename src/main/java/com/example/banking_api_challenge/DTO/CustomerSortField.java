@@ -0,0 +1,19 @@
+package com.example.banking_api_challenge.DTO;
+
+/**
+ * Columns the customer listing can be sorted by. Each is indexed, and the listing always breaks ties on id.
+ */
+public enum CustomerSortField {
+    ID("id"),
+    NAME("name");
+
+    private final String property;
+
+    CustomerSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyBalanceResponse {
+    private LocalDate day;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private BigDecimal debits;
+    private BigDecimal credits;
+    private long transferCount;
+}
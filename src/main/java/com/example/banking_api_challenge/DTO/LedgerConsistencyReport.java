@@ -0,0 +1,24 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerConsistencyReport {
+    /** False unless the ledger runs in event-sourced mode; nothing is checked then. */
+    private boolean enabled;
+    private boolean consistent;
+    private long checkedAccounts;
+    /** Most entries any account had past its snapshot, i.e. the worst-case cost of deriving a balance. */
+    private long longestTail;
+    private long inconsistentAccounts;
+    /** The first inconsistent accounts found, capped at 100. */
+    private List<LedgerDiscrepancy> discrepancies;
+    private LocalDateTime checkedAt;
+}
@@ -0,0 +1,19 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerDiscrepancy {
+    private Long accountId;
+    private BigDecimal storedBalance;
+    private BigDecimal snapshotBalance;
+    private Long snapshotEntryId;
+    private long tailEntries;
+    private BigDecimal derivedBalance;
+}
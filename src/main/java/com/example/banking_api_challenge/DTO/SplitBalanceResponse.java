@@ -0,0 +1,17 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SplitBalanceResponse {
+    private Long accountId;
+    /** Number of balance slots, 0 once the account is no longer split. */
+    private int slots;
+    private BigDecimal balance;
+}
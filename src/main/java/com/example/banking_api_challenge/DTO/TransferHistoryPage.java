@@ -0,0 +1,17 @@
+package com.example.banking_api_challenge.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransferHistoryPage {
+    private List<TransferResponse> transfers;
+    /** Opaque token for the next page, or null when this is the last page. */
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,15 @@
+package com.example.banking_api_challenge.accountnumber;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "banking.account-number")
+public class AccountNumberProperties {
+
+    /**
+     * Two-digit id (0-99) embedded in every number this instance issues. Instances sharing a database
+     * must use distinct ids, so their sequences can never produce the same number.
+     */
+    private int nodeId = 0;
+}
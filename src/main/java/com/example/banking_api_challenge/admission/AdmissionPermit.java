@@ -0,0 +1,11 @@
+package com.example.banking_api_challenge.admission;
+
+/**
+ * An admitted transfer. Closing it marks the transfer finished and feeds its latency to the concurrency limit.
+ */
+@FunctionalInterface
+public interface AdmissionPermit extends AutoCloseable {
+
+    @Override
+    void close();
+}
@@ -0,0 +1,47 @@
+package com.example.banking_api_challenge.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /** Sustained transfers per second per client. */
+    private double clientRate = 200;
+
+    /** Transfers a client can send at once after being idle. */
+    private int clientBurst = 400;
+
+    /** Sustained transfers per second out of one account. */
+    private double accountRate = 50;
+
+    /** Transfers out of one account that can arrive at once after it has been idle. */
+    private int accountBurst = 100;
+
+    /** Buckets kept per scope; the least recently used ones are dropped beyond this. */
+    private long maxTrackedKeys = 100_000;
+
+    /** Buckets unused for this long are dropped. Longer than a bucket takes to refill, so dropping one never loses a limit. */
+    private Duration idleExpiry = Duration.ofMinutes(5);
+
+    /** Concurrent transfers allowed before the limiter has seen any latency. */
+    private int initialLimit = 20;
+
+    private int minLimit = 2;
+
+    private int maxLimit = 200;
+
+    /** A transfer slower than this multiple of the lowest recent latency counts as congestion. */
+    private double latencyTolerance = 2.0;
+
+    /** Factor the limit is multiplied by on congestion. */
+    private double backoffRatio = 0.9;
+
+    /** Samples per window of the lowest-latency estimate, so it can rise again when the baseline changes. */
+    private int latencyWindow = 1000;
+}
@@ -0,0 +1,17 @@
+package com.example.banking_api_challenge.admission;
+
+/**
+ * What shed a transfer.
+ */
+public enum AdmissionScope {
+    /** The calling client ran out of tokens. */
+    CLIENT,
+    /** The source account ran out of tokens. */
+    ACCOUNT,
+    /** The adaptive concurrency limit was reached. */
+    CONCURRENCY;
+
+    String tag() {
+        return name().toLowerCase();
+    }
+}
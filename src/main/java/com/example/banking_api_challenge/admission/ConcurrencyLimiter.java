@@ -0,0 +1,108 @@
+package com.example.banking_api_challenge.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limit on concurrent transfers that follows their latency: additive increase, multiplicative decrease, with
+ * congestion judged the TCP Vegas way, by comparing each latency with the lowest one seen recently rather than
+ * waiting for failures. While transfers finish within {@code tolerance} times that baseline, the limit grows by
+ * about one per limit's worth of transfers. A slower one means requests are queueing for rows or connections,
+ * and the limit is multiplied by {@code backoffRatio}; the next decrease waits until the transfers admitted
+ * under the old limit have finished, so one congested moment costs one step.
+ * <p>
+ * Admission is a compare-and-set on the in-flight count; the limit update takes a short lock per transfer.
+ */
+final class ConcurrencyLimiter {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double backoffRatio;
+
+    private final int window;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimate;
+
+    private long previousWindowMin = Long.MAX_VALUE;
+
+    private long windowMin = Long.MAX_VALUE;
+
+    private int windowSamples;
+
+    private int samplesSinceDecrease;
+
+    ConcurrencyLimiter(AdmissionProperties properties) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.tolerance = properties.getLatencyTolerance();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.window = Math.max(1, properties.getLatencyWindow());
+        this.estimate = Math.min(maxLimit, Math.max(minLimit, properties.getInitialLimit()));
+        this.limit = (int) estimate;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        onSample(latencyNanos);
+    }
+
+    /** Releases a place without feeding the limit, for work whose latency is not comparable to a single transfer's. */
+    void releaseUnsampled() {
+        inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /** Lowest latency over the current and previous window, in nanoseconds, or 0 before the first sample. */
+    synchronized long baselineNanos() {
+        long baseline = Math.min(previousWindowMin, windowMin);
+        return baseline == Long.MAX_VALUE ? 0 : baseline;
+    }
+
+    private synchronized void onSample(long latencyNanos) {
+        windowMin = Math.min(windowMin, latencyNanos);
+        if (++windowSamples >= window) {
+            previousWindowMin = windowMin;
+            windowMin = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+        samplesSinceDecrease++;
+        long baseline = Math.min(previousWindowMin, windowMin);
+        if (latencyNanos > baseline * tolerance) {
+            if (samplesSinceDecrease < limit) {
+                return;
+            }
+            estimate = Math.max(minLimit, estimate * backoffRatio);
+            samplesSinceDecrease = 0;
+        } else {
+            estimate = Math.min(maxLimit, estimate + 1 / estimate);
+        }
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.banking_api_challenge.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket of {@code burst} tokens refilled at {@code ratePerSecond}, kept as the generic cell rate
+ * algorithm: the whole state is the theoretical arrival time of the next request, so taking a token is one
+ * compare-and-set and needs no lock or refill timer.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+
+    private final long toleranceNanos;
+
+    private final int burst;
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burst = Math.max(1, burst);
+        this.toleranceNanos = (this.burst - 1) * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /** Takes a token and returns 0, or returns how many nanoseconds until one is available. */
+    long tryAcquire(long nowNanos) {
+        return tryAcquire(nowNanos, 1);
+    }
+
+    /**
+     * Takes {@code tokens} tokens and returns 0, or returns how many nanoseconds until they are available. More
+     * than {@code burst} are taken once the bucket is full, leaving it in debt for the requests that follow.
+     */
+    long tryAcquire(long nowNanos, int tokens) {
+        long neededNanos = (Math.min(tokens, burst) - 1) * intervalNanos;
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long wait = arrival + neededNanos - toleranceNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            long next = (arrival - nowNanos > 0 ? arrival : nowNanos) + tokens * intervalNanos;
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.banking_api_challenge.admission;
+
+import com.example.banking_api_challenge.exception.AdmissionRejectedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for the transfer endpoints, so one runaway integration cannot take every database
+ * connection.
+ * <p>
+ * A transfer needs a token from its client's bucket, then one from its source account's bucket, then a place
+ * under the {@link ConcurrencyLimiter concurrency limit}. Batches and asynchronous submissions pay a token per
+ * transfer, so they cannot be used to get around the rate limits. Buckets live in bounded Caffeine maps that drop
+ * idle entries, so a flood of distinct client ids or accounts costs bounded memory. A shed transfer fails with
+ * {@link AdmissionRejectedException} carrying when a retry could succeed.
+ */
+@Component
+public class TransferAdmission {
+
+    public static final String REJECTIONS_COUNTER = "banking.admission.rejections";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final AdmissionPermit UNLIMITED = () -> {
+    };
+
+    private final AdmissionProperties properties;
+
+    private final LongSupplier nanoClock;
+
+    private final Cache<String, TokenBucket> clientBuckets;
+
+    private final Cache<Long, TokenBucket> accountBuckets;
+
+    private final ConcurrencyLimiter limiter;
+
+    private final Map<AdmissionScope, Counter> rejections = new EnumMap<>(AdmissionScope.class);
+
+    @Autowired
+    public TransferAdmission(AdmissionProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    TransferAdmission(AdmissionProperties properties, MeterRegistry registry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.clientBuckets = buckets(properties);
+        this.accountBuckets = buckets(properties);
+        this.limiter = new ConcurrencyLimiter(properties);
+        for (AdmissionScope scope : AdmissionScope.values()) {
+            rejections.put(scope, Counter.builder(REJECTIONS_COUNTER)
+                    .description("Transfers shed by admission control")
+                    .tag("scope", scope.tag())
+                    .register(registry));
+        }
+        Gauge.builder("banking.admission.limit", limiter, ConcurrencyLimiter::limit)
+                .description("Current adaptive limit on concurrent transfers")
+                .register(registry);
+        Gauge.builder("banking.admission.in-flight", limiter, ConcurrencyLimiter::inFlight)
+                .description("Admitted transfers not finished yet")
+                .register(registry);
+        Gauge.builder("banking.admission.baseline-latency", limiter, l -> l.baselineNanos() / 1_000_000.0)
+                .description("Lowest recent transfer latency the limiter compares against")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("banking.admission.buckets", clientBuckets, Cache::estimatedSize)
+                .description("Token buckets held")
+                .tag("scope", AdmissionScope.CLIENT.tag())
+                .register(registry);
+        Gauge.builder("banking.admission.buckets", accountBuckets, Cache::estimatedSize)
+                .description("Token buckets held")
+                .tag("scope", AdmissionScope.ACCOUNT.tag())
+                .register(registry);
+    }
+
+    /**
+     * Admits a transfer from {@code clientId} out of {@code accountId}, or throws {@link AdmissionRejectedException}.
+     * The permit must be closed when the transfer finishes, whether or not it succeeded.
+     */
+    public AdmissionPermit admit(String clientId, Long accountId) {
+        if (!properties.isEnabled()) {
+            return UNLIMITED;
+        }
+        long now = nanoClock.getAsLong();
+        take(AdmissionScope.CLIENT, clientBuckets.get(clientId,
+                key -> new TokenBucket(properties.getClientRate(), properties.getClientBurst(), now)), now);
+        if (accountId != null) {
+            take(AdmissionScope.ACCOUNT, accountBuckets.get(accountId,
+                    key -> new TokenBucket(properties.getAccountRate(), properties.getAccountBurst(), now)), now);
+        }
+        if (!limiter.tryAcquire()) {
+            throw reject(AdmissionScope.CONCURRENCY, "Too many transfers in progress, limit is " + limiter.limit(), 1);
+        }
+        return () -> limiter.release(nanoClock.getAsLong() - now);
+    }
+
+    /**
+     * Admits a batch with a transfer out of each of {@code sourceAccountIds}: the client and each source account pay
+     * a token per transfer, and the batch, being one transaction, takes one place under the concurrency limit
+     * without feeding its latency to it. The permit must be closed when the batch finishes.
+     */
+    public AdmissionPermit admitBatch(String clientId, List<Long> sourceAccountIds) {
+        if (!properties.isEnabled()) {
+            return UNLIMITED;
+        }
+        long now = nanoClock.getAsLong();
+        takeTokens(clientId, sourceAccountIds, now);
+        if (!limiter.tryAcquire()) {
+            throw reject(AdmissionScope.CONCURRENCY, "Too many transfers in progress, limit is " + limiter.limit(), 1);
+        }
+        return limiter::releaseUnsampled;
+    }
+
+    /**
+     * Admits a transfer for the asynchronous pipeline, or throws {@link AdmissionRejectedException}. It pays the same
+     * tokens as {@link #admit}, but takes no place under the concurrency limit: the pipeline bounds its own.
+     */
+    public void admitQueued(String clientId, Long accountId) {
+        if (properties.isEnabled()) {
+            takeTokens(clientId, accountId == null ? List.of() : List.of(accountId), nanoClock.getAsLong());
+        }
+    }
+
+    private void takeTokens(String clientId, List<Long> sourceAccountIds, long now) {
+        take(AdmissionScope.CLIENT, clientBuckets.get(clientId,
+                key -> new TokenBucket(properties.getClientRate(), properties.getClientBurst(), now)), Math.max(1, sourceAccountIds.size()), now);
+        Map<Long, Integer> transfersByAccount = new HashMap<>();
+        for (Long accountId : sourceAccountIds) {
+            if (accountId != null) {
+                transfersByAccount.merge(accountId, 1, Integer::sum);
+            }
+        }
+        transfersByAccount.forEach((accountId, transfers) -> take(AdmissionScope.ACCOUNT, accountBuckets.get(accountId,
+                key -> new TokenBucket(properties.getAccountRate(), properties.getAccountBurst(), now)), transfers, now));
+    }
+
+    private void take(AdmissionScope scope, TokenBucket bucket, long now) {
+        take(scope, bucket, 1, now);
+    }
+
+    private void take(AdmissionScope scope, TokenBucket bucket, int tokens, long now) {
+        long waitNanos = bucket.tryAcquire(now, tokens);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+            throw reject(scope, scope == AdmissionScope.CLIENT ? "Transfer rate limit exceeded for this client"
+                    : "Transfer rate limit exceeded for the source account", retryAfter);
+        }
+    }
+
+    private AdmissionRejectedException reject(AdmissionScope scope, String message, long retryAfterSeconds) {
+        rejections.get(scope).increment();
+        return new AdmissionRejectedException(message, retryAfterSeconds);
+    }
+
+    private static <K> Cache<K, TokenBucket> buckets(AdmissionProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+    }
+}
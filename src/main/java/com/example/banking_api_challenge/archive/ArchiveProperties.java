@@ -0,0 +1,26 @@
+package com.example.banking_api_challenge.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.archive")
+public class ArchiveProperties {
+
+    /** Runs the archival on a schedule; the admin endpoint can run it either way. */
+    private boolean enabled = false;
+
+    /** Transfers from before midnight this long ago are moved to the archive. */
+    private Duration retention = Duration.ofDays(90);
+
+    /** Transfers moved per transaction; the rows of a chunk leave the transfers table together. */
+    private int chunkSize = 10_000;
+
+    /** How often the scheduled archival runs. */
+    private Duration interval = Duration.ofHours(1);
+
+    /** How long reads reuse the list of month tables before re-reading it, and so miss a month another instance creates. */
+    private Duration catalogRefresh = Duration.ofSeconds(5);
+}
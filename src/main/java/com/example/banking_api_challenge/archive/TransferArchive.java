@@ -0,0 +1,477 @@
+package com.example.banking_api_challenge.archive;
+
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.replica.ReplicaRoutingDataSource;
+import com.example.banking_api_challenge.statement.DailyTotals;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Archive tier for the {@code transfers} table, which otherwise grows forever. Transfers from before the
+ * retention cutoff are moved, in chunks of {@code chunk-size}, into one table per calendar month named
+ * {@code transfers_archive_yyyy_MM}, with the same columns and per-direction (account, timestamp, id) indexes
+ * but no foreign keys. Each chunk is inserted into its month tables and deleted from {@code transfers} in one
+ * transaction, so a transfer is always in exactly one of the two stores.
+ * <p>
+ * Reads merge both stores. History pages only touch the archive when the hot page runs past
+ * {@link #mayHoldFrom the newest archived timestamp}, and then read the month tables newest first up to the page
+ * size. Readers that sum both stores wrap the two reads in {@link #readConsistently}, which runs them on one
+ * database snapshot, so a chunk that any instance commits in between is seen in neither store or in both;
+ * history reads do without, and drop a transfer that a move made them see twice.
+ * <p>
+ * Month tables are listed in {@code transfer_archive_partitions} with the newest transfer moved into each, and
+ * reads that go to the archive re-read that list once it is older than {@code catalog-refresh}, so they see
+ * months and moves of every instance sharing the database; a month another instance has just created is missed
+ * until then. An instance only learns of another's moves there, so it also treats anything from before its own
+ * retention cutoff as possibly archived.
+ * <p>
+ * The run scans {@code transfers} by primary key, so it needs no index on the timestamp that every transfer
+ * would have to maintain. Month tables created after a replica's watermark are skipped by reads routed to it,
+ * since the replica may not have them yet.
+ */
+@Slf4j
+@Component
+public class TransferArchive {
+
+    public static final String ARCHIVED_COUNTER = "banking.archive.transfers";
+
+    public static final String PARTITIONS_GAUGE = "banking.archive.partitions";
+
+    static final String PARTITION_PREFIX = "transfers_archive_";
+
+    static final String CATALOG = "transfer_archive_partitions";
+
+    /** Start of the {@link #readConsistently} call on this thread, if any. */
+    private static final ThreadLocal<Long> SNAPSHOT_STARTED = new ThreadLocal<>();
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String COLUMNS = "id, from_account_id, to_account_id, amount, timestamp, description";
+
+    private static final String KEYSET_ORDER = " ORDER BY timestamp DESC, id DESC";
+
+    private static final String AFTER_CURSOR = " AND (timestamp < ? OR (timestamp = ? AND id < ?))";
+
+    private static final RowMapper<TransferResponse> TRANSFER_RESPONSE = (rs, row) -> new TransferResponse(
+            rs.getLong("id"), rs.getLong("from_account_id"), rs.getLong("to_account_id"), rs.getBigDecimal("amount"),
+            rs.getString("description"), rs.getObject("timestamp", LocalDateTime.class));
+
+    private static final RowMapper<DailyTotals> DAILY_TOTALS = (rs, row) -> new DailyTotals(
+            rs.getLong("account_id"), rs.getObject("transfer_day", LocalDate.class), rs.getBigDecimal("total"), rs.getLong("transfers"));
+
+    private enum Direction {
+        OUTGOING("from_account_id", "COUNT(*)"),
+        // Self-transfers are already counted as outgoing, as in TransferRepository
+        INCOMING("to_account_id", "SUM(CASE WHEN from_account_id = to_account_id THEN 0 ELSE 1 END)");
+
+        private final String column;
+
+        private final String count;
+
+        Direction(String column, String count) {
+            this.column = column;
+            this.count = count;
+        }
+    }
+
+    private final ArchiveProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /** New serializable transactions for {@link #readConsistently}, one for read-only callers and one for the others. */
+    private final TransactionTemplate snapshotReads;
+
+    private final TransactionTemplate snapshotReadsOnPrimary;
+
+    private final Counter archived;
+
+    /** Month tables, each with the time it was created, as last read from the catalog or created here. */
+    private final NavigableMap<YearMonth, Long> partitions = new ConcurrentSkipListMap<>();
+
+    /** One archival run at a time, whether scheduled or requested. */
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    /**
+     * Upper bound of the timestamps archived by this instance, or by others as of the last catalog read. Raised
+     * before a chunk commits so it never trails the tables.
+     */
+    private final AtomicReference<LocalDateTime> newestArchived = new AtomicReference<>();
+
+    /** {@link System#nanoTime} at which the catalog last read is due to be read again. */
+    private volatile long catalogExpiresAt = System.nanoTime();
+
+    public TransferArchive(ArchiveProperties properties, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           MeterRegistry registry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotReadsOnPrimary = new TransactionTemplate(transactionManager);
+        snapshotReadsOnPrimary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // H2 takes a repeatable-read snapshot of each table only when the transaction first reads it
+        snapshotReadsOnPrimary.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.snapshotReads = new TransactionTemplate(transactionManager, snapshotReadsOnPrimary);
+        snapshotReads.setReadOnly(true);
+        this.archived = Counter.builder(ARCHIVED_COUNTER)
+                .description("Transfers moved from the transfers table to the monthly archive tables")
+                .register(registry);
+        Gauge.builder(PARTITIONS_GAUGE, partitions, Map::size)
+                .description("Monthly transfer archive tables")
+                .register(registry);
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void loadPartitions() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + CATALOG
+                + " (archive_month CHAR(7) PRIMARY KEY, created_at TIMESTAMP(6) NOT NULL, newest_transfer TIMESTAMP(6))");
+        refreshPartitions();
+        if (!partitions.isEmpty()) {
+            log.info("Transfer archive: {} monthly tables, newest transfer at {}", partitions.size(), newestArchived.get());
+        }
+    }
+
+    /** Reads the catalog, which holds the month tables and moves of every instance sharing the database. */
+    private void refreshPartitions() {
+        catalogExpiresAt = System.nanoTime() + properties.getCatalogRefresh().toNanos();
+        jdbcTemplate.query("SELECT archive_month, created_at, newest_transfer FROM " + CATALOG, rs -> {
+            partitions.put(YearMonth.parse(rs.getString("archive_month")), rs.getTimestamp("created_at").getTime());
+            raiseNewestArchived(rs.getObject("newest_transfer", LocalDateTime.class));
+        });
+    }
+
+    private void raiseNewestArchived(LocalDateTime timestamp) {
+        if (timestamp != null) {
+            newestArchived.accumulateAndGet(timestamp, (current, candidate) -> current == null || candidate.isAfter(current) ? candidate : current);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.archive.interval:PT1H}")
+    public void archiveOnSchedule() {
+        if (properties.isEnabled()) {
+            archive();
+        }
+    }
+
+    /** Moves every transfer from before midnight {@code retention} ago to the archive. */
+    public TransferArchiveSummary archive() {
+        return archiveBefore(cutoff());
+    }
+
+    TransferArchiveSummary archiveBefore(LocalDateTime cutoff) {
+        runLock.lock();
+        try {
+            long start = System.nanoTime();
+            refreshPartitions();
+            int chunkSize = Math.max(1, properties.getChunkSize());
+            Set<YearMonth> touched = new TreeSet<>();
+            long moved = 0;
+            long afterId = Long.MIN_VALUE;
+            List<TransferResponse> chunk;
+            do {
+                chunk = jdbcTemplate.query("SELECT " + COLUMNS + " FROM transfers WHERE id > ? AND timestamp < ? ORDER BY id LIMIT ?",
+                        TRANSFER_RESPONSE, afterId, cutoff, chunkSize);
+                if (!chunk.isEmpty()) {
+                    touched.addAll(move(chunk));
+                    moved += chunk.size();
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+            } while (chunk.size() == chunkSize);
+
+            TransferArchiveSummary summary = new TransferArchiveSummary(cutoff, moved, touched.size(), (System.nanoTime() - start) / 1_000_000);
+            log.info("Archived {} transfers from before {} into {} monthly tables in {} ms", summary.transfers(), cutoff,
+                    summary.partitions(), summary.durationMillis());
+            return summary;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /** Moves one chunk in one transaction and returns the months it went to. */
+    private Set<YearMonth> move(List<TransferResponse> chunk) {
+        Map<YearMonth, List<TransferResponse>> byMonth = new TreeMap<>();
+        Map<YearMonth, LocalDateTime> newestByMonth = new TreeMap<>();
+        for (TransferResponse transfer : chunk) {
+            YearMonth month = YearMonth.from(transfer.getTimestamp());
+            byMonth.computeIfAbsent(month, key -> new ArrayList<>()).add(transfer);
+            newestByMonth.merge(month, transfer.getTimestamp(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+        // DDL commits on its own, so the tables are created before the transaction that fills them
+        byMonth.keySet().forEach(this::createPartition);
+
+        newestByMonth.values().forEach(this::raiseNewestArchived);
+        transactionTemplate.executeWithoutResult(status -> {
+            byMonth.forEach((month, rows) -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO " + table(month) + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)", rows, rows.size(), (ps, transfer) -> {
+                        ps.setLong(1, transfer.getId());
+                        ps.setLong(2, transfer.getFromAccountId());
+                        ps.setLong(3, transfer.getToAccountId());
+                        ps.setBigDecimal(4, transfer.getAmount());
+                        ps.setObject(5, transfer.getTimestamp());
+                        ps.setString(6, transfer.getDescription());
+                    }));
+            jdbcTemplate.batchUpdate("DELETE FROM transfers WHERE id = ?", chunk, chunk.size(),
+                    (ps, transfer) -> ps.setLong(1, transfer.getId()));
+            jdbcTemplate.batchUpdate("UPDATE " + CATALOG + " SET newest_transfer = ? WHERE archive_month = ? AND (newest_transfer IS NULL OR newest_transfer < ?)",
+                    newestByMonth.entrySet(), newestByMonth.size(), (ps, newest) -> {
+                        ps.setObject(1, newest.getValue());
+                        ps.setString(2, newest.getKey().toString());
+                        ps.setObject(3, newest.getValue());
+                    });
+        });
+        archived.increment(chunk.size());
+        return byMonth.keySet();
+    }
+
+    private void createPartition(YearMonth month) {
+        if (partitions.containsKey(month)) {
+            return;
+        }
+        String table = table(month);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " (id BIGINT PRIMARY KEY, from_account_id BIGINT NOT NULL, "
+                + "to_account_id BIGINT NOT NULL, amount NUMERIC(15, 2) NOT NULL, timestamp TIMESTAMP(6) NOT NULL, description VARCHAR(255))");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_from ON " + table + " (from_account_id, timestamp, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_to ON " + table + " (to_account_id, timestamp, id)");
+        Timestamp createdAt = new Timestamp(System.currentTimeMillis());
+        try {
+            jdbcTemplate.update("INSERT INTO " + CATALOG + " (archive_month, created_at) VALUES (?, ?)", month.toString(), createdAt);
+            partitions.put(month, createdAt.getTime());
+        } catch (DuplicateKeyException ex) {
+            // Another instance created the month first; take its creation time
+            refreshPartitions();
+        }
+    }
+
+    /**
+     * Whether the archive may hold transfers at or after {@code timestamp}. When it does not, a read of the
+     * transfers table from that point on is complete without the archive. Another instance may have archived
+     * anything from before the retention cutoff since this one last read the catalog.
+     */
+    public boolean mayHoldFrom(LocalDateTime timestamp) {
+        LocalDateTime newest = newestArchived.get();
+        return (newest != null && !newest.isBefore(timestamp)) || timestamp.isBefore(cutoff());
+    }
+
+    /**
+     * Runs {@code read}, which reads both the transfers table and the archive, on one snapshot, so a sum over both
+     * counts every transfer once even while other instances archive. It runs in a new serializable transaction, on
+     * a second connection, that is read-only unless the caller's transaction writes. Month tables created after it
+     * started are left out: a snapshot may still see rows of a table that did not exist when it was taken.
+     */
+    public <T> T readConsistently(Supplier<T> read) {
+        boolean writing = TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Long outer = SNAPSHOT_STARTED.get();
+        SNAPSHOT_STARTED.set(System.currentTimeMillis());
+        try {
+            return (writing ? snapshotReadsOnPrimary : snapshotReads).execute(status -> read.get());
+        } finally {
+            if (outer == null) {
+                SNAPSHOT_STARTED.remove();
+            } else {
+                SNAPSHOT_STARTED.set(outer);
+            }
+        }
+    }
+
+    /** Like {@code TransferRepository.findOutgoingPage[After]}; {@code afterTimestamp} is null for the first page. */
+    public List<TransferResponse> findOutgoingPage(Long accountId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        return findPage(Direction.OUTGOING, accountId, afterTimestamp, afterId, limit);
+    }
+
+    /** Like {@code TransferRepository.findIncomingPage[After]}; {@code afterTimestamp} is null for the first page. */
+    public List<TransferResponse> findIncomingPage(Long accountId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        return findPage(Direction.INCOMING, accountId, afterTimestamp, afterId, limit);
+    }
+
+    private List<TransferResponse> findPage(Direction direction, Long accountId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        List<TransferResponse> page = new ArrayList<>();
+        String where = " WHERE " + direction.column + " = ?" + (afterTimestamp == null ? "" : AFTER_CURSOR);
+        for (String table : readablePartitions(null, afterTimestamp)) {
+            int remaining = limit - page.size();
+            if (remaining <= 0) {
+                break;
+            }
+            String sql = "SELECT " + COLUMNS + " FROM " + table + where + KEYSET_ORDER + " LIMIT ?";
+            page.addAll(afterTimestamp == null
+                    ? jdbcTemplate.query(sql, TRANSFER_RESPONSE, accountId, remaining)
+                    : jdbcTemplate.query(sql, TRANSFER_RESPONSE, accountId, afterTimestamp, afterTimestamp, afterId, remaining));
+        }
+        return page;
+    }
+
+    /**
+     * The account's archived transfers, newest first. Month tables are read one at a time as the iterator
+     * reaches them, so only one month of the account's history is in memory at once.
+     */
+    public Iterator<TransferResponse> iterateHistory(Long accountId) {
+        Iterator<String> tables = readablePartitions(null, null).iterator();
+        return new Iterator<>() {
+            private Iterator<TransferResponse> month = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!month.hasNext() && tables.hasNext()) {
+                    String table = tables.next();
+                    // UNION also drops the second copy of a self-transfer
+                    month = jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table + " WHERE from_account_id = ? UNION SELECT "
+                            + COLUMNS + " FROM " + table + " WHERE to_account_id = ?" + KEYSET_ORDER, TRANSFER_RESPONSE, accountId, accountId).iterator();
+                }
+                return month.hasNext();
+            }
+
+            @Override
+            public TransferResponse next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return month.next();
+            }
+        };
+    }
+
+    // Daily totals and sums matching those of TransferRepository, for callers that add them to the hot ones
+
+    public List<DailyTotals> sumOutgoingByDay(Collection<Long> accountIds) {
+        return sumByDay(Direction.OUTGOING, accountIds, null);
+    }
+
+    public List<DailyTotals> sumIncomingByDay(Collection<Long> accountIds) {
+        return sumByDay(Direction.INCOMING, accountIds, null);
+    }
+
+    public List<DailyTotals> sumOutgoingByDaySince(Long accountId, LocalDateTime since) {
+        return sumByDay(Direction.OUTGOING, List.of(accountId), since);
+    }
+
+    public List<DailyTotals> sumIncomingByDaySince(Long accountId, LocalDateTime since) {
+        return sumByDay(Direction.INCOMING, List.of(accountId), since);
+    }
+
+    public BigDecimal sumOutgoingBetween(Long accountId, LocalDateTime from, LocalDateTime to) {
+        return sum(Direction.OUTGOING, accountId, " >= ", from, to);
+    }
+
+    public BigDecimal sumIncomingBetween(Long accountId, LocalDateTime from, LocalDateTime to) {
+        return sum(Direction.INCOMING, accountId, " >= ", from, to);
+    }
+
+    /** Sum of the archived outgoing transfers with a timestamp after {@code at}. */
+    public BigDecimal sumOutgoingAfter(Long accountId, LocalDateTime at) {
+        return sum(Direction.OUTGOING, accountId, " > ", at, null);
+    }
+
+    /** Sum of the archived incoming transfers with a timestamp after {@code at}. */
+    public BigDecimal sumIncomingAfter(Long accountId, LocalDateTime at) {
+        return sum(Direction.INCOMING, accountId, " > ", at, null);
+    }
+
+    private List<DailyTotals> sumByDay(Direction direction, Collection<Long> accountIds, LocalDateTime since) {
+        List<DailyTotals> totals = new ArrayList<>();
+        if (accountIds.isEmpty() || (since != null && !mayHoldFrom(since))) {
+            return totals;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("accountIds", accountIds).addValue("since", since);
+        // A day never spans two month tables, so each table's rows are complete for their days
+        for (String table : readablePartitions(since, null)) {
+            totals.addAll(namedJdbcTemplate.query("SELECT " + direction.column + " AS account_id, CAST(timestamp AS DATE) AS transfer_day, "
+                    + "SUM(amount) AS total, " + direction.count + " AS transfers FROM " + table
+                    + " WHERE " + direction.column + " IN (:accountIds)" + (since == null ? "" : " AND timestamp >= :since")
+                    + " GROUP BY " + direction.column + ", CAST(timestamp AS DATE)", parameters, DAILY_TOTALS));
+        }
+        return totals;
+    }
+
+    private BigDecimal sum(Direction direction, Long accountId, String fromOperator, LocalDateTime from, LocalDateTime to) {
+        BigDecimal sum = BigDecimal.ZERO;
+        if (!mayHoldFrom(from)) {
+            return sum;
+        }
+        String where = " WHERE " + direction.column + " = ? AND timestamp" + fromOperator + "?" + (to == null ? "" : " AND timestamp <= ?");
+        for (String table : readablePartitions(from, to)) {
+            String sql = "SELECT COALESCE(SUM(amount), 0) FROM " + table + where;
+            sum = sum.add(to == null
+                    ? jdbcTemplate.queryForObject(sql, BigDecimal.class, accountId, from)
+                    : jdbcTemplate.queryForObject(sql, BigDecimal.class, accountId, from, to));
+        }
+        return sum;
+    }
+
+    /**
+     * Names of the month tables covering {@code from..to} (either may be null), newest first, leaving out those
+     * created after the watermark of the replica the current transaction reads from. Re-reads the catalog first,
+     * through the same connection, if it is due, so months created by other instances are included.
+     */
+    private List<String> readablePartitions(LocalDateTime from, LocalDateTime to) {
+        if (System.nanoTime() - catalogExpiresAt >= 0) {
+            refreshPartitions();
+        }
+        if (newestArchived.get() == null) {
+            return List.of();
+        }
+        NavigableMap<YearMonth, Long> range = partitions;
+        if (from != null) {
+            range = range.tailMap(YearMonth.from(from), true);
+        }
+        if (to != null) {
+            range = range.headMap(YearMonth.from(to), true);
+        }
+        Long snapshotStarted = SNAPSHOT_STARTED.get();
+        long watermark = Math.min(ReplicaRoutingDataSource.readWatermark(), snapshotStarted == null ? Long.MAX_VALUE : snapshotStarted);
+        List<String> tables = new ArrayList<>(range.size());
+        range.descendingMap().forEach((month, createdAt) -> {
+            if (createdAt <= watermark) {
+                tables.add(table(month));
+            }
+        });
+        return tables;
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDate.now().minusDays(properties.getRetention().toDays()).atStartOfDay();
+    }
+
+    private static String table(YearMonth month) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(month);
+    }
+}
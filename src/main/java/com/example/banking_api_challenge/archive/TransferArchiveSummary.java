@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.archive;
+
+import java.time.LocalDateTime;
+
+/** Outcome of a {@link TransferArchive} run: transfers older than {@code cutoff} moved into {@code partitions} monthly tables. */
+public record TransferArchiveSummary(LocalDateTime cutoff, long transfers, int partitions, long durationMillis) {
+}
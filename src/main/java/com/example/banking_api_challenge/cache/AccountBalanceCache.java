@@ -0,0 +1,122 @@
+package com.example.banking_api_challenge.cache;
+
+import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.CacheStatsResponse;
+import com.example.banking_api_challenge.replica.ReplicaRoutingDataSource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting cache of {@link AccountResponse} by account id.
+ * <p>
+ * Writers invalidate only after their transaction commits, so a rolled-back change is never visible.
+ * To stop a reader that loaded a value just before such a commit from re-inserting it afterwards,
+ * each id maps to a striped generation counter: invalidation bumps the generation before evicting,
+ * and a reader re-checks the generation after its put and drops the entry if it moved.
+ * <p>
+ * A value loaded from a read replica is returned but not cached unless the replica's watermark is past the
+ * stripe's last invalidation, otherwise a lagging replica could put back the balance a transfer just replaced.
+ */
+@Component
+public class AccountBalanceCache implements MeterBinder {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final BalanceCacheProperties properties;
+
+    private final Cache<Long, AccountResponse> cache;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /** Wall-clock millis of each stripe's last invalidation. */
+    private final AtomicLongArray invalidatedAt = new AtomicLongArray(GENERATION_STRIPES);
+
+    public AccountBalanceCache(BalanceCacheProperties properties) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "balances");
+    }
+
+    public AccountResponse get(Long accountId, Supplier<AccountResponse> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        AccountResponse cached = cache.getIfPresent(accountId);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(accountId);
+        long generation = generations.get(stripe);
+        AccountResponse loaded = loader.get();
+        if (ReplicaRoutingDataSource.readWatermark() < invalidatedAt.get(stripe)) {
+            return loaded;
+        }
+        cache.put(accountId, loaded);
+        if (generations.get(stripe) != generation) {
+            cache.invalidate(accountId);
+        }
+        return loaded;
+    }
+
+    /** Invalidates the accounts once the current transaction commits, or immediately outside a transaction. */
+    public void evictAfterCommit(Collection<Long> accountIds) {
+        afterCommit(() -> accountIds.forEach(this::evict));
+    }
+
+    /** Publishes a freshly created account once the current transaction commits. */
+    public void putAfterCommit(AccountResponse response) {
+        afterCommit(() -> cache.put(response.getId(), response));
+    }
+
+    public void evict(Long accountId) {
+        int stripe = stripe(accountId);
+        generations.incrementAndGet(stripe);
+        invalidatedAt.set(stripe, System.currentTimeMillis());
+        cache.invalidate(accountId);
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int stripe(Long accountId) {
+        return Long.hashCode(accountId * 0x9E3779B97F4A7C15L) & (GENERATION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.banking_api_challenge.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.cache.balance")
+public class BalanceCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maxSize = 100_000;
+
+    /** Upper bound on how long an entry is served; invalidation after commit normally removes it much sooner. */
+    private Duration ttl = Duration.ofSeconds(60);
+}
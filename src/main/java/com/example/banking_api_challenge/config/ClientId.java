@@ -0,0 +1,24 @@
+package com.example.banking_api_challenge.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Who is calling, for per-client limits and read-your-writes: the {@value #HEADER} header an integration
+ * sends, or the remote address when it sends none.
+ */
+public final class ClientId {
+
+    public static final String HEADER = "X-Client-Id";
+
+    private ClientId() {
+    }
+
+    public static String of(HttpServletRequest request) {
+        return of(request.getHeader(HEADER), request);
+    }
+
+    /** As {@link #of(HttpServletRequest)}, for a handler that has already bound the {@value #HEADER} header. */
+    public static String of(String header, HttpServletRequest request) {
+        return header != null ? header : request.getRemoteAddr();
+    }
+}
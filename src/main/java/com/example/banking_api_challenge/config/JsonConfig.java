@@ -0,0 +1,17 @@
+package com.example.banking_api_challenge.config;
+
+import com.example.banking_api_challenge.json.BufferedJsonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class JsonConfig {
+
+    /** Replaces Spring Boot's JSON converter, keeping its ObjectMapper and with it the hand-written serializers. */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new BufferedJsonHttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.banking_api_challenge.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.hibernate.StaleStateException;
+import org.slf4j.Marker;
+
+/**
+ * Drops Hibernate's ERROR line for a JDBC batch that failed its version check. Optimistic transfers expect those
+ * conflicts, and {@code TransferRetryTemplate} counts and retries them. Hibernate logs every batch failure with the
+ * same message at the same level, so only the exception named in the text tells them apart; any other batch
+ * failure is still logged. The INFO line about releasing the aborted batch, which comes just before every such
+ * ERROR, is dropped too. Installed in logback-spring.xml.
+ */
+public class StaleBatchLogFilter extends TurboFilter {
+
+    static final String BATCH_LOGGER = "org.hibernate.orm.jdbc.batch";
+
+    private static final String BATCH_FAILED = "HHH100501";
+
+    private static final String RELEASED_WITH_STATEMENTS = "HHH100503";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || !BATCH_LOGGER.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (format.startsWith(RELEASED_WITH_STATEMENTS)
+                || (format.startsWith(BATCH_FAILED) && format.contains(StaleStateException.class.getName()))) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -1,21 +1,59 @@
 package com.example.banking_api_challenge.controller;
 
+import com.example.banking_api_challenge.DTO.AccountImportResult;
 import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.AccountStatement;
+import com.example.banking_api_challenge.DTO.AsyncTransferStatus;
+import com.example.banking_api_challenge.DTO.BalanceAtResponse;
+import com.example.banking_api_challenge.DTO.BatchTransferRequest;
+import com.example.banking_api_challenge.DTO.BatchTransferResponse;
+import com.example.banking_api_challenge.DTO.ColumnarTransferPage;
 import com.example.banking_api_challenge.DTO.CreateAccountRequest;
+import com.example.banking_api_challenge.DTO.TransferHistoryPage;
 import com.example.banking_api_challenge.DTO.TransferRequest;
 import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.admission.AdmissionPermit;
+import com.example.banking_api_challenge.admission.TransferAdmission;
+import com.example.banking_api_challenge.config.ClientId;
+import com.example.banking_api_challenge.pipeline.TransferPipeline;
+import com.example.banking_api_challenge.service.AccountImportFormat;
+import com.example.banking_api_challenge.service.AccountImportService;
 import com.example.banking_api_challenge.service.AccountService;
+import com.example.banking_api_challenge.service.IdempotentTransfer;
+import com.example.banking_api_challenge.service.TransferIdempotencyService;
+import com.example.banking_api_challenge.statement.StatementService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/accounts")
@@ -25,8 +63,26 @@ import java.util.List;
 public class AccountController {
 
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final AccountService accountService;
 
+    private final TransferIdempotencyService transferIdempotencyService;
+
+    private final TransferPipeline transferPipeline;
+
+    private final TransferAdmission transferAdmission;
+
+    private final AccountImportService accountImportService;
+
+    private final StatementService statementService;
+
+    private final ObjectMapper objectMapper;
+
     @PostMapping
     @Operation(summary = "Create a new bank account", description = "Creates a new bank account for a customer with an initial deposit")
     public ResponseEntity<AccountResponse> createAccount(@Valid @RequestBody CreateAccountRequest request) {
@@ -34,6 +90,20 @@ public class AccountController {
         return new ResponseEntity<>(account, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"}, produces = "application/x-ndjson")
+    @Operation(summary = "Import accounts in bulk", description = "Creates an account per CSV (customerId,initialDeposit) or NDJSON row and streams back one result line per row as chunks commit")
+    public ResponseEntity<StreamingResponseBody> importAccounts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                InputStream body) {
+        AccountImportFormat format = APPLICATION_NDJSON.isCompatibleWith(contentType) ? AccountImportFormat.NDJSON : AccountImportFormat.CSV;
+        ObjectWriter writer = objectMapper.writerFor(AccountImportResult.class);
+        StreamingResponseBody report = out -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                accountImportService.importAccounts(reader.lines(), format, result -> writeLine(writer, result, out));
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(report);
+    }
+
     @GetMapping("/{accountId}/balance")
     @Operation(summary = "Get account balance", description = "Retrieves the current balance for a given account")
     public ResponseEntity<AccountResponse> getAccountBalance(
@@ -42,11 +112,73 @@ public class AccountController {
         return ResponseEntity.ok(account);
     }
 
+    @GetMapping("/{accountId}/balance/at")
+    @Operation(summary = "Get historical balance", description = "Retrieves the balance an account had at a point in time, from its daily balances")
+    public ResponseEntity<BalanceAtResponse> getBalanceAt(
+            @Parameter(description = "Account ID") @PathVariable Long accountId,
+            @Parameter(description = "Point in time, ISO-8601 local date-time") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timestamp) {
+        BalanceAtResponse balance = statementService.getBalanceAt(accountId, timestamp);
+        return ResponseEntity.ok(balance);
+    }
+
+    @GetMapping("/{accountId}/statement")
+    @Operation(summary = "Get account statement", description = "Retrieves opening and closing balances and daily totals for a date range of at most "
+            + StatementService.MAX_STATEMENT_DAYS + " days")
+    public ResponseEntity<AccountStatement> getStatement(
+            @Parameter(description = "Account ID") @PathVariable Long accountId,
+            @Parameter(description = "First day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        AccountStatement statement = statementService.getStatement(accountId, from, to);
+        return ResponseEntity.ok(statement);
+    }
+
     @PostMapping("/transfer")
-    @Operation(summary = "Transfer funds", description = "Transfers money between two accounts")
-    public ResponseEntity<TransferResponse> transferFunds(@Valid @RequestBody TransferRequest request) {
-        TransferResponse transfer = accountService.transferFunds(request);
-        return new ResponseEntity<>(transfer, HttpStatus.CREATED);
+    @Operation(summary = "Transfer funds", description = "Transfers money between two accounts. Retries carrying the same Idempotency-Key return the original transfer instead of moving money twice. "
+            + "Rate limited per client and per source account; shed requests get 429 with Retry-After")
+    public ResponseEntity<TransferResponse> transferFunds(
+            @Parameter(description = "Client-chosen key that makes retries of this transfer safe") @RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Size(max = 255) String idempotencyKey,
+            @Parameter(description = "Identifies the calling integration for rate limiting; defaults to the remote address") @RequestHeader(value = ClientId.HEADER, required = false) @Size(max = 255) String clientId,
+            @Valid @RequestBody TransferRequest request, HttpServletRequest servletRequest) {
+        try (AdmissionPermit permit = transferAdmission.admit(ClientId.of(clientId, servletRequest), request.getFromAccountId())) {
+            IdempotentTransfer transfer = transferIdempotencyService.transfer(idempotencyKey, request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(transfer.replayed()))
+                    .body(transfer.response());
+        }
+    }
+
+    @PostMapping("/transfer/async")
+    @Operation(summary = "Submit a transfer for asynchronous execution", description = "Queues the transfer and returns 202 with a submission id; poll the Location for the outcome. "
+            + "Rate limited like a single transfer")
+    public ResponseEntity<AsyncTransferStatus> submitTransfer(
+            @Parameter(description = "Identifies the calling integration for rate limiting; defaults to the remote address") @RequestHeader(value = ClientId.HEADER, required = false) @Size(max = 255) String clientId,
+            @Valid @RequestBody TransferRequest request, HttpServletRequest servletRequest) {
+        transferAdmission.admitQueued(ClientId.of(clientId, servletRequest), request.getFromAccountId());
+        AsyncTransferStatus status = transferPipeline.submit(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{submissionId}").buildAndExpand(status.getSubmissionId()).toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    @GetMapping("/transfer/async/{submissionId}")
+    @Operation(summary = "Get an asynchronous transfer's status", description = "Returns the submission status; with waitMillis the response is held until the transfer finishes or the wait elapses")
+    public CompletableFuture<ResponseEntity<AsyncTransferStatus>> getTransferStatus(
+            @Parameter(description = "Submission ID returned on submit") @PathVariable String submissionId,
+            @Parameter(description = "Long-poll up to this many milliseconds for completion") @RequestParam(defaultValue = "0") long waitMillis) {
+        return transferPipeline.awaitStatus(submissionId, Duration.ofMillis(waitMillis)).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/transfer/batch")
+    @Operation(summary = "Transfer funds in bulk", description = "Applies many transfers in a single transaction and reports a result per item. "
+            + "Rate limited per client and per source account with a token per transfer")
+    public ResponseEntity<BatchTransferResponse> transferFundsBatch(
+            @Parameter(description = "Identifies the calling integration for rate limiting; defaults to the remote address") @RequestHeader(value = ClientId.HEADER, required = false) @Size(max = 255) String clientId,
+            @Valid @RequestBody BatchTransferRequest request, HttpServletRequest servletRequest) {
+        List<Long> sourceAccountIds = request.getTransfers().stream().map(TransferRequest::getFromAccountId).toList();
+        try (AdmissionPermit permit = transferAdmission.admitBatch(ClientId.of(clientId, servletRequest), sourceAccountIds)) {
+            BatchTransferResponse response = accountService.transferFundsBatch(request);
+            return new ResponseEntity<>(response, response.isCommitted() ? HttpStatus.CREATED : HttpStatus.UNPROCESSABLE_ENTITY);
+        }
     }
 
     @GetMapping("/{accountId}/transfers")
@@ -57,4 +189,43 @@ public class AccountController {
         return ResponseEntity.ok(transfers);
     }
 
+    @GetMapping("/{accountId}/transfers/page")
+    @Operation(summary = "Get a page of transfer history", description = "Retrieves transfer history newest first, one keyset page at a time; pass nextCursor back to continue")
+    public ResponseEntity<TransferHistoryPage> getTransferHistoryPage(
+            @Parameter(description = "Account ID") @PathVariable Long accountId,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + AccountService.MAX_HISTORY_PAGE_SIZE) @RequestParam(defaultValue = "50") int limit) {
+        TransferHistoryPage page = accountService.getTransferHistoryPage(accountId, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/{accountId}/transfers/page", params = "format=columnar")
+    @Operation(summary = "Get a page of transfer history as columns", description = "Same page as above, written as one array per field instead of one object per transfer")
+    public ResponseEntity<ColumnarTransferPage> getColumnarTransferHistoryPage(
+            @Parameter(description = "Account ID") @PathVariable Long accountId,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + AccountService.MAX_HISTORY_PAGE_SIZE) @RequestParam(defaultValue = "50") int limit) {
+        TransferHistoryPage page = accountService.getTransferHistoryPage(accountId, cursor, limit);
+        return ResponseEntity.ok(new ColumnarTransferPage(page));
+    }
+
+    @GetMapping("/{accountId}/transfers/export")
+    @Operation(summary = "Export transfer history", description = "Streams the complete transfer history as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportTransferHistory(
+            @Parameter(description = "Account ID") @PathVariable Long accountId) {
+        // Checked here because the body only runs once the 200 response is committed
+        accountService.requireAccount(accountId);
+        ObjectWriter writer = objectMapper.writerFor(TransferResponse.class);
+        StreamingResponseBody body = out -> accountService.exportTransferHistory(accountId, transfer -> writeLine(writer, transfer, out));
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(ObjectWriter writer, Object value, OutputStream out) {
+        try {
+            out.write(writer.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
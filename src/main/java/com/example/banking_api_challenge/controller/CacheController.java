@@ -0,0 +1,27 @@
+package com.example.banking_api_challenge.controller;
+
+import com.example.banking_api_challenge.DTO.CacheStatsResponse;
+import com.example.banking_api_challenge.cache.AccountBalanceCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@Tag(name = "Cache Administration", description = "APIs for inspecting application caches")
+@RequiredArgsConstructor
+public class CacheController {
+
+
+    private final AccountBalanceCache accountBalanceCache;
+
+    @GetMapping("/balances")
+    @Operation(summary = "Get balance cache statistics", description = "Retrieves hit, miss and eviction counts for the account balance cache")
+    public ResponseEntity<CacheStatsResponse> getBalanceCacheStats() {
+        return ResponseEntity.ok(accountBalanceCache.stats());
+    }
+}
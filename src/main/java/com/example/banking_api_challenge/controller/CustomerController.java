@@ -1,18 +1,21 @@
 package com.example.banking_api_challenge.controller;
 
-import com.example.banking_api_challenge.model.Customer;
-import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.DTO.CustomerPage;
+import com.example.banking_api_challenge.DTO.CustomerResponse;
+import com.example.banking_api_challenge.DTO.CustomerSortField;
+import com.example.banking_api_challenge.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/customers")
 @Tag(name = "Customer Management", description = "APIs for managing customers")
@@ -20,20 +23,26 @@ import java.util.List;
 public class CustomerController {
 
 
-    private final CustomerRepository customerRepository;
+    private final CustomerService customerService;
 
     @GetMapping
-    @Operation(summary = "Get all customers", description = "Retrieves a list of all customers")
-    public ResponseEntity<List<Customer>> getAllCustomers() {
-        List<Customer> customers = customerRepository.findAll();
+    @Operation(summary = "List customers", description = "Retrieves one page of customers, optionally with each customer's account count and total balance")
+    public ResponseEntity<CustomerPage> getAllCustomers(
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size, at most " + CustomerService.MAX_PAGE_SIZE) @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Sort column") @RequestParam(defaultValue = "ID") CustomerSortField sort,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Include account count and total balance") @RequestParam(defaultValue = "false") boolean includeAccounts) {
+        CustomerPage customers = customerService.getCustomers(page, size, sort, direction, includeAccounts);
         return ResponseEntity.ok(customers);
     }
 
     @GetMapping("/{customerId}")
     @Operation(summary = "Get customer by ID", description = "Retrieves a specific customer by their ID")
-    public ResponseEntity<Customer> getCustomer(@PathVariable Long customerId) {
-        return customerRepository.findById(customerId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<CustomerResponse> getCustomer(
+            @Parameter(description = "Customer ID") @PathVariable Long customerId,
+            @Parameter(description = "Include account count and total balance") @RequestParam(defaultValue = "false") boolean includeAccounts) {
+        CustomerResponse customer = customerService.getCustomer(customerId, includeAccounts);
+        return ResponseEntity.ok(customer);
     }
 }
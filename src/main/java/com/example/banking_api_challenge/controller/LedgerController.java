@@ -0,0 +1,38 @@
+package com.example.banking_api_challenge.controller;
+
+import com.example.banking_api_challenge.DTO.LedgerConsistencyReport;
+import com.example.banking_api_challenge.ledger.LedgerConsistencyChecker;
+import com.example.banking_api_challenge.statement.DailyBalanceBackfill;
+import com.example.banking_api_challenge.statement.DailyBalanceBackfillSummary;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/ledger")
+@Tag(name = "Ledger Administration", description = "APIs for auditing the event-sourced ledger and maintaining derived balances")
+@RequiredArgsConstructor
+public class LedgerController {
+
+
+    private final LedgerConsistencyChecker consistencyChecker;
+
+    private final DailyBalanceBackfill dailyBalanceBackfill;
+
+    @GetMapping("/consistency")
+    @Operation(summary = "Check ledger consistency", description = "Verifies that every stored balance equals its snapshot plus the ledger entries after it")
+    public ResponseEntity<LedgerConsistencyReport> checkConsistency() {
+        return ResponseEntity.ok(consistencyChecker.check());
+    }
+
+    @PostMapping("/daily-balances/backfill")
+    @Operation(summary = "Rebuild daily balances", description = "Rebuilds every account's daily balances from the transfers table, in parallel chunks of accounts")
+    public ResponseEntity<DailyBalanceBackfillSummary> backfillDailyBalances() {
+        return ResponseEntity.ok(dailyBalanceBackfill.backfill());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.banking_api_challenge.controller;
+
+import com.example.banking_api_challenge.DTO.SplitBalanceResponse;
+import com.example.banking_api_challenge.splitbalance.SplitBalances;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/accounts")
+@Tag(name = "Account Administration", description = "APIs for tuning how hot accounts store their balances")
+@RequiredArgsConstructor
+public class SplitBalanceController {
+
+    private final SplitBalances splitBalances;
+
+    @PutMapping("/{accountId}/split-balance")
+    @Operation(summary = "Split an account's balance", description = "Spreads credits to the account over balance slots so concurrent credits do not queue on its row")
+    public ResponseEntity<SplitBalanceResponse> split(@PathVariable Long accountId, @RequestParam(required = false) Integer slots) {
+        return ResponseEntity.ok(splitBalances.split(accountId, slots));
+    }
+
+    @DeleteMapping("/{accountId}/split-balance")
+    @Operation(summary = "Merge a split balance", description = "Folds the account's balance slots back into its row and rebuilds its daily balances")
+    public ResponseEntity<SplitBalanceResponse> merge(@PathVariable Long accountId) {
+        return ResponseEntity.ok(splitBalances.merge(accountId));
+    }
+}
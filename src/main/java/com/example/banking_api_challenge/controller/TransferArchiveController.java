@@ -0,0 +1,26 @@
+package com.example.banking_api_challenge.controller;
+
+import com.example.banking_api_challenge.archive.TransferArchive;
+import com.example.banking_api_challenge.archive.TransferArchiveSummary;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/transfers")
+@Tag(name = "Transfer Archive", description = "APIs for moving old transfers out of the transfers table")
+@RequiredArgsConstructor
+public class TransferArchiveController {
+
+    private final TransferArchive transferArchive;
+
+    @PostMapping("/archive")
+    @Operation(summary = "Archive old transfers", description = "Moves transfers older than the retention period into monthly archive tables, in chunks; history and statements still include them")
+    public ResponseEntity<TransferArchiveSummary> archive() {
+        return ResponseEntity.ok(transferArchive.archive());
+    }
+}
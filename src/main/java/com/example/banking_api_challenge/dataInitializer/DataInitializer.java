@@ -1,7 +1,9 @@
 package com.example.banking_api_challenge.dataInitializer;
 
 import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
 import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.statement.DailyBalanceBackfill;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -15,6 +17,14 @@ public class DataInitializer implements CommandLineRunner {
 
     private final CustomerRepository customerRepository;
 
+    private final AccountRepository accountRepository;
+
+    private final SyntheticDataGenerator syntheticDataGenerator;
+
+    private final DailyBalanceBackfill dailyBalanceBackfill;
+
+    private final SeedProperties seedProperties;
+
     @Override
     public void run(String... args){
         if (customerRepository.count() == 0) {
@@ -25,5 +35,10 @@ public class DataInitializer implements CommandLineRunner {
                     new Customer(null, "Georgina Hazel", null)
             ));
         }
+        if (seedProperties.getAccounts() > 0 && accountRepository.count() == 0) {
+            syntheticDataGenerator.generate(seedProperties);
+            // The generated history is bulk-inserted around the transfer paths, so its daily balances are built afterwards
+            dailyBalanceBackfill.backfill();
+        }
     }
 }
@@ -0,0 +1,31 @@
+package com.example.banking_api_challenge.dataInitializer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.seed")
+public class SeedProperties {
+
+    /** Synthetic customers created on startup; 0 keeps just the four named demo customers. */
+    private int customers = 0;
+
+    /** Synthetic accounts created on startup through the bulk import, spread evenly over the customers. */
+    private int accounts = 0;
+
+    /** Historical transfers between the synthetic accounts, backdated over {@link #history}. */
+    private int transfers = 0;
+
+    private BigDecimal initialBalance = new BigDecimal("1000.00");
+
+    /** Zipf exponent of how often each account takes part in a transfer; 0 spreads activity evenly. */
+    private double activitySkew = 1.0;
+
+    private Duration history = Duration.ofDays(365);
+
+    /** Fixed so that the same settings always produce the same dataset. */
+    private long randomSeed = 42;
+}
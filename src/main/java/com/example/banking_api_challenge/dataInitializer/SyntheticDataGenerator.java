@@ -0,0 +1,176 @@
+package com.example.banking_api_challenge.dataInitializer;
+
+import com.example.banking_api_challenge.DTO.AccountImportResult;
+import com.example.banking_api_challenge.loadtest.ZipfDistribution;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import com.example.banking_api_challenge.service.AccountImportFormat;
+import com.example.banking_api_challenge.service.AccountImportService;
+import com.example.banking_api_challenge.service.AccountImportSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Builds a production-shaped dataset from {@link SeedProperties}: customers, accounts and a backdated
+ * transfer history whose participants follow a {@link ZipfDistribution}, so a few accounts are hot and
+ * most are quiet. Everything is written with JDBC batch inserts in chunked transactions.
+ * <p>
+ * The history is generated twice from the same seed. The first pass only tracks balances, so every account
+ * can be imported with the balance it has after its history, and a transfer that would overdraw its
+ * source is skipped in both passes. The second pass inserts the transfer rows. Balances therefore match
+ * the history, money is conserved, and nothing is held in memory but one balance per account.
+ */
+@Slf4j
+@Component
+public class SyntheticDataGenerator {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final CustomerRepository customerRepository;
+
+    private final AccountRepository accountRepository;
+
+    private final TransferRepository transferRepository;
+
+    private final AccountImportService accountImportService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public SyntheticDataGenerator(CustomerRepository customerRepository, AccountRepository accountRepository,
+                                  TransferRepository transferRepository, AccountImportService accountImportService,
+                                  PlatformTransactionManager transactionManager) {
+        this.customerRepository = customerRepository;
+        this.accountRepository = accountRepository;
+        this.transferRepository = transferRepository;
+        this.accountImportService = accountImportService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void generate(SeedProperties properties) {
+        long start = System.nanoTime();
+        List<Long> customerIds = properties.getCustomers() > 0
+                ? createCustomers(properties.getCustomers())
+                : customerRepository.findAll().stream().map(Customer::getId).toList();
+
+        int accounts = properties.getAccounts();
+        long[] balances = openingBalances(properties, accounts);
+        int transfers = accounts > 1 ? properties.getTransfers() : 0;
+        HistoryGenerator history = new HistoryGenerator(properties, accounts);
+        for (int i = 0; i < transfers; i++) {
+            history.next(balances);
+        }
+
+        long[] accountIds = createAccounts(customerIds, balances);
+        int created = createTransfers(properties, accountIds, transfers);
+        log.info("Seeded {} customers, {} accounts and {} transfers in {} ms", customerIds.size(), accounts, created,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<Long> createCustomers(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int first = 0; first < count; first += CHUNK_SIZE) {
+            int from = first;
+            int to = Math.min(first + CHUNK_SIZE, count);
+            transactionTemplate.executeWithoutResult(status -> customerRepository.saveAll(IntStream.range(from, to)
+                            .mapToObj(i -> new Customer(null, "Synthetic Customer " + (i + 1), null)).toList())
+                    .forEach(customer -> ids.add(customer.getId())));
+        }
+        return ids;
+    }
+
+    private long[] createAccounts(List<Long> customerIds, long[] balances) {
+        long[] ids = new long[balances.length];
+        int[] next = {0};
+        AccountImportSummary summary = accountImportService.importAccounts(
+                IntStream.range(0, balances.length).mapToObj(i -> customerIds.get(i % customerIds.size()) + ","
+                        + BigDecimal.valueOf(balances[i], 2).toPlainString()),
+                AccountImportFormat.CSV, result -> {
+                    if (result.getStatus() != AccountImportResult.Status.CREATED) {
+                        throw new IllegalStateException("Synthetic account on line " + result.getLine() + " failed: " + result.getError());
+                    }
+                    ids[next[0]++] = result.getAccountId();
+                });
+        log.debug("Imported {} synthetic accounts", summary.created());
+        return ids;
+    }
+
+    private int createTransfers(SeedProperties properties, long[] accountIds, int count) {
+        // Same seed and same skips as the balance pass, so this replays exactly the history the balances reflect
+        long[] balances = openingBalances(properties, accountIds.length);
+        HistoryGenerator history = new HistoryGenerator(properties, accountIds.length);
+        LocalDateTime now = LocalDateTime.now();
+        int created = 0;
+        for (int first = 0; first < count; first += CHUNK_SIZE) {
+            int size = Math.min(CHUNK_SIZE, count - first);
+            // The accounts were opened with their post-history balances, so these rows carry no ledger entries
+            created += transactionTemplate.execute(status -> {
+                List<Transfer> chunk = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    HistoricTransfer transfer = history.next(balances);
+                    if (transfer != null) {
+                        chunk.add(Transfer.builder()
+                                .fromAccount(accountRepository.getReferenceById(accountIds[transfer.from()]))
+                                .toAccount(accountRepository.getReferenceById(accountIds[transfer.to()]))
+                                .amount(BigDecimal.valueOf(transfer.cents(), 2))
+                                .timestamp(now.minusSeconds(transfer.secondsAgo()))
+                                .description("Synthetic transfer").build());
+                    }
+                }
+                return transferRepository.saveAll(chunk).size();
+            });
+        }
+        return created;
+    }
+
+    private static long[] openingBalances(SeedProperties properties, int accounts) {
+        long[] balances = new long[accounts];
+        Arrays.fill(balances, properties.getInitialBalance().movePointRight(2).longValueExact());
+        return balances;
+    }
+
+    private record HistoricTransfer(int from, int to, long cents, long secondsAgo) {
+    }
+
+    /** Draws the same transfer sequence for the same settings, applying each one to the balances it is given. */
+    private static final class HistoryGenerator {
+        private final SplittableRandom random;
+        private final ZipfDistribution accounts;
+        private final long historySeconds;
+
+        private HistoryGenerator(SeedProperties properties, int accountCount) {
+            this.random = new SplittableRandom(properties.getRandomSeed());
+            this.accounts = new ZipfDistribution(accountCount, properties.getActivitySkew());
+            this.historySeconds = Math.max(1, properties.getHistory().toSeconds());
+        }
+
+        private HistoricTransfer next(long[] balances) {
+            int from = accounts.sample(random);
+            int to = accounts.sample(random);
+            long cents = 100 + random.nextLong(4_901);
+            long secondsAgo = random.nextLong(historySeconds);
+            if (to == from) {
+                to = (from + 1) % balances.length;
+            }
+            // Strictly greater keeps every balance at or above one cent, the smallest valid opening deposit
+            if (balances[from] <= cents) {
+                return null;
+            }
+            balances[from] -= cents;
+            balances[to] += cents;
+            return new HistoricTransfer(from, to, cents, secondsAgo);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.banking_api_challenge.exception;
 
-public class AccountNotFoundException extends RuntimeException {
+public class AccountNotFoundException extends BusinessException {
     public AccountNotFoundException(String message) {
         super(message);
     }
@@ -0,0 +1,15 @@
+package com.example.banking_api_challenge.exception;
+
+import lombok.Getter;
+
+@Getter
+public class AdmissionRejectedException extends BusinessException {
+
+    /** Seconds the client should wait before retrying. */
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.banking_api_challenge.exception;
+
+/**
+ * An expected outcome of a client request, such as an unknown account or insufficient funds, rather than
+ * a fault. These are thrown at request rates, so they capture no stack trace and cannot carry suppressed
+ * exceptions; the message alone identifies the failure.
+ */
+public abstract class BusinessException extends RuntimeException {
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+    }
+}
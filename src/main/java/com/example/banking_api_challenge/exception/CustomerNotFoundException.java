@@ -1,6 +1,6 @@
 package com.example.banking_api_challenge.exception;
 
-public class CustomerNotFoundException extends RuntimeException {
+public class CustomerNotFoundException extends BusinessException {
     public CustomerNotFoundException(String message) {
         super(message);
     }
@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.exception;
+
+public class IdempotencyKeyConflictException extends BusinessException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
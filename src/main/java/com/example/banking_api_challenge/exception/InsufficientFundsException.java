@@ -1,6 +1,6 @@
 package com.example.banking_api_challenge.exception;
 
-public class InsufficientFundsException extends RuntimeException {
+public class InsufficientFundsException extends BusinessException {
     public InsufficientFundsException(String message) {
         super(message);
     }
@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.exception;
+
+public class InvalidCursorException extends BusinessException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.exception;
+
+public class InvalidSplitBalanceException extends BusinessException {
+    public InvalidSplitBalanceException(String message) {
+        super(message);
+    }
+}
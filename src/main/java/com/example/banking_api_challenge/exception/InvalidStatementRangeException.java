@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.exception;
+
+public class InvalidStatementRangeException extends BusinessException {
+    public InvalidStatementRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.exception;
+
+public class TransferQueueFullException extends BusinessException {
+    public TransferQueueFullException(String message) {
+        super(message);
+    }
+}
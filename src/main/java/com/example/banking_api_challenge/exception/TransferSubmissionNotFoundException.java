@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.exception;
+
+public class TransferSubmissionNotFoundException extends BusinessException {
+    public TransferSubmissionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.exception;
+
+public class UnsupportedBatchModeException extends BusinessException {
+    public UnsupportedBatchModeException(String message) {
+        super(message);
+    }
+}
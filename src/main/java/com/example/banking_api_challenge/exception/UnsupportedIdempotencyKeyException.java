@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.exception;
+
+public class UnsupportedIdempotencyKeyException extends BusinessException {
+    public UnsupportedIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.banking_api_challenge.handler;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "banking.errors")
+public class ErrorLogProperties {
+
+    /** Expected failures logged per second for each exception type; the rest are counted but not logged. */
+    private int expectedLogRate = 10;
+}
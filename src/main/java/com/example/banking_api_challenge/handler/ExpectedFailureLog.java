@@ -0,0 +1,65 @@
+package com.example.banking_api_challenge.handler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs expected failures at WARN, one line without a stack trace, and at most
+ * {@code banking.errors.expected-log-rate} lines per second for each exception type. The next line logged
+ * for a type reports how many were left out before it, so a flood of rejected requests costs a counter
+ * increment each instead of a log write.
+ */
+@Slf4j
+@Component
+public class ExpectedFailureLog {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final int ratePerSecond;
+
+    private final ConcurrentMap<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    public ExpectedFailureLog(ErrorLogProperties properties) {
+        this.ratePerSecond = properties.getExpectedLogRate();
+    }
+
+    public void log(Exception ex) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        long skipped = windows.computeIfAbsent(ex.getClass(), type -> new Window()).admit(System.nanoTime(), ratePerSecond);
+        if (skipped == 0) {
+            log.warn("{}: {}", ex.getClass().getSimpleName(), ex.getMessage());
+        } else if (skipped > 0) {
+            log.warn("{}: {} ({} more not logged)", ex.getClass().getSimpleName(), ex.getMessage(), skipped);
+        }
+    }
+
+    private static final class Window {
+        private volatile long start = System.nanoTime();
+        private final AtomicInteger logged = new AtomicInteger();
+        private final AtomicLong skipped = new AtomicLong();
+
+        /** Returns the failures skipped since the last logged one if this one may be logged, or -1. */
+        private long admit(long now, int limit) {
+            if (now - start >= WINDOW_NANOS) {
+                synchronized (this) {
+                    if (now - start >= WINDOW_NANOS) {
+                        start = now;
+                        logged.set(0);
+                    }
+                }
+            }
+            if (logged.incrementAndGet() <= limit) {
+                return skipped.getAndSet(0);
+            }
+            skipped.incrementAndGet();
+            return -1;
+        }
+    }
+}
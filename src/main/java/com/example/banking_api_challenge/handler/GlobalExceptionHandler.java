@@ -1,61 +1,165 @@
 package com.example.banking_api_challenge.handler;
 
 import com.example.banking_api_challenge.exception.AccountNotFoundException;
+import com.example.banking_api_challenge.exception.AdmissionRejectedException;
+import com.example.banking_api_challenge.exception.ConcurrentUpdateException;
 import com.example.banking_api_challenge.exception.CustomerNotFoundException;
+import com.example.banking_api_challenge.exception.IdempotencyKeyConflictException;
 import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.exception.InvalidCursorException;
+import com.example.banking_api_challenge.exception.InvalidSplitBalanceException;
+import com.example.banking_api_challenge.exception.InvalidStatementRangeException;
+import com.example.banking_api_challenge.exception.TransferQueueFullException;
+import com.example.banking_api_challenge.exception.TransferSubmissionNotFoundException;
+import com.example.banking_api_challenge.exception.UnsupportedBatchModeException;
+import com.example.banking_api_challenge.exception.UnsupportedIdempotencyKeyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Maps exceptions to RFC 7807 problem responses. Client and business failures are expected at high rates,
+ * so they are logged through {@link ExpectedFailureLog}; only unexpected exceptions are logged with their
+ * stack traces. Every exception is counted in {@value #EXCEPTIONS_COUNTER}.
+ */
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    public static final String EXCEPTIONS_COUNTER = "banking.exceptions";
+
+    private static final ProblemType ACCOUNT_NOT_FOUND = new ProblemType("account-not-found", "Account Not Found", HttpStatus.NOT_FOUND);
+    private static final ProblemType CUSTOMER_NOT_FOUND = new ProblemType("customer-not-found", "Customer Not Found", HttpStatus.NOT_FOUND);
+    private static final ProblemType INSUFFICIENT_FUNDS = new ProblemType("insufficient-funds", "Insufficient Funds", HttpStatus.BAD_REQUEST);
+    private static final ProblemType INVALID_CURSOR = new ProblemType("invalid-cursor", "Invalid Cursor", HttpStatus.BAD_REQUEST);
+    private static final ProblemType INVALID_STATEMENT_RANGE = new ProblemType("invalid-statement-range", "Invalid Statement Range", HttpStatus.BAD_REQUEST);
+    private static final ProblemType UNSUPPORTED_BATCH_MODE = new ProblemType("unsupported-batch-mode", "Unsupported Batch Mode", HttpStatus.BAD_REQUEST);
+    private static final ProblemType INVALID_SPLIT_BALANCE = new ProblemType("invalid-split-balance", "Invalid Split Balance", HttpStatus.BAD_REQUEST);
+    private static final ProblemType UNSUPPORTED_IDEMPOTENCY_KEY = new ProblemType("unsupported-idempotency-key", "Unsupported Idempotency Key", HttpStatus.BAD_REQUEST);
+    private static final ProblemType IDEMPOTENCY_KEY_CONFLICT = new ProblemType("idempotency-key-conflict", "Idempotency Key Conflict", HttpStatus.UNPROCESSABLE_ENTITY);
+    private static final ProblemType TRANSFER_SUBMISSION_NOT_FOUND = new ProblemType("transfer-submission-not-found", "Transfer Submission Not Found", HttpStatus.NOT_FOUND);
+    private static final ProblemType TOO_MANY_REQUESTS = new ProblemType("too-many-requests", "Too Many Requests", HttpStatus.TOO_MANY_REQUESTS);
+    private static final ProblemType TRANSFER_QUEUE_FULL = new ProblemType("transfer-queue-full", "Transfer Queue Full", HttpStatus.SERVICE_UNAVAILABLE);
+    private static final ProblemType CONCURRENT_UPDATE = new ProblemType("concurrent-update", "Concurrent Update", HttpStatus.CONFLICT);
+    private static final ProblemType VALIDATION_FAILED = new ProblemType("validation-failed", "Validation Failed", HttpStatus.BAD_REQUEST);
+    private static final ProblemType INVALID_PARAMETER = new ProblemType("invalid-parameter", "Invalid Parameter", HttpStatus.BAD_REQUEST);
+    private static final ProblemType MISSING_PARAMETER = new ProblemType("missing-parameter", "Missing Parameter", HttpStatus.BAD_REQUEST);
+    private static final ProblemType UNSUPPORTED_MEDIA_TYPE = new ProblemType("unsupported-media-type", "Unsupported Media Type", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    private static final ProblemType INTERNAL_ERROR = new ProblemType("internal-error", "Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final MeterRegistry meterRegistry;
+
+    private final ExpectedFailureLog expectedFailureLog;
+
+    private final ConcurrentMap<Class<?>, Counter> exceptionCounters = new ConcurrentHashMap<>();
+
     @ExceptionHandler(AccountNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleAccountNotFound(AccountNotFoundException ex) {
-        log.error(ex.getMessage(), ex);
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.NOT_FOUND.value());
-        response.put("error", "Account Not Found");
-        response.put("message", ex.getMessage());
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ProblemDetail> handleAccountNotFound(AccountNotFoundException ex) {
+        return expectedFailure(ACCOUNT_NOT_FOUND, ex);
     }
 
     @ExceptionHandler(CustomerNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleCustomerNotFound(CustomerNotFoundException ex) {
-        log.error(ex.getMessage(), ex);
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.NOT_FOUND.value());
-        response.put("error", "Customer Not Found");
-        response.put("message", ex.getMessage());
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ProblemDetail> handleCustomerNotFound(CustomerNotFoundException ex) {
+        return expectedFailure(CUSTOMER_NOT_FOUND, ex);
     }
 
     @ExceptionHandler(InsufficientFundsException.class)
-    public ResponseEntity<Map<String, Object>> handleInsufficientFunds(InsufficientFundsException ex) {
-        log.error(ex.getMessage(), ex);
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Insufficient Funds");
-        response.put("message", ex.getMessage());
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDetail> handleInsufficientFunds(InsufficientFundsException ex) {
+        return expectedFailure(INSUFFICIENT_FUNDS, ex);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursor(InvalidCursorException ex) {
+        return expectedFailure(INVALID_CURSOR, ex);
+    }
+
+    @ExceptionHandler(InvalidStatementRangeException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidStatementRange(InvalidStatementRangeException ex) {
+        return expectedFailure(INVALID_STATEMENT_RANGE, ex);
+    }
+
+    @ExceptionHandler(UnsupportedBatchModeException.class)
+    public ResponseEntity<ProblemDetail> handleUnsupportedBatchMode(UnsupportedBatchModeException ex) {
+        return expectedFailure(UNSUPPORTED_BATCH_MODE, ex);
+    }
+
+    @ExceptionHandler(InvalidSplitBalanceException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidSplitBalance(InvalidSplitBalanceException ex) {
+        return expectedFailure(INVALID_SPLIT_BALANCE, ex);
+    }
+
+    @ExceptionHandler(UnsupportedIdempotencyKeyException.class)
+    public ResponseEntity<ProblemDetail> handleUnsupportedIdempotencyKey(UnsupportedIdempotencyKeyException ex) {
+        return expectedFailure(UNSUPPORTED_IDEMPOTENCY_KEY, ex);
+    }
+
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ProblemDetail> handleIdempotencyKeyConflict(IdempotencyKeyConflictException ex) {
+        return expectedFailure(IDEMPOTENCY_KEY_CONFLICT, ex);
+    }
+
+    @ExceptionHandler(TransferSubmissionNotFoundException.class)
+    public ResponseEntity<ProblemDetail> handleTransferSubmissionNotFound(TransferSubmissionNotFoundException ex) {
+        return expectedFailure(TRANSFER_SUBMISSION_NOT_FOUND, ex);
+    }
+
+    @ExceptionHandler(TransferQueueFullException.class)
+    public ResponseEntity<ProblemDetail> handleTransferQueueFull(TransferQueueFullException ex) {
+        expectedFailureLog.log(ex);
+        countException(ex);
+        return ResponseEntity.status(TRANSFER_QUEUE_FULL.status()).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(TRANSFER_QUEUE_FULL.detail(ex.getMessage()));
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ProblemDetail> handleAdmissionRejected(AdmissionRejectedException ex) {
+        expectedFailureLog.log(ex);
+        countException(ex);
+        return ResponseEntity.status(TOO_MANY_REQUESTS.status())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(TOO_MANY_REQUESTS.detail(ex.getMessage()));
+    }
+
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ProblemDetail> handleConcurrentUpdate(ConcurrentUpdateException ex) {
+        return expectedFailure(CONCURRENT_UPDATE, ex);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ProblemDetail> handleConstraintViolation(ConstraintViolationException ex) {
+        expectedFailureLog.log(ex);
+        countException(ex);
+        Map<String, String> errors = new HashMap<>();
+
+        ex.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+
+        return validationFailed(errors);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        log.error(ex.getMessage(), ex);
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ProblemDetail> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        expectedFailureLog.log(ex);
+        countException(ex);
         Map<String, String> errors = new HashMap<>();
 
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -64,21 +168,53 @@ public class GlobalExceptionHandler {
             errors.put(fieldName, errorMessage);
         });
 
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Validation Failed");
-        response.put("validationErrors", errors);
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return validationFailed(errors);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ProblemDetail> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        expectedFailureLog.log(ex);
+        countException(ex);
+        return problem(INVALID_PARAMETER, "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'");
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ProblemDetail> handleMissingParameter(MissingServletRequestParameterException ex) {
+        expectedFailureLog.log(ex);
+        countException(ex);
+        return problem(MISSING_PARAMETER, "Required parameter '" + ex.getParameterName() + "' is missing");
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ProblemDetail> handleUnsupportedMediaType(HttpMediaTypeNotSupportedException ex) {
+        return expectedFailure(UNSUPPORTED_MEDIA_TYPE, ex);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
+    public ResponseEntity<ProblemDetail> handleGenericException(Exception ex) {
         log.error(ex.getMessage(), ex);
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        response.put("error", "Internal Server Error");
-        response.put("message", "An unexpected error occurred");
-        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+        countException(ex);
+        return problem(INTERNAL_ERROR, "An unexpected error occurred");
+    }
+
+    private ResponseEntity<ProblemDetail> expectedFailure(ProblemType type, Exception ex) {
+        expectedFailureLog.log(ex);
+        countException(ex);
+        return problem(type, ex.getMessage());
+    }
+
+    private ResponseEntity<ProblemDetail> validationFailed(Map<String, String> errors) {
+        ProblemDetail problem = VALIDATION_FAILED.detail("Request validation failed");
+        problem.setProperty("validationErrors", errors);
+        return ResponseEntity.status(VALIDATION_FAILED.status()).body(problem);
+    }
+
+    private static ResponseEntity<ProblemDetail> problem(ProblemType type, String detail) {
+        return ResponseEntity.status(type.status()).body(type.detail(detail));
+    }
+
+    private void countException(Exception ex) {
+        exceptionCounters.computeIfAbsent(ex.getClass(), type ->
+                meterRegistry.counter(EXCEPTIONS_COUNTER, "exception", type.getSimpleName())).increment();
     }
 }
@@ -0,0 +1,24 @@
+package com.example.banking_api_challenge.handler;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+/**
+ * The fixed part of an RFC 7807 problem response: a type identifier, title and status, built once for each
+ * kind of failure so a response only adds its detail.
+ */
+record ProblemType(URI type, String title, HttpStatus status) {
+
+    ProblemType(String name, String title, HttpStatus status) {
+        this(URI.create("urn:banking:problem:" + name), title, status);
+    }
+
+    ProblemDetail detail(String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setType(type);
+        problem.setTitle(title);
+        return problem;
+    }
+}
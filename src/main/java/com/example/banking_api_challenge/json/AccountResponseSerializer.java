@@ -0,0 +1,30 @@
+package com.example.banking_api_challenge.json;
+
+import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/** Writes {@link AccountResponse}, the balance endpoint's body, without bean introspection; same output as before. */
+@JsonComponent
+public class AccountResponseSerializer extends StdSerializer<AccountResponse> {
+
+    public AccountResponseSerializer() {
+        super(AccountResponse.class);
+    }
+
+    @Override
+    public void serialize(AccountResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        JsonFields.writeLong(gen, "id", value.getId());
+        gen.writeStringField("accountNumber", value.getAccountNumber());
+        JsonFields.writeDecimal(gen, "balance", value.getBalance());
+        JsonFields.writeLong(gen, "customerId", value.getCustomerId());
+        gen.writeStringField("customerName", value.getCustomerName());
+        JsonFields.writeTimestamp(gen, provider, "createdAt", value.getCreatedAt());
+        gen.writeEndObject();
+    }
+}
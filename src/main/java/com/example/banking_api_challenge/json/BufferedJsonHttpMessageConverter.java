@@ -0,0 +1,45 @@
+package com.example.banking_api_challenge.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.FastByteArrayOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Serializes JSON bodies into a buffer before writing them, so each response carries a
+ * {@code Content-Length}. The stock converter flushes the open stream, which commits the response
+ * chunked and with no length, and Tomcat then gzips every body however small, because
+ * {@code server.compression.min-response-size} is only checked against a known length.
+ * Streamed NDJSON responses bypass this converter and are still compressed as they are written.
+ */
+public class BufferedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public BufferedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        FastByteArrayOutputStream buffer = new FastByteArrayOutputStream(1024);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        outputMessage.getHeaders().setContentLength(buffer.size());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.banking_api_challenge.json;
+
+import com.example.banking_api_challenge.DTO.ColumnarTransferPage;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes {@code {"count":n,"id":[...],"fromAccountId":[...],"toAccountId":[...],"amount":[...],
+ * "description":[...],"timestamp":[...],"nextCursor":...,"hasMore":...}}; element {@code i} of every
+ * array belongs to the {@code i}-th transfer, newest first.
+ */
+@JsonComponent
+public class ColumnarTransferPageSerializer extends StdSerializer<ColumnarTransferPage> {
+
+    public ColumnarTransferPageSerializer() {
+        super(ColumnarTransferPage.class);
+    }
+
+    @Override
+    public void serialize(ColumnarTransferPage value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        List<TransferResponse> transfers = value.getTransfers();
+        int count = transfers.size();
+        gen.writeStartObject(value);
+        gen.writeNumberField("count", count);
+
+        gen.writeArrayFieldStart("id");
+        for (TransferResponse transfer : transfers) {
+            gen.writeNumber(transfer.getId());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("fromAccountId");
+        for (TransferResponse transfer : transfers) {
+            gen.writeNumber(transfer.getFromAccountId());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("toAccountId");
+        for (TransferResponse transfer : transfers) {
+            gen.writeNumber(transfer.getToAccountId());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("amount");
+        for (TransferResponse transfer : transfers) {
+            JsonFields.writeDecimal(gen, transfer.getAmount());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("description");
+        for (TransferResponse transfer : transfers) {
+            gen.writeString(transfer.getDescription());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("timestamp");
+        for (TransferResponse transfer : transfers) {
+            JsonFields.writeTimestamp(gen, provider, transfer.getTimestamp());
+        }
+        gen.writeEndArray();
+
+        gen.writeStringField("nextCursor", value.getNextCursor());
+        gen.writeBooleanField("hasMore", value.isHasMore());
+        gen.writeEndObject();
+    }
+}
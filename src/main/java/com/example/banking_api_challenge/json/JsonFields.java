@@ -0,0 +1,100 @@
+package com.example.banking_api_challenge.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Field writers shared by the hand-written serializers. Each writes exactly what the default Jackson
+ * serializer for the type would, including an explicit {@code null}.
+ */
+final class JsonFields {
+
+    private static final int MAX_TIMESTAMP_LENGTH = 29;
+
+    private JsonFields() {
+    }
+
+    static void writeLong(JsonGenerator gen, String name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    static void writeDecimal(JsonGenerator gen, String name, BigDecimal value) throws IOException {
+        gen.writeFieldName(name);
+        writeDecimal(gen, value);
+    }
+
+    static void writeDecimal(JsonGenerator gen, BigDecimal value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    static void writeTimestamp(JsonGenerator gen, SerializerProvider provider, String name, LocalDateTime value) throws IOException {
+        gen.writeFieldName(name);
+        writeTimestamp(gen, provider, value);
+    }
+
+    /**
+     * Writes the value as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} formats it, but straight into a char
+     * buffer, unless the mapper is set to write dates as timestamp arrays: {@code yyyy-MM-ddTHH:mm:ss}, then
+     * the fraction of a second with trailing zeros dropped, if any.
+     */
+    static void writeTimestamp(JsonGenerator gen, SerializerProvider provider, LocalDateTime value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, gen);
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed and expanded years are rare enough to leave to the formatter
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        char[] buf = new char[MAX_TIMESTAMP_LENGTH];
+        digits(buf, 0, year, 4);
+        buf[4] = '-';
+        digits(buf, 5, value.getMonthValue(), 2);
+        buf[7] = '-';
+        digits(buf, 8, value.getDayOfMonth(), 2);
+        buf[10] = 'T';
+        digits(buf, 11, value.getHour(), 2);
+        buf[13] = ':';
+        digits(buf, 14, value.getMinute(), 2);
+        buf[16] = ':';
+        digits(buf, 17, value.getSecond(), 2);
+        int length = 19;
+        if (value.getNano() != 0) {
+            buf[19] = '.';
+            digits(buf, 20, value.getNano(), 9);
+            length = MAX_TIMESTAMP_LENGTH;
+            while (buf[length - 1] == '0') {
+                length--;
+            }
+        }
+        gen.writeString(buf, 0, length);
+    }
+
+    private static void digits(char[] buf, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
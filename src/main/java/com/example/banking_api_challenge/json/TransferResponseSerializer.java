@@ -0,0 +1,33 @@
+package com.example.banking_api_challenge.json;
+
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link TransferResponse}, the element of every history response, field by field instead of through
+ * bean introspection. The output is byte-for-byte what the reflective serializer produced, nulls included.
+ */
+@JsonComponent
+public class TransferResponseSerializer extends StdSerializer<TransferResponse> {
+
+    public TransferResponseSerializer() {
+        super(TransferResponse.class);
+    }
+
+    @Override
+    public void serialize(TransferResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        JsonFields.writeLong(gen, "id", value.getId());
+        JsonFields.writeLong(gen, "fromAccountId", value.getFromAccountId());
+        JsonFields.writeLong(gen, "toAccountId", value.getToAccountId());
+        JsonFields.writeDecimal(gen, "amount", value.getAmount());
+        gen.writeStringField("description", value.getDescription());
+        JsonFields.writeTimestamp(gen, provider, "timestamp", value.getTimestamp());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.banking_api_challenge.ledger;
+
+import java.math.BigDecimal;
+
+/** Stored balance of an account next to its snapshot and the tail of entries after it, read in one statement. */
+public record AccountLedgerState(Long accountId, BigDecimal storedBalance, BigDecimal snapshotBalance,
+                                 Long snapshotEntryId, BigDecimal tailSum, Long tailEntries) {
+
+    public BigDecimal derivedBalance() {
+        return (snapshotBalance == null ? BigDecimal.ZERO : snapshotBalance).add(tailSum);
+    }
+
+    public boolean consistent() {
+        return storedBalance.compareTo(derivedBalance()) == 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.banking_api_challenge.ledger;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Authoritative in-memory balances, held as long minor units (cents).
+ * The map is lock-striped per bin and each balance is a single {@link AtomicLong},
+ * so transfers on disjoint accounts never contend and debits are plain CAS loops.
+ */
+public class BalanceLedger {
+
+    private static final int SCALE = 2;
+
+    private final ConcurrentHashMap<Long, LedgerAccount> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the ledger entry for the account, loading it with {@code loader} on first use.
+     * The loader runs outside the map lock; if two threads race, the first published entry wins.
+     */
+    public LedgerAccount account(long accountId, LongFunction<LedgerAccount> loader) {
+        LedgerAccount existing = accounts.get(accountId);
+        if (existing != null) {
+            return existing;
+        }
+        LedgerAccount loaded = loader.apply(accountId);
+        LedgerAccount raced = accounts.putIfAbsent(accountId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    public LedgerAccount find(long accountId) {
+        return accounts.get(accountId);
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static final class LedgerAccount {
+        private final String accountNumber;
+        private final AtomicLong balance;
+
+        public LedgerAccount(String accountNumber, long balance) {
+            this.accountNumber = accountNumber;
+            this.balance = new AtomicLong(balance);
+        }
+
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+
+        public long getBalance() {
+            return balance.get();
+        }
+
+        public boolean tryDebit(long amount) {
+            long current;
+            do {
+                current = balance.get();
+                if (current < amount) {
+                    return false;
+                }
+            } while (!balance.compareAndSet(current, current - amount));
+            return true;
+        }
+
+        public void credit(long amount) {
+            balance.addAndGet(amount);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.banking_api_challenge.ledger;
+
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.BalanceSnapshot;
+import com.example.banking_api_challenge.model.LedgerEntry;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.BalanceSnapshotRepository;
+import com.example.banking_api_challenge.repository.LedgerEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append side of the event-sourced ledger, active with {@code banking.ledger.mode=event-sourced}.
+ * <p>
+ * Callers append entries in the transaction that changes the stored balances, after locking the account
+ * rows, so entries and balances commit or roll back together. Once committed, the appended entries are
+ * counted per account; {@link LedgerSnapshotter} uses the counts to find accounts due for a new snapshot
+ * without scanning the entries table.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventLedger {
+
+    private final LedgerProperties properties;
+
+    private final LedgerEntryRepository entryRepository;
+
+    private final BalanceSnapshotRepository snapshotRepository;
+
+    private final Map<Long, Integer> unsnapshottedEntries = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return properties.getMode() == LedgerMode.EVENT_SOURCED;
+    }
+
+    public void recordOpening(Account account) {
+        recordOpenings(List.of(account));
+    }
+
+    /** Appends one opening entry per account. The accounts must already have their ids. */
+    public void recordOpenings(List<Account> accounts) {
+        if (!isEnabled() || accounts.isEmpty()) {
+            return;
+        }
+        List<LedgerEntry> entries = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            entries.add(LedgerEntry.builder().accountId(account.getId()).type(LedgerEntry.Type.OPENING)
+                    .amount(account.getBalance()).createdAt(account.getCreatedAt()).build());
+        }
+        append(entries);
+    }
+
+    /** Appends a debit and a credit entry per transfer. The transfers must already have their ids. */
+    public void recordTransfers(List<Transfer> transfers) {
+        if (!isEnabled() || transfers.isEmpty()) {
+            return;
+        }
+        List<LedgerEntry> entries = new ArrayList<>(transfers.size() * 2);
+        for (Transfer transfer : transfers) {
+            entries.add(LedgerEntry.builder().accountId(transfer.getFromAccount().getId()).transferId(transfer.getId())
+                    .type(LedgerEntry.Type.DEBIT).amount(transfer.getAmount().negate()).createdAt(transfer.getTimestamp()).build());
+            entries.add(LedgerEntry.builder().accountId(transfer.getToAccount().getId()).transferId(transfer.getId())
+                    .type(LedgerEntry.Type.CREDIT).amount(transfer.getAmount()).createdAt(transfer.getTimestamp()).build());
+        }
+        append(entries);
+    }
+
+    /** The balance folded from the account's snapshot and the entries after it. */
+    @Transactional(readOnly = true)
+    public BigDecimal derivedBalance(Long accountId) {
+        BalanceSnapshot snapshot = snapshotRepository.findById(accountId).orElse(null);
+        LedgerTail tail = entryRepository.findTail(accountId, snapshot == null ? 0L : snapshot.getLastEntryId());
+        return (snapshot == null ? BigDecimal.ZERO : snapshot.getBalance()).add(tail.sum());
+    }
+
+    /** Accounts that, as far as this instance has seen, collected at least {@code threshold} entries since their snapshot. */
+    List<Long> accountsDueForSnapshot(int threshold) {
+        List<Long> due = new ArrayList<>();
+        unsnapshottedEntries.forEach((accountId, entries) -> {
+            if (entries >= threshold) {
+                due.add(accountId);
+            }
+        });
+        return due;
+    }
+
+    void snapshotted(Long accountId, long foldedEntries) {
+        unsnapshottedEntries.computeIfPresent(accountId, (id, entries) -> entries > foldedEntries ? (int) (entries - foldedEntries) : null);
+    }
+
+    private void append(List<LedgerEntry> entries) {
+        entryRepository.saveAll(entries);
+
+        Map<Long, Integer> counts = new HashMap<>();
+        entries.forEach(entry -> counts.merge(entry.getAccountId(), 1, Integer::sum));
+        Runnable count = () -> counts.forEach((accountId, n) -> unsnapshottedEntries.merge(accountId, n, Integer::sum));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    count.run();
+                }
+            });
+        } else {
+            count.run();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.ledger;
+
+import java.time.LocalDateTime;
+
+public record JournalEntry(long sequence, long fromAccountId, long toAccountId, long amountMinor,
+                           LocalDateTime timestamp, String description) {
+}
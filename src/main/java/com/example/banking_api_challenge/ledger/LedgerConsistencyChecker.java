@@ -0,0 +1,106 @@
+package com.example.banking_api_challenge.ledger;
+
+import com.example.banking_api_challenge.DTO.LedgerConsistencyReport;
+import com.example.banking_api_challenge.DTO.LedgerDiscrepancy;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.BalanceSnapshot;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.BalanceSnapshotRepository;
+import com.example.banking_api_challenge.repository.LedgerEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifies that every account's stored balance equals its snapshot plus the tail of entries after it.
+ * <p>
+ * Accounts are compared a page at a time, each page in a single statement. A transfer committing between
+ * statements can make an account look inconsistent for a moment, so every mismatch is re-read under the
+ * account's row lock before it is reported.
+ */
+@Slf4j
+@Component
+public class LedgerConsistencyChecker {
+
+    private static final int PAGE_SIZE = 500;
+
+    private static final int MAX_REPORTED = 100;
+
+    private final EventLedger eventLedger;
+
+    private final AccountRepository accountRepository;
+
+    private final LedgerEntryRepository entryRepository;
+
+    private final BalanceSnapshotRepository snapshotRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public LedgerConsistencyChecker(EventLedger eventLedger, AccountRepository accountRepository, LedgerEntryRepository entryRepository,
+                                    BalanceSnapshotRepository snapshotRepository, PlatformTransactionManager transactionManager) {
+        this.eventLedger = eventLedger;
+        this.accountRepository = accountRepository;
+        this.entryRepository = entryRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public LedgerConsistencyReport check() {
+        if (!eventLedger.isEnabled()) {
+            return new LedgerConsistencyReport(false, true, 0, 0, 0, List.of(), LocalDateTime.now());
+        }
+        long checked = 0;
+        long longestTail = 0;
+        long inconsistent = 0;
+        List<LedgerDiscrepancy> discrepancies = new ArrayList<>();
+        long afterId = 0;
+        List<AccountLedgerState> page;
+        do {
+            page = entryRepository.findLedgerStates(afterId, Limit.of(PAGE_SIZE));
+            for (AccountLedgerState state : page) {
+                checked++;
+                longestTail = Math.max(longestTail, state.tailEntries());
+                if (!state.consistent()) {
+                    AccountLedgerState confirmed = readLocked(state.accountId());
+                    if (confirmed != null && !confirmed.consistent()) {
+                        inconsistent++;
+                        if (discrepancies.size() < MAX_REPORTED) {
+                            discrepancies.add(toDiscrepancy(confirmed));
+                        }
+                    }
+                }
+            }
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).accountId();
+        } while (page.size() == PAGE_SIZE);
+
+        if (inconsistent > 0) {
+            log.error("Ledger consistency check found {} of {} accounts inconsistent", inconsistent, checked);
+        }
+        return new LedgerConsistencyReport(true, inconsistent == 0, checked, longestTail, inconsistent, discrepancies, LocalDateTime.now());
+    }
+
+    private AccountLedgerState readLocked(Long accountId) {
+        return transactionTemplate.execute(status -> {
+            Account account = accountRepository.findByIdForUpdate(accountId).orElse(null);
+            if (account == null) {
+                return null;
+            }
+            BalanceSnapshot snapshot = snapshotRepository.findById(accountId).orElse(null);
+            Long snapshotEntryId = snapshot == null ? null : snapshot.getLastEntryId();
+            LedgerTail tail = entryRepository.findTail(accountId, snapshotEntryId == null ? 0L : snapshotEntryId);
+            return new AccountLedgerState(accountId, account.getBalance(), snapshot == null ? null : snapshot.getBalance(),
+                    snapshotEntryId, tail.sum(), tail.entries());
+        });
+    }
+
+    private static LedgerDiscrepancy toDiscrepancy(AccountLedgerState state) {
+        return new LedgerDiscrepancy(state.accountId(), state.storedBalance(), state.snapshotBalance(), state.snapshotEntryId(),
+                state.tailEntries(), state.derivedBalance());
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.banking_api_challenge.ledger;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.exception.AccountNotFoundException;
+import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.ledger.BalanceLedger.LedgerAccount;
+import com.example.banking_api_challenge.model.LedgerCheckpoint;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.LedgerCheckpointRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import com.example.banking_api_challenge.statement.DailyBalanceRecorder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional in-memory transfer engine for hot accounts, enabled with {@code banking.ledger.mode=in-memory}.
+ * <p>
+ * Accounts are loaded into the {@link BalanceLedger} on first use and from then on their in-memory
+ * balance is authoritative. A transfer debits the source with a CAS, appends a {@link JournalEntry}
+ * to the {@link LedgerJournal}, waits for the journal's group commit to force it to storage, then credits
+ * the destination, so funds can never be spent before the entry that created them is durable. The
+ * transfer is acknowledged at that point, without any JDBC round trip. A single flusher thread drains
+ * the queue in sequence order and applies each batch to the {@code accounts} and {@code transfers}
+ * tables together with the {@link LedgerCheckpoint}. On startup every journal entry above the
+ * checkpoint is replayed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LedgerEngine {
+
+    private static final long CHECKPOINT_ID = 1L;
+
+    private final LedgerProperties properties;
+
+    private final AccountRepository accountRepository;
+
+    private final TransferRepository transferRepository;
+
+    private final LedgerCheckpointRepository checkpointRepository;
+
+    private final DailyBalanceRecorder dailyBalanceRecorder;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final BalanceLedger ledger = new BalanceLedger();
+
+    /** Orders journal appends. Not a monitor, so a request parked on a full queue does not pin a virtual thread. */
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    /** Flusher-thread owned; holds a drained batch until it is committed so a failed flush is retried. */
+    private final List<JournalEntry> batch = new ArrayList<>();
+
+    private long lastSequence;
+
+    private volatile long persistedSequence;
+
+    private BlockingQueue<JournalEntry> pending;
+
+    private LedgerJournal journal;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ScheduledExecutorService flusher;
+
+    public boolean isEnabled() {
+        return properties.getMode() == LedgerMode.IN_MEMORY;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        pending = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+        journal = new LedgerJournal(properties.getJournalPath(), properties.getJournalSegmentBytes());
+        recover();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushPending, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        while (flush() > 0) {
+            // drain everything acknowledged before shutdown
+        }
+        journal.close();
+    }
+
+    public TransferResponse transfer(TransferRequest request) {
+        long amount = BalanceLedger.toMinorUnits(request.getAmount());
+        LedgerAccount from = load(request.getFromAccountId(), "Source account not found with ID: ");
+        LedgerAccount to = load(request.getToAccountId(), "Destination account not found with ID: ");
+
+        if (!from.tryDebit(amount)) {
+            throw new InsufficientFundsException("Insufficient funds in account: " + from.getAccountNumber());
+        }
+        JournalEntry entry;
+        try {
+            entry = append(request, amount);
+        } catch (IOException e) {
+            from.credit(amount);
+            throw new UncheckedIOException("Could not append transfer to the ledger journal", e);
+        }
+        if (properties.isJournalSync()) {
+            try {
+                journal.sync(entry.sequence());
+            } catch (IOException e) {
+                // Already journaled and queued for write-behind, so the transfer stands; only its durability is unknown
+                to.credit(amount);
+                throw new UncheckedIOException("Transfer was journaled but could not be forced to storage", e);
+            }
+        }
+        to.credit(amount);
+
+        // The transfers row, and with it the id, is only created when the flusher persists the entry
+        return new TransferResponse(null, entry.fromAccountId(), entry.toAccountId(),
+                request.getAmount(), entry.description(), entry.timestamp());
+    }
+
+    /** The in-memory balance of the account, if the ledger currently owns it. */
+    public Optional<BigDecimal> currentBalance(Long accountId) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        LedgerAccount account = ledger.find(accountId);
+        return account == null ? Optional.empty() : Optional.of(BalanceLedger.fromMinorUnits(account.getBalance()));
+    }
+
+    public long getPersistedSequence() {
+        return persistedSequence;
+    }
+
+    /** Persists up to one batch of pending entries and returns how many were written. */
+    int flush() throws IOException {
+        if (batch.isEmpty()) {
+            pending.drainTo(batch, properties.getFlushBatchSize());
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        persist(batch);
+        int flushed = batch.size();
+        persistedSequence = batch.get(flushed - 1).sequence();
+        batch.clear();
+        journal.release(persistedSequence);
+        return flushed;
+    }
+
+    private void flushPending() {
+        try {
+            while (flush() == properties.getFlushBatchSize()) {
+                // keep going while full batches are waiting
+            }
+        } catch (Exception e) {
+            log.warn("Ledger flush failed at sequence {}, will retry: {}", persistedSequence, e.getMessage());
+        }
+    }
+
+    private void recover() throws IOException {
+        long checkpoint = checkpointRepository.findById(CHECKPOINT_ID)
+                .map(LedgerCheckpoint::getLastSequence)
+                .orElse(0L);
+        List<JournalEntry> entries = journal.readAll();
+        List<JournalEntry> unapplied = entries.stream()
+                .filter(entry -> entry.sequence() > checkpoint)
+                .toList();
+
+        int chunkSize = properties.getFlushBatchSize();
+        for (int i = 0; i < unapplied.size(); i += chunkSize) {
+            persist(unapplied.subList(i, Math.min(i + chunkSize, unapplied.size())));
+        }
+
+        lastSequence = entries.isEmpty() ? checkpoint : Math.max(checkpoint, entries.get(entries.size() - 1).sequence());
+        persistedSequence = lastSequence;
+        journal.truncate();
+        log.info("Ledger recovery replayed {} of {} journal entries, resuming at sequence {}",
+                unapplied.size(), entries.size(), lastSequence);
+    }
+
+    private void persist(List<JournalEntry> entries) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Long> deltas = new HashMap<>();
+            List<Transfer> transfers = new ArrayList<>(entries.size());
+            for (JournalEntry entry : entries) {
+                deltas.merge(entry.fromAccountId(), -entry.amountMinor(), Long::sum);
+                deltas.merge(entry.toAccountId(), entry.amountMinor(), Long::sum);
+                transfers.add(Transfer.builder()
+                        .fromAccount(accountRepository.getReferenceById(entry.fromAccountId()))
+                        .toAccount(accountRepository.getReferenceById(entry.toAccountId()))
+                        .amount(BalanceLedger.fromMinorUnits(entry.amountMinor()))
+                        .timestamp(entry.timestamp())
+                        .description(entry.description())
+                        .build());
+            }
+            // Same ascending id order as the row locks taken by the database transfer path
+            new TreeMap<>(deltas).forEach((accountId, delta) -> {
+                if (delta != 0) {
+                    accountRepository.adjustBalance(accountId, BalanceLedger.fromMinorUnits(delta));
+                }
+            });
+            // The transfers' account proxies are first loaded here, after the balance updates, so they carry the new balances
+            dailyBalanceRecorder.recordTransfers(transferRepository.saveAll(transfers));
+            checkpointRepository.save(new LedgerCheckpoint(CHECKPOINT_ID,
+                    entries.get(entries.size() - 1).sequence(), LocalDateTime.now()));
+        });
+    }
+
+    private LedgerAccount load(Long accountId, String notFoundMessage) {
+        return ledger.account(accountId, id -> accountRepository.findById(id)
+                .map(account -> new LedgerAccount(account.getAccountNumber(), BalanceLedger.toMinorUnits(account.getBalance())))
+                .orElseThrow(() -> new AccountNotFoundException(notFoundMessage + id)));
+    }
+
+    private JournalEntry append(TransferRequest request, long amount) throws IOException {
+        appendLock.lock();
+        try {
+            JournalEntry entry = new JournalEntry(lastSequence + 1, request.getFromAccountId(), request.getToAccountId(),
+                    amount, LocalDateTime.now(), request.getDescription());
+            journal.append(entry);
+            lastSequence = entry.sequence();
+            // Enqueued under the lock so the flusher always sees entries in sequence order
+            enqueue(entry);
+            return entry;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void enqueue(JournalEntry entry) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                pending.put(entry);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.banking_api_challenge.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal of {@link JournalEntry} records in memory-mapped segment files.
+ * <p>
+ * Segments are preallocated files of {@code segmentBytes}, named after the sequence of their first entry
+ * and mapped once, so an append is a copy into the mapping under a short lock. A record never spans
+ * segments; when one does not fit, the journal rolls to a new segment. Each record is
+ * {@code [int length][payload][int crc32(payload)]} with the numbers in the payload varint-encoded, and a
+ * zero length marks the end of the written part. The length is written last, and a torn or corrupt tail
+ * left by a power loss fails its checksum and is cut off, so only fully written entries are ever replayed.
+ * <p>
+ * Appending forces nothing to storage; {@link #sync(long)} does, with group commit. The first caller forces
+ * everything appended so far, and callers arriving meanwhile wait for it, then share the next force.
+ */
+public class LedgerJournal implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final int HEADER_BYTES = Integer.BYTES;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+    private static final int MIN_PAYLOAD_BYTES = 7;
+    private static final int MAX_FIXED_PAYLOAD_BYTES = 6 * 10 + 2 * 5;
+
+    private final Path directory;
+
+    private final int segmentBytes;
+
+    /** Oldest first; the last one is appended to. */
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    // Not synchronized: a thread waiting for a force would pin its virtual thread to the carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private final Condition forced = syncLock.newCondition();
+
+    private long lastSequence;
+
+    private long durableSequence;
+
+    private boolean forcing;
+
+    private long forces;
+
+    /**
+     * Opens the journal in {@code directory}, checking every existing segment. Appending resumes right after
+     * the last intact record; segments after a corrupt record are deleted.
+     */
+    public LedgerJournal(Path directory, int segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        boolean corrupt = false;
+        for (Path path : segmentFiles()) {
+            if (corrupt) {
+                Files.delete(path);
+                continue;
+            }
+            Segment segment = Segment.open(path);
+            corrupt = !segment.recover();
+            segments.addLast(segment);
+            lastSequence = Math.max(lastSequence, segment.lastSequence);
+        }
+        durableSequence = lastSequence;
+    }
+
+    /** Every intact entry, oldest first. */
+    public List<JournalEntry> readAll() {
+        lock.lock();
+        try {
+            List<JournalEntry> entries = new ArrayList<>();
+            for (Segment segment : segments) {
+                segment.forEachEntry(entries::add);
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Appends one record, rolling to a new segment if it does not fit the current one. Does not force it to storage. */
+    public void append(JournalEntry entry) throws IOException {
+        ByteBuffer record = encode(entry);
+        lock.lock();
+        try {
+            Segment active = segments.peekLast();
+            if (active == null || active.remaining() < record.remaining()) {
+                if (record.remaining() > segmentBytes) {
+                    throw new IOException("Journal record of " + record.remaining() + " bytes does not fit a segment of " + segmentBytes);
+                }
+                active = Segment.create(directory.resolve(segmentName(entry.sequence())), segmentBytes);
+                segments.addLast(active);
+            }
+            active.write(record, entry.sequence());
+            lastSequence = entry.sequence();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns once every entry up to {@code sequence} is forced to the storage device. */
+    public void sync(long sequence) throws IOException {
+        syncLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (forcing) {
+                    forced.awaitUninterruptibly();
+                    continue;
+                }
+                forcing = true;
+                long covered = durableSequence;
+                syncLock.unlock();
+                try {
+                    covered = forceAppended();
+                } finally {
+                    syncLock.lock();
+                    forcing = false;
+                    forces++;
+                    durableSequence = Math.max(durableSequence, covered);
+                    forced.signalAll();
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /** Deletes every segment, other than the one being appended to, whose entries are all at or below {@code sequence}. */
+    public void release(long sequence) throws IOException {
+        lock.lock();
+        try {
+            while (segments.size() > 1 && segments.peekFirst().lastSequence <= sequence) {
+                Files.deleteIfExists(segments.removeFirst().path);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Deletes all segments; the next append starts a new one. */
+    public void truncate() throws IOException {
+        lock.lock();
+        try {
+            while (!segments.isEmpty()) {
+                Files.deleteIfExists(segments.removeFirst().path);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** How many times the journal was forced to storage. Fewer forces than synced entries means group commit is batching. */
+    public long getForces() {
+        syncLock.lock();
+        try {
+            return forces;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        long last;
+        lock.lock();
+        try {
+            last = lastSequence;
+        } finally {
+            lock.unlock();
+        }
+        sync(last);
+    }
+
+    /** Forces every byte appended since the previous force and returns the highest sequence that covers. */
+    private long forceAppended() throws IOException {
+        List<Segment> dirty = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        long covered;
+        lock.lock();
+        try {
+            covered = lastSequence;
+            for (Segment segment : segments) {
+                if (segment.position > segment.forcedPosition) {
+                    dirty.add(segment);
+                    ends.add(segment.position);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Only the forcing thread moves forcedPosition, so it needs no lock
+        try {
+            for (int i = 0; i < dirty.size(); i++) {
+                Segment segment = dirty.get(i);
+                segment.buffer.force(segment.forcedPosition, ends.get(i) - segment.forcedPosition);
+                segment.forcedPosition = ends.get(i);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return covered;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static String segmentName(long firstSequence) {
+        return String.format("%020d%s", firstSequence, SEGMENT_SUFFIX);
+    }
+
+    static ByteBuffer encode(JournalEntry entry) {
+        byte[] description = entry.description() == null ? null : entry.description().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + MAX_FIXED_PAYLOAD_BYTES
+                + (description == null ? 0 : description.length) + TRAILER_BYTES);
+        buffer.position(HEADER_BYTES);
+        putVarLong(buffer, entry.sequence());
+        putVarLong(buffer, entry.fromAccountId());
+        putVarLong(buffer, entry.toAccountId());
+        putVarLong(buffer, entry.amountMinor());
+        putVarLong(buffer, entry.timestamp().toEpochSecond(ZoneOffset.UTC));
+        putVarLong(buffer, entry.timestamp().getNano());
+        putVarLong(buffer, description == null ? 0 : description.length + 1);
+        if (description != null) {
+            buffer.put(description);
+        }
+        int length = buffer.position() - HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_BYTES, length);
+        buffer.putInt((int) crc.getValue());
+        buffer.putInt(0, length);
+        return buffer.flip();
+    }
+
+    static JournalEntry decode(ByteBuffer payload) {
+        long sequence = getVarLong(payload);
+        long fromAccountId = getVarLong(payload);
+        long toAccountId = getVarLong(payload);
+        long amountMinor = getVarLong(payload);
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(getVarLong(payload), (int) getVarLong(payload), ZoneOffset.UTC);
+        int descriptionLength = (int) getVarLong(payload) - 1;
+        String description = null;
+        if (descriptionLength >= 0) {
+            byte[] bytes = new byte[descriptionLength];
+            payload.get(bytes);
+            description = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new JournalEntry(sequence, fromAccountId, toAccountId, amountMinor, timestamp, description);
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in journal record");
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+
+        private final MappedByteBuffer buffer;
+
+        /** End of the written part. */
+        private int position;
+
+        private int forcedPosition;
+
+        private long lastSequence;
+
+        private Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                // Make the new file and its length durable once, so later forces only have to write data pages
+                channel.force(true);
+                return new Segment(path, buffer);
+            }
+        }
+
+        static Segment open(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            }
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        void write(ByteBuffer record, long sequence) {
+            int length = record.remaining();
+            buffer.put(position + HEADER_BYTES, record.array(), HEADER_BYTES, length - HEADER_BYTES);
+            buffer.putInt(position, record.getInt(0));
+            position += length;
+            lastSequence = sequence;
+        }
+
+        /**
+         * Finds the end of the intact records and zeroes anything after it, so a torn record can never be
+         * mistaken for a valid one once appending resumes. Returns false if it stopped at a corrupt record.
+         */
+        boolean recover() {
+            boolean intact = true;
+            int offset = 0;
+            while (offset + HEADER_BYTES <= buffer.capacity()) {
+                int length = buffer.getInt(offset);
+                if (length == 0) {
+                    break;
+                }
+                JournalEntry entry = length < MIN_PAYLOAD_BYTES || offset + HEADER_BYTES + length + TRAILER_BYTES > buffer.capacity()
+                        ? null : readRecord(offset, length);
+                if (entry == null) {
+                    intact = false;
+                    break;
+                }
+                lastSequence = entry.sequence();
+                offset += HEADER_BYTES + length + TRAILER_BYTES;
+            }
+            position = offset;
+            forcedPosition = offset;
+            if (!intact) {
+                byte[] zeros = new byte[Math.min(64 * 1024, buffer.capacity() - offset)];
+                for (int i = offset; i < buffer.capacity(); i += zeros.length) {
+                    buffer.put(i, zeros, 0, Math.min(zeros.length, buffer.capacity() - i));
+                }
+                buffer.force();
+            }
+            return intact;
+        }
+
+        void forEachEntry(Consumer<JournalEntry> sink) {
+            int offset = 0;
+            while (offset < position) {
+                int length = buffer.getInt(offset);
+                sink.accept(readRecord(offset, length));
+                offset += HEADER_BYTES + length + TRAILER_BYTES;
+            }
+        }
+
+        /** The record at {@code offset}, or null if its checksum does not match. */
+        private JournalEntry readRecord(int offset, int length) {
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + HEADER_BYTES + length)) {
+                return null;
+            }
+            try {
+                return decode(ByteBuffer.wrap(payload));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.banking_api_challenge.ledger;
+
+public enum LedgerMode {
+    /** Every transfer locks and updates the account rows in its own transaction. */
+    DATABASE,
+    /** Balances are held in memory and persisted asynchronously through the write-behind journal. */
+    IN_MEMORY,
+    /**
+     * Like {@link #DATABASE}, but every account opening and transfer also appends immutable ledger entries
+     * that are periodically folded into balance snapshots.
+     */
+    EVENT_SOURCED
+}
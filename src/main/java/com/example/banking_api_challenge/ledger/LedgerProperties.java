@@ -0,0 +1,38 @@
+package com.example.banking_api_challenge.ledger;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.ledger")
+public class LedgerProperties {
+
+    private LedgerMode mode = LedgerMode.DATABASE;
+
+    /** Directory of the write-ahead journal segments every in-memory transfer is written to before it is acknowledged. */
+    private Path journalPath = Path.of("data", "ledger-journal");
+
+    /** Size of each memory-mapped journal segment. Segments are deleted once every entry in them is persisted. */
+    private int journalSegmentBytes = 64 * 1024 * 1024;
+
+    /** Acknowledge a transfer only once its journal entry is forced to storage; concurrent transfers share one force. */
+    private boolean journalSync = true;
+
+    /** How often the write-behind flusher drains the journal queue into the database. */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** Maximum number of journal entries persisted per flush transaction. */
+    private int flushBatchSize = 1000;
+
+    /** Maximum number of acknowledged entries waiting to be flushed before transfers block. */
+    private int queueCapacity = 100_000;
+
+    /** Event-sourced mode: how often accounts with a long tail of entries are re-snapshotted. */
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+
+    /** Event-sourced mode: entries an account may collect past its snapshot before it is due for a new one. */
+    private int snapshotThreshold = 100;
+}
@@ -0,0 +1,120 @@
+package com.example.banking_api_challenge.ledger;
+
+import com.example.banking_api_challenge.model.BalanceSnapshot;
+import com.example.banking_api_challenge.repository.BalanceSnapshotRepository;
+import com.example.banking_api_challenge.repository.LedgerEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Folds the tail of each busy account's ledger entries into its {@link BalanceSnapshot} in the background,
+ * so deriving a balance never reads more than roughly {@code snapshot-threshold} entries however long the
+ * history is.
+ * <p>
+ * Snapshots take no account locks. Entries of one account are appended under its row lock and draw their ids
+ * from the database sequence one at a time rather than from blocks pooled per instance, so across instances the
+ * committed entries visible to the snapshot are a prefix of that account's entries in id order, and an entry
+ * still in flight will get an id above the snapshot's {@code lastEntryId}.
+ */
+@Slf4j
+@Component
+public class LedgerSnapshotter {
+
+    private final EventLedger eventLedger;
+
+    private final LedgerProperties properties;
+
+    private final LedgerEntryRepository entryRepository;
+
+    private final BalanceSnapshotRepository snapshotRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /** One snapshot run at a time, whether scheduled or requested. */
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public LedgerSnapshotter(EventLedger eventLedger, LedgerProperties properties, LedgerEntryRepository entryRepository,
+                             BalanceSnapshotRepository snapshotRepository, PlatformTransactionManager transactionManager) {
+        this.eventLedger = eventLedger;
+        this.properties = properties;
+        this.entryRepository = entryRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Gives accounts created before event-sourced mode was switched on a snapshot of their stored balance, then
+     * catches up on accounts whose tail grew while nothing was counting it, e.g. before a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        if (!eventLedger.isEnabled()) {
+            return;
+        }
+        Integer genesis = transactionTemplate.execute(status -> snapshotRepository.insertGenesisSnapshots(LocalDateTime.now()));
+        int snapshots = snapshotAccounts(entryRepository.findAccountIdsWithTailOf(properties.getSnapshotThreshold()));
+        log.info("Ledger snapshots: {} genesis, {} caught up", genesis, snapshots);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.ledger.snapshot-interval:PT1M}")
+    public void snapshotDueAccounts() {
+        if (eventLedger.isEnabled()) {
+            snapshotAccounts(eventLedger.accountsDueForSnapshot(properties.getSnapshotThreshold()));
+        }
+    }
+
+    /** Snapshots every account with at least one entry past its snapshot and returns how many were taken. */
+    public int snapshotAll() {
+        return snapshotAccounts(entryRepository.findAccountIdsWithTailOf(1));
+    }
+
+    private int snapshotAccounts(List<Long> accountIds) {
+        runLock.lock();
+        try {
+            int taken = 0;
+            for (Long accountId : accountIds) {
+                long folded = snapshot(accountId);
+                eventLedger.snapshotted(accountId, folded);
+                if (folded > 0) {
+                    taken++;
+                }
+            }
+            if (taken > 0) {
+                log.debug("Took {} ledger snapshots", taken);
+            }
+            return taken;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /** Folds the account's current tail into its snapshot and returns how many entries that covered. */
+    long snapshot(Long accountId) {
+        Long folded = transactionTemplate.execute(status -> {
+            BalanceSnapshot snapshot = snapshotRepository.findById(accountId).orElse(null);
+            LedgerTail tail = entryRepository.findTail(accountId, snapshot == null ? 0L : snapshot.getLastEntryId());
+            if (tail.entries() == 0) {
+                return 0L;
+            }
+            if (snapshot == null) {
+                snapshotRepository.save(new BalanceSnapshot(accountId, BigDecimal.ZERO.add(tail.sum()), tail.lastEntryId(), LocalDateTime.now()));
+            } else {
+                snapshot.setBalance(snapshot.getBalance().add(tail.sum()));
+                snapshot.setLastEntryId(tail.lastEntryId());
+                snapshot.setTakenAt(LocalDateTime.now());
+            }
+            return tail.entries();
+        });
+        return folded == null ? 0 : folded;
+    }
+}
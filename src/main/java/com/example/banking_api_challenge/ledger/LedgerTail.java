@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.ledger;
+
+import java.math.BigDecimal;
+
+/** Sum, count and highest id of an account's ledger entries after its snapshot. */
+public record LedgerTail(BigDecimal sum, Long entries, Long lastEntryId) {
+}
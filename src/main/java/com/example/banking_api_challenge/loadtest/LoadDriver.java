@@ -0,0 +1,204 @@
+package com.example.banking_api_challenge.loadtest;
+
+import com.example.banking_api_challenge.repository.AccountRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Embedded open-loop load generator for the REST API, enabled with {@code banking.load.enabled=true}.
+ * <p>
+ * Requests are scheduled at a fixed rate and sent from a bounded client pool; a mix of balance reads,
+ * transfers and history reads picks its accounts with the same {@link ZipfDistribution} skew as the
+ * synthetic dataset. Each latency is taken from the request's scheduled start, so when the server falls
+ * behind the queueing shows up in the percentiles instead of silently lowering the offered rate.
+ */
+@Slf4j
+@Component
+public class LoadDriver {
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final LoadDriverProperties properties;
+
+    private final AccountRepository accountRepository;
+
+    private final Environment environment;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    public LoadDriver(LoadDriverProperties properties, AccountRepository accountRepository, Environment environment) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread driver = new Thread(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.error("Load driver run failed", e);
+            }
+        }, "load-driver");
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    public LoadReport run() {
+        String baseUrl = properties.getBaseUrl() != null ? properties.getBaseUrl()
+                : "http://localhost:" + environment.getRequiredProperty("local.server.port");
+        List<Long> accountIds = accountRepository.findAllIds();
+        if (accountIds.size() < 2) {
+            throw new IllegalStateException("The load driver needs at least two accounts, found " + accountIds.size());
+        }
+        ZipfDistribution accounts = new ZipfDistribution(accountIds.size(), properties.getActivitySkew());
+        SplittableRandom random = new SplittableRandom();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Map<LoadOperation, Timer> latencies = new EnumMap<>(LoadOperation.class);
+        Map<LoadOperation, AtomicLong> errors = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            latencies.put(operation, Timer.builder("banking.load.latency").tag("operation", operation.name())
+                    .publishPercentiles(PERCENTILES).percentilePrecision(2)
+                    // One window spanning the whole run, so no early samples rotate out of the percentiles
+                    .distributionStatisticExpiry(Duration.ofDays(1)).distributionStatisticBufferLength(1)
+                    .register(registry));
+            errors.put(operation, new AtomicLong());
+        }
+
+        long requests = Math.max(1, (long) properties.getTargetRate() * properties.getDuration().toMillis() / 1000);
+        long intervalNanos = 1_000_000_000L / Math.max(1, properties.getTargetRate());
+        log.info("Load driver: {} requests at {}/s against {} over {} accounts", requests, properties.getTargetRate(),
+                baseUrl, accountIds.size());
+
+        ExecutorService clients = Executors.newFixedThreadPool(Math.max(1, properties.getMaxConcurrency()));
+        long start = System.nanoTime();
+        try {
+            for (long i = 0; i < requests; i++) {
+                long scheduled = start + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                LoadOperation operation = pickOperation(random);
+                HttpRequest request = buildRequest(operation, baseUrl, accountIds, accounts, random);
+                clients.execute(() -> {
+                    boolean ok;
+                    try {
+                        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        ok = status >= 200 && status < 300;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    latencies.get(operation).record(System.nanoTime() - scheduled, TimeUnit.NANOSECONDS);
+                    if (!ok) {
+                        errors.get(operation).incrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            clients.shutdown();
+        }
+        try {
+            if (!clients.awaitTermination(properties.getRequestTimeout().toMillis() * 2, TimeUnit.MILLISECONDS)) {
+                clients.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            clients.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        LoadReport report = report(seconds, latencies, errors);
+        log.info("Load driver: {} requests, {} errors, {} req/s achieved of {} targeted", report.requests(), report.errors(),
+                String.format("%.1f", report.throughput()), report.targetRate());
+        for (LoadReport.OperationStats stats : report.operations()) {
+            log.info("  {} {} requests, {} errors, p50 {} ms, p99 {} ms, p999 {} ms, max {} ms", stats.operation(),
+                    stats.requests(), stats.errors(), String.format("%.2f", stats.p50Millis()), String.format("%.2f", stats.p99Millis()),
+                    String.format("%.2f", stats.p999Millis()), String.format("%.2f", stats.maxMillis()));
+        }
+        return report;
+    }
+
+    private LoadReport report(double seconds, Map<LoadOperation, Timer> latencies, Map<LoadOperation, AtomicLong> errors) {
+        List<LoadReport.OperationStats> operations = new ArrayList<>();
+        long total = 0;
+        long failed = 0;
+        for (LoadOperation operation : LoadOperation.values()) {
+            HistogramSnapshot snapshot = latencies.get(operation).takeSnapshot();
+            if (snapshot.count() == 0) {
+                continue;
+            }
+            double[] values = new double[PERCENTILES.length];
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    if (percentile.percentile() == PERCENTILES[i]) {
+                        values[i] = percentile.value(TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+            long operationErrors = errors.get(operation).get();
+            operations.add(new LoadReport.OperationStats(operation, snapshot.count(), operationErrors,
+                    values[0], values[1], values[2], snapshot.max(TimeUnit.MILLISECONDS)));
+            total += snapshot.count();
+            failed += operationErrors;
+        }
+        return new LoadReport(properties.getTargetRate(), seconds, total, failed, total / seconds, operations);
+    }
+
+    private LoadOperation pickOperation(SplittableRandom random) {
+        int balance = Math.max(0, properties.getBalanceWeight());
+        int transfer = Math.max(0, properties.getTransferWeight());
+        int history = Math.max(0, properties.getHistoryWeight());
+        int draw = random.nextInt(Math.max(1, balance + transfer + history));
+        if (draw < balance) {
+            return LoadOperation.BALANCE;
+        }
+        return draw < balance + transfer ? LoadOperation.TRANSFER : LoadOperation.HISTORY;
+    }
+
+    private HttpRequest buildRequest(LoadOperation operation, String baseUrl, List<Long> accountIds,
+                                     ZipfDistribution accounts, SplittableRandom random) {
+        Long account = accountIds.get(accounts.sample(random));
+        HttpRequest.Builder request = switch (operation) {
+            case BALANCE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/" + account + "/balance")).GET();
+            case HISTORY -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/" + account + "/transfers/page?limit=50")).GET();
+            case TRANSFER -> {
+                int to = accounts.sample(random);
+                Long toAccount = accountIds.get(accountIds.get(to).equals(account) ? (to + 1) % accountIds.size() : to);
+                String body = "{\"fromAccountId\":" + account + ",\"toAccountId\":" + toAccount
+                        + ",\"amount\":0.01,\"description\":\"load driver\"}";
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/transfer"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body));
+            }
+        };
+        return request.timeout(properties.getRequestTimeout()).build();
+    }
+}
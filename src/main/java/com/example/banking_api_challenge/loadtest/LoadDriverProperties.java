@@ -0,0 +1,36 @@
+package com.example.banking_api_challenge.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.load")
+public class LoadDriverProperties {
+
+    /** Start a run against this instance's own REST endpoints once the application is ready. */
+    private boolean enabled = false;
+
+    /** Defaults to this instance on its local server port. */
+    private String baseUrl;
+
+    /** Requests started per second, whether or not earlier ones have finished. */
+    private int targetRate = 100;
+
+    private Duration duration = Duration.ofSeconds(60);
+
+    /** Client threads; when all are busy, requests queue and the wait counts towards their latency. */
+    private int maxConcurrency = 64;
+
+    private int balanceWeight = 70;
+
+    private int transferWeight = 20;
+
+    private int historyWeight = 10;
+
+    /** Zipf exponent of which accounts requests target, matching the skew of the synthetic dataset. */
+    private double activitySkew = 1.0;
+
+    private Duration requestTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,10 @@
+package com.example.banking_api_challenge.loadtest;
+
+public enum LoadOperation {
+    /** GET /api/accounts/{id}/balance */
+    BALANCE,
+    /** POST /api/accounts/transfer of 0.01 between two accounts */
+    TRANSFER,
+    /** GET /api/accounts/{id}/transfers/page, the newest 50 */
+    HISTORY
+}
@@ -0,0 +1,15 @@
+package com.example.banking_api_challenge.loadtest;
+
+import java.util.List;
+
+/**
+ * Outcome of one load driver run. Latencies are measured from when a request was scheduled to start,
+ * not from when a client thread got to send it, so time spent queued behind a slow server is included.
+ */
+public record LoadReport(int targetRate, double durationSeconds, long requests, long errors, double throughput,
+                         List<OperationStats> operations) {
+
+    public record OperationStats(LoadOperation operation, long requests, long errors,
+                                 double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.banking_api_challenge.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on a thread between {@link #start} and {@link #stop}, so the
+ * web layer can report statements per request. Costs one thread-local lookup per statement; threads that
+ * are not counting, such as async workers, are left alone.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /** Starts counting on the current thread, from zero. */
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /** Stops counting on the current thread and returns the statements counted since {@link #start}. */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
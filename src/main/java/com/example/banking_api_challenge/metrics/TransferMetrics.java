@@ -0,0 +1,63 @@
+package com.example.banking_api_challenge.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-phase timers for {@code AccountService.transferFunds}, published as {@value #PHASE_TIMER} tagged by phase.
+ * Timers are registered once up front, so recording a phase is a clock read and a lock-free timer update.
+ */
+@Component
+public class TransferMetrics {
+
+    public static final String PHASE_TIMER = "banking.transfer.phase";
+
+    private final Map<TransferPhase, Timer> timers = new EnumMap<>(TransferPhase.class);
+
+    public TransferMetrics(MeterRegistry registry) {
+        for (TransferPhase phase : TransferPhase.values()) {
+            timers.put(phase, Timer.builder(PHASE_TIMER)
+                    .description("Time spent in each phase of a transfer")
+                    .tag("phase", phase.tag())
+                    .register(registry));
+        }
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /** Records the time since {@code startNanos} against the phase and returns now, as the start of the next phase. */
+    public long record(TransferPhase phase, long startNanos) {
+        long now = System.nanoTime();
+        timers.get(phase).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /** Times the flush and commit of the current transaction as {@link TransferPhase#COMMIT}. */
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long startNanos;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                startNanos = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                record(TransferPhase.COMMIT, startNanos);
+            }
+        });
+    }
+}
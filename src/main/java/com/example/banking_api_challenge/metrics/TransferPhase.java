@@ -0,0 +1,23 @@
+package com.example.banking_api_challenge.metrics;
+
+/**
+ * Phases of a single database-mode transfer, in the order they run.
+ */
+public enum TransferPhase {
+    /** Locking and loading both account rows; includes any wait on a contended row lock. */
+    LOAD,
+    /** Funds check. */
+    VALIDATE,
+    /** Applying the debit and credit to the loaded balances. */
+    APPLY,
+    /** Saving both accounts and scheduling cache invalidation. */
+    PERSIST,
+    /** Writing the transfer row and building the response. */
+    RECORD,
+    /** Flushing and committing the transaction. */
+    COMMIT;
+
+    String tag() {
+        return name().toLowerCase();
+    }
+}
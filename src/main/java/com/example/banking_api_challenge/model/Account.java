@@ -11,10 +11,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -26,7 +29,7 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = @Index(name = "idx_accounts_customer_id", columnList = "customer_id"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -34,7 +37,8 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 @NoArgsConstructor
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -53,6 +57,10 @@ public class Account {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    /** Bumped by every balance update; optimistic transfers fail at flush when it moved since they read the row. */
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "fromAccount", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<Transfer> outgoingTransfers;
@@ -0,0 +1,53 @@
+package com.example.banking_api_challenge.model;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One share of a split account's balance. Credits to the account are added to one of its slots instead of
+ * its {@code accounts} row, and the account's balance is the row plus all of its slots.
+ */
+@Entity
+@Table(name = "account_balance_slots")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AccountBalanceSlot implements Persistable<AccountBalanceSlotId> {
+    @EmbeddedId
+    private AccountBalanceSlotId id;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    // Keys are assigned, so tell Spring Data to persist instead of merge (no SELECT before the INSERT)
+    @Transient
+    private boolean newRecord = true;
+
+    public AccountBalanceSlot(AccountBalanceSlotId id, BigDecimal balance) {
+        this.id = id;
+        this.balance = balance;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newRecord = false;
+    }
+}
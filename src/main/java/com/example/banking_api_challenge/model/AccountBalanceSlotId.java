@@ -0,0 +1,21 @@
+package com.example.banking_api_challenge.model;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountBalanceSlotId implements Serializable {
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "slot")
+    private int slot;
+}
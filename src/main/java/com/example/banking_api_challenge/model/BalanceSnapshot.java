@@ -0,0 +1,37 @@
+package com.example.banking_api_challenge.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Latest folded balance of an account: the sum of its ledger entries up to and including {@code lastEntryId}.
+ * The current balance is this plus the entries after it.
+ */
+@Entity
+@Table(name = "balance_snapshots")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceSnapshot {
+    @Id
+    private Long accountId;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    @Column(nullable = false)
+    private Long lastEntryId;
+
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,71 @@
+package com.example.banking_api_challenge.model;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One account's activity on one day: the balance before its first transfer and after its last, and the
+ * totals in between. Only days with transfers have a row; {@code closingBalance} carries over unchanged
+ * to every day until the next row. Written in the transaction of the transfers it covers.
+ */
+@Entity
+@Table(name = "daily_balances")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyBalance implements Persistable<DailyBalanceId> {
+    @EmbeddedId
+    private DailyBalanceId id;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal openingBalance;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal debits;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal credits;
+
+    @Column(nullable = false)
+    private long transferCount;
+
+    // Keys are assigned, so tell Spring Data to persist instead of merge (no SELECT before the INSERT)
+    @Transient
+    private boolean newRecord = true;
+
+    public DailyBalance(DailyBalanceId id, BigDecimal openingBalance, BigDecimal closingBalance, BigDecimal debits,
+                        BigDecimal credits, long transferCount) {
+        this.id = id;
+        this.openingBalance = openingBalance;
+        this.closingBalance = closingBalance;
+        this.debits = debits;
+        this.credits = credits;
+        this.transferCount = transferCount;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newRecord = false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.banking_api_challenge.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyBalanceId implements Serializable {
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "balance_day")
+    private LocalDate day;
+}
@@ -0,0 +1,33 @@
+package com.example.banking_api_challenge.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Highest ledger journal sequence whose effects are committed to the accounts and transfers tables.
+ * Updated in the same transaction as the flushed entries, so replay after a crash never applies an entry twice.
+ */
+@Entity
+@Table(name = "ledger_checkpoints")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerCheckpoint {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long lastSequence;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,64 @@
+package com.example.banking_api_challenge.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One immutable balance movement, written only in event-sourced ledger mode. {@code amount} is signed:
+ * negative for debits. Entries of an account are only appended while its row lock is held, so their ids
+ * increase in commit order per account and a snapshot can safely cover everything up to the highest id it saw.
+ * That needs each id drawn from the database sequence at append time: with pooled ids another instance could
+ * append a lower id from a block it reserved earlier, after a snapshot already covered a higher one.
+ */
+@Entity
+@Immutable
+@Table(name = "ledger_entries", indexes = @Index(name = "idx_ledger_entries_account_id", columnList = "account_id, id"))
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LedgerEntry {
+
+    public enum Type {
+        OPENING,
+        DEBIT,
+        CREDIT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entry_seq")
+    @SequenceGenerator(name = "ledger_entry_seq", sequenceName = "ledger_entry_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    private Long transferId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
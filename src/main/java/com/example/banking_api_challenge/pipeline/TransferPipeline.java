@@ -0,0 +1,251 @@
+package com.example.banking_api_challenge.pipeline;
+
+import com.example.banking_api_challenge.DTO.AsyncTransferStatus;
+import com.example.banking_api_challenge.DTO.BatchTransferItemResult;
+import com.example.banking_api_challenge.DTO.BatchTransferMode;
+import com.example.banking_api_challenge.DTO.BatchTransferRequest;
+import com.example.banking_api_challenge.DTO.BatchTransferResponse;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.exception.TransferQueueFullException;
+import com.example.banking_api_challenge.exception.TransferSubmissionNotFoundException;
+import com.example.banking_api_challenge.service.AccountService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts transfers for asynchronous execution and applies them in micro-batches.
+ * <p>
+ * Submissions are routed to a bounded queue by source account id, so every transfer out of one account is
+ * applied in submission order by the same worker. Each worker drains up to {@code batchSize} queued
+ * submissions and applies them in one {@link AccountService#transferFundsBatch} transaction in
+ * {@link BatchTransferMode#BEST_EFFORT} mode. A full queue rejects the submission instead of blocking
+ * the caller.
+ * <p>
+ * A submission stays in a bounded in-flight map until it finishes, so its status can always be polled, and
+ * only then moves to a size- and time-bounded cache of finished ones.
+ */
+@Slf4j
+@Component
+public class TransferPipeline {
+
+    private final AccountService accountService;
+
+    private final TransferPipelineProperties properties;
+
+    private final List<BlockingQueue<TransferSubmission>> partitions = new ArrayList<>();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    /** Queued and in-progress submissions, which must stay pollable until they finish. */
+    private final Map<String, TransferSubmission> inFlight = new ConcurrentHashMap<>();
+
+    private final Semaphore trackingSlots;
+
+    /** Finished submissions, kept for polling until they expire or are evicted. */
+    private final Cache<String, TransferSubmission> finished;
+
+    private final Timer batchTimer;
+
+    private final Counter rejected;
+
+    private volatile boolean stopping;
+
+    public TransferPipeline(AccountService accountService, TransferPipelineProperties properties, MeterRegistry registry) {
+        this.accountService = accountService;
+        this.properties = properties;
+        if (properties.getMaxTrackedSubmissions() < properties.getPartitions() * properties.getQueueCapacity()) {
+            throw new IllegalArgumentException("banking.pipeline.max-tracked-submissions must be at least partitions * queue-capacity ("
+                    + properties.getPartitions() * properties.getQueueCapacity() + "), was " + properties.getMaxTrackedSubmissions());
+        }
+        this.trackingSlots = new Semaphore(properties.getMaxTrackedSubmissions());
+        this.finished = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedSubmissions())
+                .expireAfterWrite(properties.getStatusRetention())
+                .build();
+        for (int i = 0; i < properties.getPartitions(); i++) {
+            partitions.add(new ArrayBlockingQueue<>(properties.getQueueCapacity()));
+        }
+
+        Gauge.builder("banking.pipeline.queue.depth", partitions, queues -> queues.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Transfers waiting in the asynchronous pipeline")
+                .register(registry);
+        for (int i = 0; i < partitions.size(); i++) {
+            BlockingQueue<TransferSubmission> queue = partitions.get(i);
+            String partition = String.valueOf(i);
+            Gauge.builder("banking.pipeline.partition.depth", queue, BlockingQueue::size)
+                    .description("Transfers waiting in one pipeline partition")
+                    .tag("partition", partition)
+                    .register(registry);
+            Gauge.builder("banking.pipeline.partition.lag", queue, TransferPipeline::lagSeconds)
+                    .description("Age of the oldest transfer waiting in one pipeline partition")
+                    .tag("partition", partition)
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+        this.batchTimer = Timer.builder("banking.pipeline.batch")
+                .description("Time to apply one micro-batch")
+                .register(registry);
+        this.rejected = Counter.builder("banking.pipeline.rejected")
+                .description("Submissions rejected because their partition or the submission tracking was full")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < partitions.size(); i++) {
+            BlockingQueue<TransferSubmission> queue = partitions.get(i);
+            Thread worker = new Thread(() -> drain(queue), "transfer-pipeline-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        stopping = true;
+        // Workers finish what is already queued before they exit
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public AsyncTransferStatus submit(TransferRequest request) {
+        if (stopping) {
+            throw new TransferQueueFullException("Transfer pipeline is shutting down");
+        }
+        if (!trackingSlots.tryAcquire()) {
+            rejected.increment();
+            throw new TransferQueueFullException("Too many transfers in flight, retry later");
+        }
+        TransferSubmission submission = new TransferSubmission(UUID.randomUUID().toString(), request);
+        inFlight.put(submission.getId(), submission);
+        if (!partitionFor(request.getFromAccountId()).offer(submission)) {
+            inFlight.remove(submission.getId());
+            trackingSlots.release();
+            rejected.increment();
+            throw new TransferQueueFullException("Transfer queue is full for account " + request.getFromAccountId() + ", retry later");
+        }
+        // Cached before it leaves the in-flight map, so a poll in between still finds it
+        submission.getOutcome().thenRun(() -> {
+            finished.put(submission.getId(), submission);
+            inFlight.remove(submission.getId());
+            trackingSlots.release();
+        });
+        return submission.status();
+    }
+
+    public AsyncTransferStatus getStatus(String submissionId) {
+        return find(submissionId).status();
+    }
+
+    /**
+     * Completes with the final status as soon as the transfer is applied, or with the pending status once
+     * {@code wait} elapses. No thread is held while waiting.
+     */
+    public CompletableFuture<AsyncTransferStatus> awaitStatus(String submissionId, Duration wait) {
+        TransferSubmission submission = find(submissionId);
+        long waitMillis = Math.min(Math.max(wait.toMillis(), 0), properties.getMaxWait().toMillis());
+        if (waitMillis == 0 || submission.getOutcome().isDone()) {
+            return CompletableFuture.completedFuture(submission.status());
+        }
+        // A copy, so the timeout completes only this caller's view and never the submission itself
+        return submission.getOutcome().copy()
+                .completeOnTimeout(submission.status(), waitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private TransferSubmission find(String submissionId) {
+        TransferSubmission submission = inFlight.get(submissionId);
+        if (submission == null) {
+            submission = finished.getIfPresent(submissionId);
+        }
+        if (submission == null) {
+            throw new TransferSubmissionNotFoundException("Transfer submission not found with ID: " + submissionId);
+        }
+        return submission;
+    }
+
+    private BlockingQueue<TransferSubmission> partitionFor(Long accountId) {
+        return partitions.get(Math.floorMod(accountId.hashCode(), partitions.size()));
+    }
+
+    private void drain(BlockingQueue<TransferSubmission> queue) {
+        List<TransferSubmission> batch = new ArrayList<>(properties.getBatchSize());
+        while (!stopping || !queue.isEmpty()) {
+            try {
+                TransferSubmission first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                batchTimer.record(() -> apply(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void apply(List<TransferSubmission> batch) {
+        List<TransferRequest> requests = batch.stream().map(TransferSubmission::getRequest).toList();
+        BatchTransferResponse response;
+        try {
+            response = accountService.transferFundsBatch(new BatchTransferRequest(requests, BatchTransferMode.BEST_EFFORT));
+        } catch (RuntimeException e) {
+            if (!accountService.isBatchAtomic()) {
+                // Some items may already be applied, so retrying them could apply them twice
+                log.error("Pipeline batch of {} failed and may be partly applied, failing it: {}", batch.size(), e.getMessage());
+                batch.forEach(submission -> submission.fail(e.getMessage()));
+                return;
+            }
+            // The whole batch rolled back; apply one by one so a single bad transfer cannot fail the others
+            log.warn("Pipeline batch of {} failed, retrying individually: {}", batch.size(), e.getMessage());
+            batch.forEach(this::applySingle);
+            return;
+        }
+        for (BatchTransferItemResult result : response.getResults()) {
+            TransferSubmission submission = batch.get(result.getIndex());
+            if (result.getStatus() == BatchTransferItemResult.Status.COMPLETED) {
+                submission.complete(result.getTransfer());
+            } else {
+                submission.fail(result.getError());
+            }
+        }
+    }
+
+    private void applySingle(TransferSubmission submission) {
+        try {
+            submission.complete(accountService.transferFunds(submission.getRequest()));
+        } catch (RuntimeException e) {
+            submission.fail(e.getMessage());
+        }
+    }
+
+    private static double lagSeconds(BlockingQueue<TransferSubmission> queue) {
+        TransferSubmission oldest = queue.peek();
+        return oldest == null ? 0 : (System.nanoTime() - oldest.getEnqueuedNanos()) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.banking_api_challenge.pipeline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.pipeline")
+public class TransferPipelineProperties {
+
+    /** Number of partitions; a source account always maps to the same one, which keeps its transfers in order. */
+    private int partitions = 4;
+
+    /** Queued submissions per partition before new ones are rejected with 503. */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Submissions tracked while queued or being applied, at least {@code partitions * queue-capacity}; past it new ones
+     * are rejected with 503. Also caps the finished ones kept for polling, which may be dropped before their retention.
+     */
+    private int maxTrackedSubmissions = 100_000;
+
+    /** Maximum transfers applied per micro-batch transaction. */
+    private int batchSize = 200;
+
+    /** How long a finished submission's status can still be polled. */
+    private Duration statusRetention = Duration.ofMinutes(10);
+
+    /** Upper bound for a single long-poll wait. */
+    private Duration maxWait = Duration.ofSeconds(30);
+}
@@ -0,0 +1,44 @@
+package com.example.banking_api_challenge.pipeline;
+
+import com.example.banking_api_challenge.DTO.AsyncTransferStatus;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One accepted asynchronous transfer and its eventual outcome.
+ */
+@Getter
+class TransferSubmission {
+
+    private final String id;
+
+    private final TransferRequest request;
+
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    /** Monotonic enqueue time, used for partition lag. */
+    private final long enqueuedNanos = System.nanoTime();
+
+    private final CompletableFuture<AsyncTransferStatus> outcome = new CompletableFuture<>();
+
+    TransferSubmission(String id, TransferRequest request) {
+        this.id = id;
+        this.request = request;
+    }
+
+    void complete(TransferResponse transfer) {
+        outcome.complete(new AsyncTransferStatus(id, AsyncTransferStatus.Status.COMPLETED, transfer, null, submittedAt, LocalDateTime.now()));
+    }
+
+    void fail(String error) {
+        outcome.complete(new AsyncTransferStatus(id, AsyncTransferStatus.Status.FAILED, null, error, submittedAt, LocalDateTime.now()));
+    }
+
+    AsyncTransferStatus status() {
+        return outcome.getNow(new AsyncTransferStatus(id, AsyncTransferStatus.Status.PENDING, null, null, submittedAt, null));
+    }
+}
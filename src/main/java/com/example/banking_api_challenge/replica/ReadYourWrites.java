@@ -0,0 +1,58 @@
+package com.example.banking_api_challenge.replica;
+
+import com.example.banking_api_challenge.config.ClientId;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Remembers when each client last sent a write request, so its reads can stay on the primary until the replica's
+ * watermark has passed that time. Entries are dropped after {@code max-staleness}: by then the replica either
+ * has the write or is too stale to be read from at all.
+ * <p>
+ * Only requests handled on the servlet thread are covered; streamed exports run later on another thread and
+ * read wherever the replica's lag allows.
+ */
+public class ReadYourWrites implements HandlerInterceptor {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private static final ThreadLocal<Long> CLIENT_LAST_WRITE = new ThreadLocal<>();
+
+    private final Cache<String, Long> lastWrites;
+
+    public ReadYourWrites(ReplicaProperties properties) {
+        this.lastWrites = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(properties.getMaxStaleness())
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long lastWrite = lastWrites.getIfPresent(ClientId.of(request));
+        if (lastWrite != null) {
+            CLIENT_LAST_WRITE.set(lastWrite);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        CLIENT_LAST_WRITE.remove();
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            // After the handler returned, so after its transaction committed
+            lastWrites.put(ClientId.of(request), System.currentTimeMillis());
+        }
+    }
+
+    /** Whether the client of the current request wrote something a replica at {@code watermarkMillis} may not have yet. */
+    boolean needsPrimary(long watermarkMillis) {
+        Long lastWrite = CLIENT_LAST_WRITE.get();
+        return lastWrite != null && lastWrite > watermarkMillis;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.banking_api_challenge.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * With {@code banking.replica.enabled=true}, replaces the auto-configured datasource with a
+ * {@link ReplicaRoutingDataSource} over the {@code spring.datasource} pool and a replica pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "banking.replica", name = "enabled", havingValue = "true")
+public class ReplicaConfig implements WebMvcConfigurer {
+
+    private final ReplicaProperties properties;
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaConfig(ReplicaProperties properties) {
+        this.properties = properties;
+        this.readYourWrites = properties.isReadYourWrites() ? new ReadYourWrites(properties) : null;
+    }
+
+    @Bean
+    public ReplicaDataSources replicaDataSources(DataSourceProperties dataSourceProperties, Environment environment,
+                                                 MeterRegistry registry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(properties.getUrl()).username(properties.getUsername()).password(properties.getPassword())
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(properties.getPoolSize());
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(registry);
+        primary.setMetricsTrackerFactory(metrics);
+        replica.setMetricsTrackerFactory(metrics);
+        return new ReplicaDataSources(primary, replica);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaDataSources dataSources, MeterRegistry registry) {
+        return new ReplicaLagMonitor(dataSources, properties, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaDataSources dataSources, ReplicaLagMonitor lagMonitor, MeterRegistry registry) {
+        return new ReplicaRoutingDataSource(dataSources, lagMonitor, readYourWrites, registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "banking.replica", name = "simulate", havingValue = "true")
+    public SimulatedReplication simulatedReplication(ReplicaDataSources dataSources) {
+        return new SimulatedReplication(dataSources, properties);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        if (readYourWrites != null) {
+            interceptors.addInterceptor(readYourWrites).addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.banking_api_challenge.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The primary and replica connection pools behind {@link ReplicaRoutingDataSource}. Kept out of the context as
+ * {@code DataSource} beans so that only the routing datasource is injected and wrapped.
+ */
+public record ReplicaDataSources(HikariDataSource primary, HikariDataSource replica) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
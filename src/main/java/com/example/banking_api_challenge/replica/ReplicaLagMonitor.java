@@ -0,0 +1,70 @@
+package com.example.banking_api_challenge.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Measures how far the replica is behind by writing the time to a heartbeat row on the primary and reading the
+ * row back from the replica. The time read back is the replica's watermark: every transaction the primary
+ * committed before it is on the replica, whatever the replication mechanism, as long as it applies commits in
+ * order. If the replica cannot be read the watermark stops moving, so reads fall back to the primary once it
+ * is older than {@code max-staleness}.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String HEARTBEAT_TABLE = "replica_heartbeat";
+
+    private final JdbcTemplate primary;
+
+    private final JdbcTemplate replica;
+
+    private final long maxStalenessMillis;
+
+    private volatile long watermarkMillis;
+
+    public ReplicaLagMonitor(ReplicaDataSources dataSources, ReplicaProperties properties, MeterRegistry registry) {
+        this.primary = new JdbcTemplate(dataSources.primary());
+        this.replica = new JdbcTemplate(dataSources.replica());
+        this.maxStalenessMillis = properties.getMaxStaleness().toMillis();
+        primary.execute("CREATE TABLE IF NOT EXISTS " + HEARTBEAT_TABLE + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        Gauge.builder("banking.replica.lag", this, monitor -> monitor.lagMillis() / 1000.0)
+                .description("How far the replica is known to be behind the primary")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.replica.heartbeat-interval:PT0.25S}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        if (primary.update("UPDATE " + HEARTBEAT_TABLE + " SET beat_at = ? WHERE id = 1", now) == 0) {
+            primary.update("INSERT INTO " + HEARTBEAT_TABLE + " (id, beat_at) VALUES (1, ?)", now);
+        }
+        try {
+            Long seen = replica.query("SELECT beat_at FROM " + HEARTBEAT_TABLE + " WHERE id = 1",
+                    rs -> rs.next() ? rs.getLong(1) : null);
+            if (seen != null && seen > watermarkMillis) {
+                watermarkMillis = seen;
+            }
+        } catch (DataAccessException ex) {
+            log.debug("Replica heartbeat not readable: {}", ex.getMessage());
+        }
+    }
+
+    /** Primary time up to which the replica is known to have every commit, 0 before the first heartbeat comes back. */
+    public long watermarkMillis() {
+        return watermarkMillis;
+    }
+
+    public boolean isFresh(long watermarkMillis) {
+        return System.currentTimeMillis() - watermarkMillis <= maxStalenessMillis;
+    }
+
+    private long lagMillis() {
+        return System.currentTimeMillis() - watermarkMillis;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.banking_api_challenge.replica;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.replica")
+public class ReplicaProperties {
+
+    /** Routes read-only transactions to the replica; off means a single datasource as before. */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username = "sa";
+
+    private String password = "";
+
+    private int poolSize = 20;
+
+    /** How far behind the primary the replica may be and still serve reads; beyond it all reads go to the primary. */
+    private Duration maxStaleness = Duration.ofSeconds(2);
+
+    /** How often the heartbeat is written to the primary and read back from the replica to measure lag. */
+    private Duration heartbeatInterval = Duration.ofMillis(250);
+
+    /** Keeps a client's reads on the primary until the replica has caught up with that client's last write. */
+    private boolean readYourWrites = true;
+
+    /** Copies the primary into the replica in-process, for running against two embedded H2 databases. */
+    private boolean simulate = false;
+
+    /** How often the simulated replication snapshots the primary. */
+    private Duration replicationInterval = Duration.ofMillis(500);
+
+    /** How long a simulated snapshot takes to reach the replica. */
+    private Duration replicationDelay = Duration.ofSeconds(1);
+}
@@ -0,0 +1,82 @@
+package com.example.banking_api_challenge.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the replica and everything else to the primary.
+ * <p>
+ * The decision is made when a transaction fetches its first physical connection, which
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} (see {@code DataSourceConfig})
+ * defers to the first statement, after the transaction has been marked read-only. A read-only transaction still
+ * goes to the primary when the replica's watermark is older than {@code max-staleness}, or when the calling
+ * client has written since the watermark.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String READS_COUNTER = "banking.replica.reads";
+
+    private static final ThreadLocal<Long> TRANSACTION_WATERMARK = new ThreadLocal<>();
+
+    private enum Target {PRIMARY, REPLICA}
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final ReadYourWrites readYourWrites;
+
+    private final Counter primaryReads;
+
+    private final Counter replicaReads;
+
+    public ReplicaRoutingDataSource(ReplicaDataSources dataSources, ReplicaLagMonitor lagMonitor,
+                                    ReadYourWrites readYourWrites, MeterRegistry registry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.primaryReads = readsCounter(registry, "primary");
+        this.replicaReads = readsCounter(registry, "replica");
+        setTargetDataSources(Map.of(Target.PRIMARY, dataSources.primary(), Target.REPLICA, dataSources.replica()));
+        setDefaultTargetDataSource(dataSources.primary());
+    }
+
+    /**
+     * The watermark of the replica the current transaction reads from, or {@link Long#MAX_VALUE} if it reads from
+     * the primary: data read now may lack commits made after this time.
+     */
+    public static long readWatermark() {
+        Long watermark = TRANSACTION_WATERMARK.get();
+        return watermark == null ? Long.MAX_VALUE : watermark;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        long watermark = lagMonitor.watermarkMillis();
+        if (!lagMonitor.isFresh(watermark) || (readYourWrites != null && readYourWrites.needsPrimary(watermark))) {
+            primaryReads.increment();
+            return Target.PRIMARY;
+        }
+        TRANSACTION_WATERMARK.set(watermark);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TRANSACTION_WATERMARK.remove();
+            }
+        });
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter readsCounter(MeterRegistry registry, String target) {
+        return Counter.builder(READS_COUNTER)
+                .description("Read-only transactions by the datasource they were routed to")
+                .tag("target", target)
+                .register(registry);
+    }
+}
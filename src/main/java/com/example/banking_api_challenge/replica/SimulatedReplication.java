@@ -0,0 +1,211 @@
+package com.example.banking_api_challenge.replica;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stands in for database replication when primary and replica are two embedded H2 databases. Every
+ * {@code replication-interval} it reads all tables of the primary in one snapshot transaction and, after
+ * {@code replication-delay}, replaces the replica's rows with them in one transaction, so the replica always
+ * shows some earlier committed state of the primary, the heartbeat row included. Tables created on the primary
+ * later, such as the monthly transfer archive tables, are created on the replica by the first copy that has them.
+ * <p>
+ * Each cycle copies every row, which is fine for local testing and far too slow for a large dataset.
+ */
+@Slf4j
+public class SimulatedReplication {
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final ReplicaProperties properties;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-simulator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Tables on the replica or in a copy on its way there; only touched by the replication thread once started. */
+    private final Set<String> tables = new LinkedHashSet<>();
+
+    public SimulatedReplication(ReplicaDataSources dataSources, ReplicaProperties properties) {
+        this.primary = dataSources.primary();
+        this.replica = dataSources.replica();
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws SQLException {
+        List<String> copied = copySchema();
+        tables.addAll(copied);
+        long interval = properties.getReplicationInterval().toMillis();
+        executor.scheduleAtFixedRate(this::replicate, 0, interval, TimeUnit.MILLISECONDS);
+        log.info("Simulating replication of {} tables every {} ms with {} ms delay", copied.size(), interval,
+                properties.getReplicationDelay().toMillis());
+    }
+
+    /** Copies the primary into the replica now, without the delay, after any copies already due. */
+    public void replicateNow() throws InterruptedException, ExecutionException {
+        executor.submit(() -> {
+            apply(snapshot());
+            return null;
+        }).get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void replicate() {
+        try {
+            Snapshot snapshot = snapshot();
+            executor.schedule(() -> {
+                try {
+                    apply(snapshot);
+                } catch (SQLException ex) {
+                    log.warn("Simulated replication failed to apply a snapshot: {}", ex.getMessage());
+                }
+            }, properties.getReplicationDelay().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (SQLException ex) {
+            log.warn("Simulated replication failed to snapshot the primary: {}", ex.getMessage());
+        }
+    }
+
+    private List<String> copySchema() throws SQLException {
+        List<String> script = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (Connection con = primary.getConnection(); Statement statement = con.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SCRIPT NODATA")) {
+                while (rs.next()) {
+                    script.add(rs.getString(1));
+                }
+            }
+            names.addAll(tableNames(con));
+        }
+        try (Connection con = replica.getConnection(); Statement statement = con.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+            // Tables are replaced one by one inside a transaction, so constraints would only get in the way
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+        return names;
+    }
+
+    private Snapshot snapshot() throws SQLException {
+        List<String> schema = new ArrayList<>();
+        List<TableRows> snapshot = new ArrayList<>(tables.size());
+        try (Connection con = primary.getConnection()) {
+            con.setAutoCommit(false);
+            con.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (Statement statement = con.createStatement()) {
+                for (String table : tableNames(con)) {
+                    // Copies are applied in order, so the first one carrying a new table creates it for the later ones
+                    if (tables.add(table)) {
+                        try (ResultSet rs = statement.executeQuery("SCRIPT NODATA TABLE " + quote(table))) {
+                            while (rs.next()) {
+                                // The script also recreates the user and every sequence, which the replica already has
+                                String sql = rs.getString(1);
+                                if (sql.contains(quote(table))) {
+                                    schema.add(sql);
+                                }
+                            }
+                        }
+                    }
+                    try (ResultSet rs = statement.executeQuery("SELECT * FROM " + quote(table))) {
+                        int columns = rs.getMetaData().getColumnCount();
+                        List<Object[]> rows = new ArrayList<>();
+                        while (rs.next()) {
+                            Object[] row = new Object[columns];
+                            for (int i = 0; i < columns; i++) {
+                                row[i] = rs.getObject(i + 1);
+                            }
+                            rows.add(row);
+                        }
+                        snapshot.add(new TableRows(table, columns, rows));
+                    }
+                }
+            } finally {
+                con.rollback();
+            }
+        }
+        return new Snapshot(schema, snapshot);
+    }
+
+    private void apply(Snapshot snapshot) throws SQLException {
+        try (Connection con = replica.getConnection()) {
+            try (Statement statement = con.createStatement()) {
+                for (String sql : snapshot.schema()) {
+                    statement.execute(sql);
+                }
+            }
+            con.setAutoCommit(false);
+            try (Statement statement = con.createStatement()) {
+                for (TableRows table : snapshot.tables()) {
+                    statement.executeUpdate("DELETE FROM " + quote(table.name()));
+                    if (table.rows().isEmpty()) {
+                        continue;
+                    }
+                    String placeholders = String.join(", ", Collections.nCopies(table.columns(), "?"));
+                    try (PreparedStatement insert = con.prepareStatement("INSERT INTO " + quote(table.name()) + " VALUES (" + placeholders + ")")) {
+                        for (Object[] row : table.rows()) {
+                            for (int i = 0; i < row.length; i++) {
+                                insert.setObject(i + 1, row[i]);
+                            }
+                            insert.addBatch();
+                        }
+                        insert.executeBatch();
+                    }
+                }
+                con.commit();
+            } catch (SQLException ex) {
+                con.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    private static List<String> tableNames(Connection con) throws SQLException {
+        List<String> names = new ArrayList<>();
+        DatabaseMetaData metaData = con.getMetaData();
+        try (ResultSet rs = metaData.getTables(null, "PUBLIC", "%", new String[]{"TABLE"})) {
+            while (rs.next()) {
+                names.add(rs.getString("TABLE_NAME"));
+            }
+        }
+        return names;
+    }
+
+    private static String quote(String table) {
+        return '"' + table + '"';
+    }
+
+    private record TableRows(String name, int columns, List<Object[]> rows) {
+    }
+
+    private record Snapshot(List<String> schema, List<TableRows> tables) {
+    }
+}
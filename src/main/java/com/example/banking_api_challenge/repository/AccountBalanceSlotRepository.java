@@ -0,0 +1,37 @@
+package com.example.banking_api_challenge.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.banking_api_challenge.model.AccountBalanceSlot;
+import com.example.banking_api_challenge.model.AccountBalanceSlotId;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, AccountBalanceSlotId> {
+
+    /** Adds to one slot in place; the row lock it takes is the only one a split credit holds on the account. */
+    @Modifying
+    @Query("UPDATE AccountBalanceSlot s SET s.balance = s.balance + :amount WHERE s.id.accountId = :accountId AND s.id.slot = :slot")
+    int credit(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    /** Locks every slot of the account in slot order, after the caller has locked the account row. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceSlot s WHERE s.id.accountId = :accountId ORDER BY s.id.slot")
+    List<AccountBalanceSlot> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    @Query("SELECT DISTINCT s.id.accountId FROM AccountBalanceSlot s")
+    Set<Long> findSplitAccountIds();
+
+    @Query("SELECT s.id.accountId, COUNT(s) FROM AccountBalanceSlot s GROUP BY s.id.accountId")
+    List<Object[]> countSlotsByAccount();
+}
@@ -1,10 +1,73 @@
 package com.example.banking_api_challenge.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.example.banking_api_challenge.DTO.AccountResponse;
 import com.example.banking_api_challenge.model.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
+    /** The account's balance slots, zero for an account that is not split; a range scan on their primary key. */
+    String SLOT_TOTAL = "(SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceSlot s WHERE s.id.accountId = a.id)";
+
+    /**
+     * Builds the balance response in a single join, without hydrating or snapshotting the entities.
+     * The row and its balance slots are read by the same statement, so a split credit is seen entirely or not at all.
+     */
+    @Query("SELECT new com.example.banking_api_challenge.DTO.AccountResponse("
+            + "a.id, a.accountNumber, a.balance + " + SLOT_TOTAL + ", c.id, c.name, a.createdAt) "
+            + "FROM Account a JOIN a.customer c WHERE a.id = :id")
+    Optional<AccountResponse> findAccountResponseById(@Param("id") Long id);
+
+    /**
+     * Balance after every transfer with a timestamp at or before {@code at}: the current balance, slots included,
+     * with the later transfers undone. One statement, so no transfer can commit between the parts.
+     */
+    @Query("SELECT a.balance + " + SLOT_TOTAL
+            + " - (SELECT COALESCE(SUM(t.amount), 0) FROM Transfer t WHERE t.toAccount.id = a.id AND t.timestamp > :at)"
+            + " + (SELECT COALESCE(SUM(t.amount), 0) FROM Transfer t WHERE t.fromAccount.id = a.id AND t.timestamp > :at)"
+            + " FROM Account a WHERE a.id = :id")
+    Optional<BigDecimal> findBalanceAt(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    /**
+     * Loads the account and takes a row-level write lock (SELECT ... FOR UPDATE) held until commit.
+     * Callers locking more than one account must acquire them in ascending id order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Bulk variant of {@link #findByIdForUpdate}: one statement that locks every listed row,
+     * visiting them in ascending id order like the single-transfer path.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.id FROM Account a ORDER BY a.id")
+    List<Long> findAllIds();
+
+    /**
+     * Highest account number with the given prefix and length; numbers of one width sort numerically as text.
+     * The length keeps shorter legacy numbers that share the prefix, such as {@code ACC-100F3A2B}, out of the max.
+     */
+    @Query("SELECT MAX(a.accountNumber) FROM Account a WHERE a.accountNumber LIKE CONCAT(:prefix, '%') AND LENGTH(a.accountNumber) = :length")
+    String findMaxAccountNumberStartingWith(@Param("prefix") String prefix, @Param("length") int length);
+
+    @Modifying
+    @Query("UPDATE VERSIONED Account a SET a.balance = a.balance + :delta WHERE a.id = :id")
+    int adjustBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
 }
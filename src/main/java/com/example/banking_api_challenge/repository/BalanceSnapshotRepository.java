@@ -0,0 +1,26 @@
+package com.example.banking_api_challenge.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.banking_api_challenge.model.BalanceSnapshot;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    /**
+     * Snapshots the stored balance of every account that has neither a snapshot nor ledger entries,
+     * i.e. accounts created before event-sourced mode was switched on.
+     */
+    @Modifying
+    @Query("INSERT INTO BalanceSnapshot (accountId, balance, lastEntryId, takenAt) "
+            + "SELECT a.id, a.balance, 0L, :now FROM Account a "
+            + "WHERE NOT EXISTS (SELECT 1 FROM BalanceSnapshot s WHERE s.accountId = a.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM LedgerEntry e WHERE e.accountId = a.id)")
+    int insertGenesisSnapshots(@Param("now") LocalDateTime now);
+}
@@ -1,11 +1,47 @@
 package com.example.banking_api_challenge.repository;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.banking_api_challenge.DTO.CustomerResponse;
 import com.example.banking_api_challenge.model.Customer;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    String CUSTOMER_RESPONSE = "SELECT new com.example.banking_api_challenge.DTO.CustomerResponse(c.id, c.name) FROM Customer c";
+
+    /**
+     * Account count and total balance per customer in the same statement as the page itself: one grouped
+     * left join, so customers without accounts are listed with zero and nothing is lazily loaded. Balance
+     * slots of split accounts are added by a subquery rather than joined, which would repeat the account rows.
+     */
+    String CUSTOMER_SUMMARY = "SELECT new com.example.banking_api_challenge.DTO.CustomerResponse("
+            + "c.id, c.name, count(a.id), coalesce(sum(a.balance), 0) + (SELECT coalesce(sum(s.balance), 0) "
+            + "FROM AccountBalanceSlot s, Account sa WHERE sa.id = s.id.accountId AND sa.customer.id = c.id)) "
+            + "FROM Customer c LEFT JOIN c.accounts a";
+
+    @Query(value = CUSTOMER_RESPONSE, countQuery = "SELECT count(c) FROM Customer c")
+    Page<CustomerResponse> findCustomerResponses(Pageable pageable);
+
+    @Query(value = CUSTOMER_SUMMARY + " GROUP BY c.id, c.name", countQuery = "SELECT count(c) FROM Customer c")
+    Page<CustomerResponse> findCustomerSummaries(Pageable pageable);
+
+    @Query(CUSTOMER_RESPONSE + " WHERE c.id = :id")
+    Optional<CustomerResponse> findCustomerResponseById(@Param("id") Long id);
+
+    @Query(CUSTOMER_SUMMARY + " WHERE c.id = :id GROUP BY c.id, c.name")
+    Optional<CustomerResponse> findCustomerSummaryById(@Param("id") Long id);
+
+    /** Which of the given ids exist, in one statement; used to validate a whole import chunk at once. */
+    @Query("SELECT c.id FROM Customer c WHERE c.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,39 @@
+package com.example.banking_api_challenge.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.banking_api_challenge.model.DailyBalance;
+import com.example.banking_api_challenge.model.DailyBalanceId;
+
+@Repository
+public interface DailyBalanceRepository extends JpaRepository<DailyBalance, DailyBalanceId> {
+
+    // All lookups are range scans on the (account_id, balance_day) primary key
+
+    @Query("SELECT d FROM DailyBalance d WHERE d.id.accountId = :accountId AND d.id.day <= :day ORDER BY d.id.day DESC")
+    List<DailyBalance> findLatestOnOrBefore(@Param("accountId") Long accountId, @Param("day") LocalDate day, Limit limit);
+
+    @Query("SELECT d FROM DailyBalance d WHERE d.id.accountId = :accountId AND d.id.day > :day ORDER BY d.id.day")
+    List<DailyBalance> findEarliestAfter(@Param("accountId") Long accountId, @Param("day") LocalDate day, Limit limit);
+
+    @Query("SELECT d FROM DailyBalance d WHERE d.id.accountId = :accountId AND d.id.day BETWEEN :from AND :to ORDER BY d.id.day")
+    List<DailyBalance> findRange(@Param("accountId") Long accountId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Every row of the given accounts on the given days; callers pick the (account, day) pairs they need. */
+    @Query("SELECT d FROM DailyBalance d WHERE d.id.accountId IN :accountIds AND d.id.day IN :days")
+    List<DailyBalance> findByAccountIdsAndDays(@Param("accountIds") Collection<Long> accountIds,
+                                               @Param("days") Collection<LocalDate> days);
+
+    @Modifying
+    @Query("DELETE FROM DailyBalance d WHERE d.id.accountId IN :accountIds")
+    int deleteByAccountIds(@Param("accountIds") Collection<Long> accountIds);
+}
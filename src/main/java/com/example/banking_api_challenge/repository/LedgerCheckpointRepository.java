@@ -0,0 +1,11 @@
+package com.example.banking_api_challenge.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.banking_api_challenge.model.LedgerCheckpoint;
+
+@Repository
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Long> {
+
+}
@@ -0,0 +1,38 @@
+package com.example.banking_api_challenge.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.banking_api_challenge.ledger.AccountLedgerState;
+import com.example.banking_api_challenge.ledger.LedgerTail;
+import com.example.banking_api_challenge.model.LedgerEntry;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    String TAIL_AFTER_SNAPSHOT = "FROM LedgerEntry e WHERE e.accountId = a.id AND e.id > COALESCE(s.lastEntryId, 0)";
+
+    /** Range scan on (account_id, id): reads only the entries after {@code afterId}. */
+    @Query("SELECT new com.example.banking_api_challenge.ledger.LedgerTail(COALESCE(SUM(e.amount), 0), COUNT(e), MAX(e.id)) "
+            + "FROM LedgerEntry e WHERE e.accountId = :accountId AND e.id > :afterId")
+    LedgerTail findTail(@Param("accountId") Long accountId, @Param("afterId") Long afterId);
+
+    /** Accounts whose tail past their snapshot (or whose whole history, without one) has reached {@code minEntries}. */
+    @Query("SELECT e.accountId FROM LedgerEntry e "
+            + "WHERE e.id > COALESCE((SELECT s.lastEntryId FROM BalanceSnapshot s WHERE s.accountId = e.accountId), 0) "
+            + "GROUP BY e.accountId HAVING COUNT(e) >= :minEntries")
+    List<Long> findAccountIdsWithTailOf(@Param("minEntries") long minEntries);
+
+    /** One keyset page of accounts with their stored balance, snapshot and tail, in ascending id order. */
+    @Query("SELECT new com.example.banking_api_challenge.ledger.AccountLedgerState(a.id, a.balance, s.balance, s.lastEntryId, "
+            + "(SELECT COALESCE(SUM(e.amount), 0) " + TAIL_AFTER_SNAPSHOT + "), "
+            + "(SELECT COUNT(e) " + TAIL_AFTER_SNAPSHOT + ")) "
+            + "FROM Account a LEFT JOIN BalanceSnapshot s ON s.accountId = a.id "
+            + "WHERE a.id > :afterId ORDER BY a.id")
+    List<AccountLedgerState> findLedgerStates(@Param("afterId") Long afterId, Limit limit);
+}
@@ -1,18 +1,99 @@
 package com.example.banking_api_challenge.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.banking_api_challenge.DTO.TransferResponse;
 import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.statement.DailyTotals;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface TransferRepository extends JpaRepository<Transfer, Long> {
 
+    String TRANSFER_RESPONSE = "SELECT new com.example.banking_api_challenge.DTO.TransferResponse("
+            + "t.id, t.fromAccount.id, t.toAccount.id, t.amount, t.description, t.timestamp) FROM Transfer t ";
+
+    String KEYSET_ORDER = " ORDER BY t.timestamp DESC, t.id DESC";
+
+    String AFTER_CURSOR = " AND (t.timestamp < :timestamp OR (t.timestamp = :timestamp AND t.id < :id))";
 
     @Query("SELECT t FROM Transfer t WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId ORDER BY t.timestamp DESC")
     List<Transfer> findTransferHistoryByAccountId(@Param("accountId") Long accountId);
+
+    @Query(TRANSFER_RESPONSE + "WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId" + KEYSET_ORDER)
+    List<TransferResponse> findTransferResponsesByAccountId(@Param("accountId") Long accountId);
+
+    // Keyset pages are read per direction so each query is a range scan on its own (account, timestamp, id) index
+
+    @Query(TRANSFER_RESPONSE + "WHERE t.fromAccount.id = :accountId" + KEYSET_ORDER)
+    List<TransferResponse> findOutgoingPage(@Param("accountId") Long accountId, Limit limit);
+
+    @Query(TRANSFER_RESPONSE + "WHERE t.fromAccount.id = :accountId" + AFTER_CURSOR + KEYSET_ORDER)
+    List<TransferResponse> findOutgoingPageAfter(@Param("accountId") Long accountId, @Param("timestamp") LocalDateTime timestamp,
+                                                 @Param("id") Long id, Limit limit);
+
+    @Query(TRANSFER_RESPONSE + "WHERE t.toAccount.id = :accountId" + KEYSET_ORDER)
+    List<TransferResponse> findIncomingPage(@Param("accountId") Long accountId, Limit limit);
+
+    @Query(TRANSFER_RESPONSE + "WHERE t.toAccount.id = :accountId" + AFTER_CURSOR + KEYSET_ORDER)
+    List<TransferResponse> findIncomingPageAfter(@Param("accountId") Long accountId, @Param("timestamp") LocalDateTime timestamp,
+                                                 @Param("id") Long id, Limit limit);
+
+    // Daily totals for the daily_balances backfill, grouped per direction so each uses its account index
+
+    @Query("SELECT new com.example.banking_api_challenge.statement.DailyTotals("
+            + "t.fromAccount.id, CAST(t.timestamp AS LocalDate), SUM(t.amount), COUNT(t)) FROM Transfer t "
+            + "WHERE t.fromAccount.id IN :accountIds GROUP BY t.fromAccount.id, CAST(t.timestamp AS LocalDate)")
+    List<DailyTotals> sumOutgoingByDay(@Param("accountIds") Collection<Long> accountIds);
+
+    /** Self-transfers are already counted as outgoing, so they add their amount here but not to the count. */
+    @Query("SELECT new com.example.banking_api_challenge.statement.DailyTotals("
+            + "t.toAccount.id, CAST(t.timestamp AS LocalDate), SUM(t.amount), "
+            + "SUM(CASE WHEN t.fromAccount.id = t.toAccount.id THEN 0L ELSE 1L END)) FROM Transfer t "
+            + "WHERE t.toAccount.id IN :accountIds GROUP BY t.toAccount.id, CAST(t.timestamp AS LocalDate)")
+    List<DailyTotals> sumIncomingByDay(@Param("accountIds") Collection<Long> accountIds);
+
+    // Daily totals from a point on, for statements of split accounts, which have no daily_balances rows
+
+    @Query("SELECT new com.example.banking_api_challenge.statement.DailyTotals("
+            + "t.fromAccount.id, CAST(t.timestamp AS LocalDate), SUM(t.amount), COUNT(t)) FROM Transfer t "
+            + "WHERE t.fromAccount.id = :accountId AND t.timestamp >= :since GROUP BY t.fromAccount.id, CAST(t.timestamp AS LocalDate)")
+    List<DailyTotals> sumOutgoingByDaySince(@Param("accountId") Long accountId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT new com.example.banking_api_challenge.statement.DailyTotals("
+            + "t.toAccount.id, CAST(t.timestamp AS LocalDate), SUM(t.amount), "
+            + "SUM(CASE WHEN t.fromAccount.id = t.toAccount.id THEN 0L ELSE 1L END)) FROM Transfer t "
+            + "WHERE t.toAccount.id = :accountId AND t.timestamp >= :since GROUP BY t.toAccount.id, CAST(t.timestamp AS LocalDate)")
+    List<DailyTotals> sumIncomingByDaySince(@Param("accountId") Long accountId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transfer t "
+            + "WHERE t.fromAccount.id = :accountId AND t.timestamp >= :from AND t.timestamp <= :to")
+    BigDecimal sumOutgoingBetween(@Param("accountId") Long accountId, @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transfer t "
+            + "WHERE t.toAccount.id = :accountId AND t.timestamp >= :from AND t.timestamp <= :to")
+    BigDecimal sumIncomingBetween(@Param("accountId") Long accountId, @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    /**
+     * Full history as a forward-only cursor of DTOs. Nothing enters the persistence context, so memory stays
+     * flat however long the history is. Must be consumed and closed inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TRANSFER_RESPONSE + "WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId" + KEYSET_ORDER)
+    Stream<TransferResponse> streamTransferHistoryByAccountId(@Param("accountId") Long accountId);
 }
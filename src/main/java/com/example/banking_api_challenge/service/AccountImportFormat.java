@@ -0,0 +1,8 @@
+package com.example.banking_api_challenge.service;
+
+public enum AccountImportFormat {
+    /** {@code customerId,initialDeposit} per line, with an optional header line. */
+    CSV,
+    /** One {@code {"customerId": ..., "initialDeposit": ...}} object per line. */
+    NDJSON
+}
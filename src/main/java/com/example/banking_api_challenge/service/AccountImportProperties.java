@@ -0,0 +1,12 @@
+package com.example.banking_api_challenge.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "banking.import")
+public class AccountImportProperties {
+
+    /** Rows validated, inserted and committed together; bounds the memory an import holds at any time. */
+    private int chunkSize = 1000;
+}
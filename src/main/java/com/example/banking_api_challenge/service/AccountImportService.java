@@ -0,0 +1,191 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.AccountImportResult;
+import com.example.banking_api_challenge.DTO.CreateAccountRequest;
+import com.example.banking_api_challenge.accountnumber.AccountNumberBlock;
+import com.example.banking_api_challenge.accountnumber.AccountNumberGenerator;
+import com.example.banking_api_challenge.ledger.EventLedger;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Creates accounts from a stream of CSV or NDJSON rows, for onboarding whole portfolios at once.
+ * <p>
+ * Rows are read one at a time and handled in chunks of {@code banking.import.chunk-size}: each chunk's
+ * customer ids are checked with a single {@code IN} query, its account numbers come from one reserved
+ * block, and its accounts are written with JDBC batch inserts in their own transaction. Only the current
+ * chunk is ever held in memory. Results are handed to the sink in line order once their chunk has
+ * committed, so a {@code CREATED} row is durable even if a later chunk fails.
+ */
+@Slf4j
+@Service
+public class AccountImportService {
+
+    private static final String CSV_HEADER = "customerId";
+
+    private final AccountImportProperties properties;
+
+    private final AccountRepository accountRepository;
+
+    private final CustomerRepository customerRepository;
+
+    private final AccountNumberGenerator accountNumberGenerator;
+
+    private final EventLedger eventLedger;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public AccountImportService(AccountImportProperties properties, AccountRepository accountRepository,
+                                CustomerRepository customerRepository, AccountNumberGenerator accountNumberGenerator,
+                                EventLedger eventLedger, ObjectMapper objectMapper, Validator validator,
+                                PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.customerRepository = customerRepository;
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.eventLedger = eventLedger;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public AccountImportSummary importAccounts(Stream<String> lines, AccountImportFormat format, Consumer<AccountImportResult> sink) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        long rows = 0;
+        long created = 0;
+        Iterator<String> iterator = lines.iterator();
+        while (iterator.hasNext()) {
+            String line = iterator.next().strip();
+            lineNumber++;
+            if (line.isEmpty() || (format == AccountImportFormat.CSV && lineNumber == 1 && line.startsWith(CSV_HEADER))) {
+                continue;
+            }
+            rows++;
+            chunk.add(parse(lineNumber, line, format));
+            if (chunk.size() == chunkSize) {
+                created += importChunk(chunk, sink);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += importChunk(chunk, sink);
+        }
+        log.info("Imported {} of {} accounts", created, rows);
+        return new AccountImportSummary(rows, created, rows - created);
+    }
+
+    private int importChunk(List<ImportRow> chunk, Consumer<AccountImportResult> sink) {
+        Set<Long> customerIds = chunk.stream().filter(row -> row.error == null)
+                .map(row -> row.request.getCustomerId()).collect(Collectors.toCollection(HashSet::new));
+
+        List<ImportRow> accepted = transactionTemplate.execute(status -> {
+            Set<Long> existing = customerIds.isEmpty() ? Set.of() : customerRepository.findExistingIds(customerIds);
+            List<ImportRow> valid = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                if (row.error == null && !existing.contains(row.request.getCustomerId())) {
+                    row.error = "Customer not found with ID: " + row.request.getCustomerId();
+                }
+                if (row.error == null) {
+                    valid.add(row);
+                }
+            }
+            if (valid.isEmpty()) {
+                return valid;
+            }
+
+            AccountNumberBlock numbers = accountNumberGenerator.reserve(valid.size());
+            LocalDateTime now = LocalDateTime.now();
+            List<Account> accounts = new ArrayList<>(valid.size());
+            for (int i = 0; i < valid.size(); i++) {
+                CreateAccountRequest request = valid.get(i).request;
+                accounts.add(Account.builder().accountNumber(numbers.get(i)).balance(request.getInitialDeposit())
+                        .customer(customerRepository.getReferenceById(request.getCustomerId())).createdAt(now).build());
+            }
+            List<Account> saved = accountRepository.saveAll(accounts);
+            eventLedger.recordOpenings(saved);
+            for (int i = 0; i < valid.size(); i++) {
+                valid.get(i).account = saved.get(i);
+            }
+            return valid;
+        });
+
+        for (ImportRow row : chunk) {
+            sink.accept(row.account != null
+                    ? new AccountImportResult(row.line, AccountImportResult.Status.CREATED, row.account.getId(), row.account.getAccountNumber(), null)
+                    : new AccountImportResult(row.line, AccountImportResult.Status.FAILED, null, null, row.error));
+        }
+        return accepted.size();
+    }
+
+    private ImportRow parse(long line, String text, AccountImportFormat format) {
+        CreateAccountRequest request;
+        try {
+            request = format == AccountImportFormat.CSV ? parseCsv(text) : objectMapper.readValue(text, CreateAccountRequest.class);
+        } catch (JsonProcessingException e) {
+            return new ImportRow(line, null, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return new ImportRow(line, null, e.getMessage());
+        }
+        Set<ConstraintViolation<CreateAccountRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return new ImportRow(line, null, violations.stream().map(ConstraintViolation::getMessage)
+                    .sorted(Comparator.naturalOrder()).collect(Collectors.joining("; ")));
+        }
+        return new ImportRow(line, request, null);
+    }
+
+    private CreateAccountRequest parseCsv(String text) {
+        int comma = text.indexOf(',');
+        if (comma < 0 || text.indexOf(',', comma + 1) >= 0) {
+            throw new IllegalArgumentException("Expected 2 columns: customerId,initialDeposit");
+        }
+        String customerId = text.substring(0, comma).strip();
+        String initialDeposit = text.substring(comma + 1).strip();
+        try {
+            return new CreateAccountRequest(customerId.isEmpty() ? null : Long.valueOf(customerId),
+                    initialDeposit.isEmpty() ? null : new BigDecimal(initialDeposit));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in '" + text + "'");
+        }
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final CreateAccountRequest request;
+        private String error;
+        private Account account;
+
+        private ImportRow(long line, CreateAccountRequest request, String error) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+        }
+    }
+}
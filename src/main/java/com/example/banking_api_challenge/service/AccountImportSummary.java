@@ -0,0 +1,7 @@
+package com.example.banking_api_challenge.service;
+
+/**
+ * Row counts of a finished import; blank lines and the CSV header are not rows.
+ */
+public record AccountImportSummary(long rows, long created, long failed) {
+}
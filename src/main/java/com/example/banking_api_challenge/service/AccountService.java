@@ -1,27 +1,55 @@
 package com.example.banking_api_challenge.service;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.BatchTransferItemResult;
+import com.example.banking_api_challenge.DTO.BatchTransferMode;
+import com.example.banking_api_challenge.DTO.BatchTransferRequest;
+import com.example.banking_api_challenge.DTO.BatchTransferResponse;
 import com.example.banking_api_challenge.DTO.CreateAccountRequest;
+import com.example.banking_api_challenge.DTO.TransferHistoryPage;
 import com.example.banking_api_challenge.DTO.TransferRequest;
 import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.accountnumber.AccountNumberGenerator;
+import com.example.banking_api_challenge.archive.TransferArchive;
+import com.example.banking_api_challenge.cache.AccountBalanceCache;
 import com.example.banking_api_challenge.exception.AccountNotFoundException;
 import com.example.banking_api_challenge.exception.CustomerNotFoundException;
 import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.exception.UnsupportedBatchModeException;
+import com.example.banking_api_challenge.exception.UnsupportedIdempotencyKeyException;
+import com.example.banking_api_challenge.ledger.EventLedger;
+import com.example.banking_api_challenge.ledger.LedgerEngine;
+import com.example.banking_api_challenge.metrics.TransferMetrics;
+import com.example.banking_api_challenge.metrics.TransferPhase;
 import com.example.banking_api_challenge.model.Account;
 import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.model.IdempotencyRecord;
 import com.example.banking_api_challenge.model.Transfer;
 import com.example.banking_api_challenge.repository.AccountRepository;
 import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.IdempotencyRecordRepository;
 import com.example.banking_api_challenge.repository.TransferRepository;
+import com.example.banking_api_challenge.splitbalance.SplitBalances;
+import com.example.banking_api_challenge.statement.DailyBalanceRecorder;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
 
@@ -29,75 +57,407 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AccountService {
 
+    private static final int LOCK_CHUNK_SIZE = 1000;
+
+    public static final int MAX_HISTORY_PAGE_SIZE = 500;
+
     private final AccountRepository accountRepository;
 
 
+    private final AccountNumberGenerator accountNumberGenerator;
+
+
     private final CustomerRepository customerRepository;
 
 
     private final TransferRepository transferRepository;
 
+
+    private final LedgerEngine ledgerEngine;
+
+
+    private final EventLedger eventLedger;
+
+
+    private final DailyBalanceRecorder dailyBalanceRecorder;
+
+
+    private final AccountBalanceCache balanceCache;
+
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+
+    private final TransferMetrics transferMetrics;
+
+
+    private final TransferRetryTemplate transferRetry;
+
+
+    private final SplitBalances splitBalances;
+
+    private final TransferArchive transferArchive;
+
     @Transactional
     public AccountResponse createAccount(CreateAccountRequest request) {
         Customer customer = customerRepository.findById(request.getCustomerId())
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + request.getCustomerId()));
 
-        String accountNumber = generateAccountNumber();
+        String accountNumber = accountNumberGenerator.next();
         Account account = Account.builder().accountNumber(accountNumber).balance(request.getInitialDeposit()).customer(customer)
-                .createdAt(java.time.LocalDateTime.now()).build();
+                .createdAt(LocalDateTime.now()).build();
         Account savedAccount = accountRepository.save(account);
+        eventLedger.recordOpening(savedAccount);
 
-        return mapToAccountResponse(savedAccount);
+        AccountResponse response = mapToAccountResponse(savedAccount);
+        balanceCache.putAfterCommit(response);
+        return response;
     }
 
+    @Transactional(readOnly = true)
     public AccountResponse getAccountBalance(Long accountId) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new com.example.banking_api_challenge.exception.AccountNotFoundException("Account not found with ID: " + accountId));
+        AccountResponse response = balanceCache.get(accountId, () -> accountRepository.findAccountResponseById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId)));
 
-        return mapToAccountResponse(account);
+        // Cached responses are shared, so the ledger balance goes on a copy
+        Optional<BigDecimal> ledgerBalance = ledgerEngine.currentBalance(accountId);
+        if (ledgerBalance.isPresent()) {
+            return new AccountResponse(response.getId(), response.getAccountNumber(), ledgerBalance.get(),
+                    response.getCustomerId(), response.getCustomerName(), response.getCreatedAt());
+        }
+        return response;
     }
 
-    @Transactional
     public TransferResponse transferFunds(TransferRequest request) {
-        Account fromAccount = accountRepository.findById(request.getFromAccountId())
-                .orElseThrow(() -> new AccountNotFoundException("Source account not found with ID: " + request.getFromAccountId()));
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.transfer(request);
+        }
+        return transferRetry.execute(() -> applyTransfer(request));
+    }
+
+    private TransferResponse applyTransfer(TransferRequest request) {
+        // Read both rows in ascending id order so opposing transfers on the same pair cannot deadlock.
+        // Optimistic reads take no locks; the version check on the updates catches a concurrent transfer at flush.
+        long phaseStart = transferMetrics.start();
+        Long fromId = request.getFromAccountId();
+        Long toId = request.getToAccountId();
+        // A credit to a split account goes to one of its balance slots, so its row is neither read nor locked
+        boolean creditSlot = !fromId.equals(toId) && splitBalances.isSplit(toId);
+        Account fromAccount;
+        Account toAccount;
+        if (creditSlot) {
+            fromAccount = loadForTransfer(fromId)
+                    .orElseThrow(() -> new AccountNotFoundException("Source account not found with ID: " + fromId));
+            toAccount = accountRepository.getReferenceById(toId);
+        } else {
+            Optional<Account> lowerLocked = loadForTransfer(Math.min(fromId, toId));
+            Optional<Account> higherLocked = fromId.equals(toId) ? lowerLocked : loadForTransfer(Math.max(fromId, toId));
 
-        Account toAccount = accountRepository.findById(request.getToAccountId())
-                .orElseThrow(() -> new AccountNotFoundException("Destination account not found with ID: " + request.getToAccountId()));
+            fromAccount = (fromId <= toId ? lowerLocked : higherLocked)
+                    .orElseThrow(() -> new AccountNotFoundException("Source account not found with ID: " + fromId));
 
+            toAccount = (fromId <= toId ? higherLocked : lowerLocked)
+                    .orElseThrow(() -> new AccountNotFoundException("Destination account not found with ID: " + toId));
+        }
+        phaseStart = transferMetrics.record(TransferPhase.LOAD, phaseStart);
+
+        boolean credited = false;
+        if (fromAccount.getBalance().compareTo(request.getAmount()) < 0 && splitBalances.isSplit(fromId)) {
+            // Slot locks go in ascending account id order, so a lower destination's slot is taken first
+            if (creditSlot && toId < fromId) {
+                splitBalances.credit(fromId, toId, request.getAmount());
+                credited = true;
+            }
+            splitBalances.drawOnSlots(fromAccount);
+        }
         if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
             throw new InsufficientFundsException("Insufficient funds in account: " + fromAccount.getAccountNumber());
         }
+        phaseStart = transferMetrics.record(TransferPhase.VALIDATE, phaseStart);
 
         // Update balances
         fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
-        toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
+        if (!creditSlot) {
+            toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
+        }
+        phaseStart = transferMetrics.record(TransferPhase.APPLY, phaseStart);
 
         accountRepository.save(fromAccount);
-        accountRepository.save(toAccount);
+        if (creditSlot) {
+            if (!credited) {
+                splitBalances.credit(fromId, toId, request.getAmount());
+            }
+        } else {
+            accountRepository.save(toAccount);
+        }
+        balanceCache.evictAfterCommit(List.of(fromId, toId));
+        phaseStart = transferMetrics.record(TransferPhase.PERSIST, phaseStart);
 
         // Create transfer record
         Transfer transfer = Transfer.builder().fromAccount(fromAccount).toAccount(toAccount)
-                .amount(request.getAmount()).timestamp(java.time.LocalDateTime.now())
+                .amount(request.getAmount()).timestamp(LocalDateTime.now())
                 .description(request.getDescription()).build();
         Transfer savedTransfer = transferRepository.save(transfer);
+        eventLedger.recordTransfers(List.of(savedTransfer));
+        dailyBalanceRecorder.recordTransfers(List.of(savedTransfer));
 
-        return mapToTransferResponse(savedTransfer);
+        TransferResponse response = mapToTransferResponse(savedTransfer);
+        transferMetrics.record(TransferPhase.RECORD, phaseStart);
+        transferMetrics.timeCommit();
+        return response;
     }
 
-    public List<TransferResponse> getTransferHistory(Long accountId) {
+    /**
+     * Same as {@link #transferFunds(TransferRequest)}, but the idempotency key is written in the same transaction,
+     * so the key exists if and only if the transfer committed. The in-memory ledger commits to its journal outside
+     * that transaction, so a failed key insert would let a retry move the money twice; keyed transfers are refused there.
+     */
+    public TransferResponse transferFunds(TransferRequest request, String idempotencyKey, String requestHash) {
+        if (ledgerEngine.isEnabled()) {
+            throw new UnsupportedIdempotencyKeyException("The in-memory ledger does not support Idempotency-Key transfers");
+        }
+        return transferRetry.execute(() -> recordIdempotentTransfer(request, idempotencyKey, requestHash));
+    }
+
+    private TransferResponse recordIdempotentTransfer(TransferRequest request, String idempotencyKey, String requestHash) {
+        TransferResponse response = transferFunds(request);
+        idempotencyRecordRepository.save(IdempotencyRecord.builder().idempotencyKey(idempotencyKey).requestHash(requestHash)
+                .transferId(response.getId()).fromAccountId(response.getFromAccountId()).toAccountId(response.getToAccountId())
+                .amount(response.getAmount()).description(response.getDescription())
+                .transferTimestamp(response.getTimestamp()).createdAt(LocalDateTime.now()).build());
+        return response;
+    }
+
+    /**
+     * Applies many transfers in one transaction. All involved rows are locked up front in ascending id
+     * order, debits and credits are applied to working balances in request order, and the resulting
+     * transfer rows are written with JDBC batch inserts. In {@link BatchTransferMode#ALL_OR_NOTHING}
+     * mode a single failing item leaves every balance untouched. With the optimistic strategy the rows are
+     * read without locks and the whole batch is retried if any of them changed before it committed.
+     */
+    public BatchTransferResponse transferFundsBatch(BatchTransferRequest request) {
+        if (ledgerEngine.isEnabled()) {
+            return transferFundsBatchInLedger(request);
+        }
+        return transferRetry.execute(() -> applyTransferBatch(request));
+    }
+
+    /**
+     * Whether {@link #transferFundsBatch} applies a batch in one transaction, so a batch that throws has
+     * applied nothing. Not so with the in-memory ledger, which applies and journals the items one at a time.
+     */
+    public boolean isBatchAtomic() {
+        return !ledgerEngine.isEnabled();
+    }
+
+    private BatchTransferResponse applyTransferBatch(BatchTransferRequest request) {
+        List<TransferRequest> items = request.getTransfers();
+
+        Set<Long> accountIds = new TreeSet<>();
+        for (TransferRequest item : items) {
+            accountIds.add(item.getFromAccountId());
+            accountIds.add(item.getToAccountId());
+        }
+        List<Long> orderedIds = new ArrayList<>(accountIds);
+        Map<Long, Account> accounts = new HashMap<>();
+        Set<Long> splitSources = new TreeSet<>();
+        for (int i = 0; i < orderedIds.size(); i += LOCK_CHUNK_SIZE) {
+            List<Long> chunk = orderedIds.subList(i, Math.min(i + LOCK_CHUNK_SIZE, orderedIds.size()));
+            (transferRetry.isOptimistic() ? accountRepository.findAllById(chunk) : accountRepository.findAllByIdForUpdate(chunk))
+                    .forEach(account -> accounts.put(account.getId(), account));
+        }
+
+        // The batch holds every row lock, so credits to split accounts go to their rows; split sources
+        // have their slots folded in first, in ascending id order after all the row locks
+        for (TransferRequest item : items) {
+            Account source = accounts.get(item.getFromAccountId());
+            if (source != null && splitBalances.isSplit(source.getId())) {
+                splitSources.add(source.getId());
+            }
+        }
+        splitSources.forEach(id -> splitBalances.drawOnSlots(accounts.get(id)));
+
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        accounts.forEach((id, account) -> balances.put(id, account.getBalance()));
+        List<BatchTransferItemResult> results = new ArrayList<>(items.size());
+        List<BatchTransferItemResult> completed = new ArrayList<>(items.size());
+        List<Transfer> transfers = new ArrayList<>(items.size());
+        int failed = 0;
+
+        for (int index = 0; index < items.size(); index++) {
+            TransferRequest item = items.get(index);
+            Account fromAccount = accounts.get(item.getFromAccountId());
+            Account toAccount = accounts.get(item.getToAccountId());
+            String error = null;
+            if (fromAccount == null) {
+                error = "Source account not found with ID: " + item.getFromAccountId();
+            } else if (toAccount == null) {
+                error = "Destination account not found with ID: " + item.getToAccountId();
+            } else if (balances.get(fromAccount.getId()).compareTo(item.getAmount()) < 0) {
+                error = "Insufficient funds in account: " + fromAccount.getAccountNumber();
+            }
+            if (error != null) {
+                failed++;
+                results.add(new BatchTransferItemResult(index, BatchTransferItemResult.Status.FAILED, null, error));
+                continue;
+            }
+
+            balances.merge(fromAccount.getId(), item.getAmount().negate(), BigDecimal::add);
+            balances.merge(toAccount.getId(), item.getAmount(), BigDecimal::add);
+            transfers.add(Transfer.builder().fromAccount(fromAccount).toAccount(toAccount)
+                    .amount(item.getAmount()).timestamp(LocalDateTime.now())
+                    .description(item.getDescription()).build());
+            BatchTransferItemResult result = new BatchTransferItemResult(index, BatchTransferItemResult.Status.COMPLETED, null, null);
+            results.add(result);
+            completed.add(result);
+        }
+
+        if (failed > 0 && request.getMode() == BatchTransferMode.ALL_OR_NOTHING) {
+            completed.forEach(result -> result.setStatus(BatchTransferItemResult.Status.ROLLED_BACK));
+            return new BatchTransferResponse(request.getMode(), false, 0, failed, results);
+        }
+
+        balances.forEach((id, balance) -> accounts.get(id).setBalance(balance));
+        balanceCache.evictAfterCommit(accounts.keySet());
+        List<Transfer> savedTransfers = transferRepository.saveAll(transfers);
+        eventLedger.recordTransfers(savedTransfers);
+        dailyBalanceRecorder.recordTransfers(savedTransfers);
+        for (int i = 0; i < savedTransfers.size(); i++) {
+            completed.get(i).setTransfer(mapToTransferResponse(savedTransfers.get(i)));
+        }
+        return new BatchTransferResponse(request.getMode(), true, savedTransfers.size(), failed, results);
+    }
+
+    /** Throws {@link AccountNotFoundException} unless the account exists, e.g. before a streamed response is committed. */
+    @Transactional(readOnly = true)
+    public void requireAccount(Long accountId) {
         if (!accountRepository.existsById(accountId)) {
             throw new AccountNotFoundException("Account not found with ID: " + accountId);
         }
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransferResponse> getTransferHistory(Long accountId) {
+        requireAccount(accountId);
+        List<TransferResponse> history = new ArrayList<>();
+        mergeNewestFirst(transferRepository.findTransferResponsesByAccountId(accountId).iterator(),
+                transferArchive.iterateHistory(accountId), Integer.MAX_VALUE, history::add);
+        return history;
+    }
+
+    /**
+     * One keyset page of the account's history, newest first. Outgoing and incoming transfers are fetched
+     * separately from their own indexes and merged, so the cost depends on the page size, not on the history length.
+     * The archive is only read for a direction whose page reaches back to the archived transfers.
+     */
+    @Transactional(readOnly = true)
+    public TransferHistoryPage getTransferHistoryPage(Long accountId, String cursor, int limit) {
+        requireAccount(accountId);
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        Limit fetch = Limit.of(pageSize + 1);
+
+        List<TransferResponse> outgoing;
+        List<TransferResponse> incoming;
+        TransferCursor after = cursor == null || cursor.isBlank() ? null : TransferCursor.decode(cursor);
+        if (after == null) {
+            outgoing = transferRepository.findOutgoingPage(accountId, fetch);
+            incoming = transferRepository.findIncomingPage(accountId, fetch);
+        } else {
+            outgoing = transferRepository.findOutgoingPageAfter(accountId, after.timestamp(), after.id(), fetch);
+            incoming = transferRepository.findIncomingPageAfter(accountId, after.timestamp(), after.id(), fetch);
+        }
+        LocalDateTime afterTimestamp = after == null ? null : after.timestamp();
+        Long afterId = after == null ? null : after.id();
+        if (reachesArchive(outgoing, fetch)) {
+            outgoing = mergeNewestFirst(outgoing, transferArchive.findOutgoingPage(accountId, afterTimestamp, afterId, pageSize + 1), pageSize + 1);
+        }
+        if (reachesArchive(incoming, fetch)) {
+            incoming = mergeNewestFirst(incoming, transferArchive.findIncomingPage(accountId, afterTimestamp, afterId, pageSize + 1), pageSize + 1);
+        }
+
+        List<TransferResponse> merged = mergeNewestFirst(outgoing, incoming, pageSize + 1);
+        boolean hasMore = merged.size() > pageSize;
+        List<TransferResponse> page = hasMore ? merged.subList(0, pageSize) : merged;
+        String nextCursor = null;
+        if (hasMore) {
+            TransferResponse last = page.get(page.size() - 1);
+            nextCursor = new TransferCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new TransferHistoryPage(new ArrayList<>(page), nextCursor, hasMore);
+    }
+
+    /**
+     * Streams the complete history, newest first, to {@code sink} from a forward-only database cursor.
+     * The sink is called inside the read-only transaction that keeps the cursor open.
+     */
+    @Transactional(readOnly = true)
+    public void exportTransferHistory(Long accountId, Consumer<TransferResponse> sink) {
+        requireAccount(accountId);
+        try (Stream<TransferResponse> transfers = transferRepository.streamTransferHistoryByAccountId(accountId)) {
+            mergeNewestFirst(transfers.iterator(), transferArchive.iterateHistory(accountId), Integer.MAX_VALUE, sink);
+        }
+    }
+
+    /** Whether a hot page read with {@code fetch} may be missing archived transfers that belong in it. */
+    private boolean reachesArchive(List<TransferResponse> hot, Limit fetch) {
+        return hot.size() < fetch.max() || transferArchive.mayHoldFrom(hot.get(hot.size() - 1).getTimestamp());
+    }
+
+    private static List<TransferResponse> mergeNewestFirst(List<TransferResponse> first, List<TransferResponse> second, int max) {
+        List<TransferResponse> merged = new ArrayList<>(Math.min(max, first.size() + second.size()));
+        mergeNewestFirst(first.iterator(), second.iterator(), max, merged::add);
+        return merged;
+    }
 
-        List<Transfer> transfers = transferRepository.findTransferHistoryByAccountId(accountId);
-        return transfers.stream()
-                .map(this::mapToTransferResponse)
-                .collect(Collectors.toList());
+    private static void mergeNewestFirst(Iterator<TransferResponse> first, Iterator<TransferResponse> second, int max,
+                                         Consumer<TransferResponse> sink) {
+        TransferResponse a = first.hasNext() ? first.next() : null;
+        TransferResponse b = second.hasNext() ? second.next() : null;
+        for (int merged = 0; merged < max && (a != null || b != null); merged++) {
+            int order;
+            if (b == null) {
+                order = -1;
+            } else if (a == null) {
+                order = 1;
+            } else {
+                order = b.getTimestamp().compareTo(a.getTimestamp());
+                if (order == 0) {
+                    order = b.getId().compareTo(a.getId());
+                }
+            }
+            // Equal means the same row on both sides: a self-transfer, or one archived while it was being read
+            sink.accept(order <= 0 ? a : b);
+            if (order <= 0) {
+                a = first.hasNext() ? first.next() : null;
+            }
+            if (order >= 0) {
+                b = second.hasNext() ? second.next() : null;
+            }
+        }
+    }
+
+    private BatchTransferResponse transferFundsBatchInLedger(BatchTransferRequest request) {
+        if (request.getMode() != BatchTransferMode.BEST_EFFORT) {
+            throw new UnsupportedBatchModeException("The in-memory ledger only supports BEST_EFFORT batches");
+        }
+        List<BatchTransferItemResult> results = new ArrayList<>(request.getTransfers().size());
+        int failed = 0;
+        for (int index = 0; index < request.getTransfers().size(); index++) {
+            try {
+                TransferResponse transfer = ledgerEngine.transfer(request.getTransfers().get(index));
+                results.add(new BatchTransferItemResult(index, BatchTransferItemResult.Status.COMPLETED, transfer, null));
+            } catch (RuntimeException e) {
+                // Earlier items are already applied and journaled, so one failure, a journal one included, must not
+                // escape and get the whole batch applied again
+                failed++;
+                results.add(new BatchTransferItemResult(index, BatchTransferItemResult.Status.FAILED, null, e.getMessage()));
+            }
+        }
+        return new BatchTransferResponse(request.getMode(), true, results.size() - failed, failed, results);
     }
 
-    private String generateAccountNumber() {
-        return "ACC-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    private Optional<Account> loadForTransfer(Long accountId) {
+        return transferRetry.isOptimistic() ? accountRepository.findById(accountId) : accountRepository.findByIdForUpdate(accountId);
     }
 
     private AccountResponse mapToAccountResponse(Account account) {
@@ -111,7 +471,7 @@ public class AccountService {
         );
     }
 
-    private TransferResponse mapToTransferResponse(Transfer transfer) {
+    static TransferResponse mapToTransferResponse(Transfer transfer) {
         return new TransferResponse(
                 transfer.getId(),
                 transfer.getFromAccount().getId(),
@@ -0,0 +1,11 @@
+package com.example.banking_api_challenge.service;
+
+public enum ConcurrencyStrategy {
+    /** Both account rows are locked with SELECT ... FOR UPDATE before the balances are read. */
+    PESSIMISTIC,
+    /**
+     * Account rows are read without locks and the versioned update fails at flush if another transfer
+     * committed in between; the whole transfer is then retried after a jittered backoff.
+     */
+    OPTIMISTIC
+}
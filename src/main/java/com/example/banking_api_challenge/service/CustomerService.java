@@ -0,0 +1,47 @@
+package com.example.banking_api_challenge.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.banking_api_challenge.DTO.CustomerPage;
+import com.example.banking_api_challenge.DTO.CustomerResponse;
+import com.example.banking_api_challenge.DTO.CustomerSortField;
+import com.example.banking_api_challenge.exception.CustomerNotFoundException;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class CustomerService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final CustomerRepository customerRepository;
+
+    @Transactional(readOnly = true)
+    public CustomerPage getCustomers(int page, int size, CustomerSortField sortField, Sort.Direction direction, boolean includeAccounts) {
+        Sort sort = Sort.by(direction, sortField.getProperty());
+        if (sortField != CustomerSortField.ID) {
+            sort = sort.and(Sort.by(direction, CustomerSortField.ID.getProperty()));
+        }
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)), sort);
+
+        Page<CustomerResponse> customers = includeAccounts
+                ? customerRepository.findCustomerSummaries(pageRequest)
+                : customerRepository.findCustomerResponses(pageRequest);
+        return new CustomerPage(customers.getContent(), customers.getNumber(), customers.getSize(),
+                customers.getTotalElements(), customers.getTotalPages());
+    }
+
+    @Transactional(readOnly = true)
+    public CustomerResponse getCustomer(Long customerId, boolean includeAccounts) {
+        return (includeAccounts
+                ? customerRepository.findCustomerSummaryById(customerId)
+                : customerRepository.findCustomerResponseById(customerId))
+                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + customerId));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.banking_api_challenge.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.idempotency")
+public class IdempotencyProperties {
+
+    /** Maximum number of keys held in the in-memory dedupe index. */
+    private long maxKeys = 100_000;
+
+    /** How long a key is remembered, in memory and in the idempotency_keys table. */
+    private Duration retention = Duration.ofHours(24);
+}
@@ -0,0 +1,9 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferResponse;
+
+/**
+ * A transfer response plus whether it was replayed from an earlier request with the same idempotency key.
+ */
+public record IdempotentTransfer(TransferResponse response, boolean replayed) {
+}
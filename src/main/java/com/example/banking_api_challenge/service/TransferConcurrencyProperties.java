@@ -0,0 +1,22 @@
+package com.example.banking_api_challenge.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.transfer.concurrency")
+public class TransferConcurrencyProperties {
+
+    private ConcurrencyStrategy strategy = ConcurrencyStrategy.PESSIMISTIC;
+
+    /** Attempts per optimistic transfer, the first one included, before the conflict is reported to the caller. */
+    private int maxAttempts = 5;
+
+    /** Upper bound of the random backoff before the first retry; it doubles with every further attempt. */
+    private Duration initialBackoff = Duration.ofMillis(5);
+
+    /** Upper bound of the random backoff however many attempts have failed. */
+    private Duration maxBackoff = Duration.ofMillis(100);
+}
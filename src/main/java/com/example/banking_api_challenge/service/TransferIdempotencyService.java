@@ -0,0 +1,143 @@
+package com.example.banking_api_challenge.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.exception.IdempotencyKeyConflictException;
+import com.example.banking_api_challenge.model.IdempotencyRecord;
+import com.example.banking_api_challenge.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deduplicates transfers submitted with an {@code Idempotency-Key}. A bounded in-memory index answers repeats
+ * without a database round trip and parks concurrent duplicates on the first request's future, so only one of
+ * them ever reaches the account locks. The idempotency_keys table is the source of truth once the index has
+ * forgotten a key or after a restart.
+ */
+@Slf4j
+@Service
+public class TransferIdempotencyService {
+
+    private final AccountService accountService;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final IdempotencyProperties properties;
+
+    private final ConcurrentMap<String, Entry> index;
+
+    public TransferIdempotencyService(AccountService accountService, IdempotencyRecordRepository idempotencyRecordRepository,
+                                      IdempotencyProperties properties) {
+        this.accountService = accountService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.properties = properties;
+        this.index = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterWrite(properties.getRetention())
+                .<String, Entry>build()
+                .asMap();
+    }
+
+    public IdempotentTransfer transfer(String idempotencyKey, TransferRequest request) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new IdempotentTransfer(accountService.transferFunds(request), false);
+        }
+
+        String requestHash = fingerprint(request);
+        Entry mine = new Entry(requestHash, new CompletableFuture<>());
+        Entry existing = index.putIfAbsent(idempotencyKey, mine);
+        if (existing != null) {
+            checkSameRequest(idempotencyKey, existing.requestHash(), requestHash);
+            return new IdempotentTransfer(await(existing.result()), true);
+        }
+
+        try {
+            IdempotentTransfer outcome = idempotencyRecordRepository.findById(idempotencyKey)
+                    .map(record -> replay(idempotencyKey, record, requestHash))
+                    .orElseGet(() -> execute(idempotencyKey, request, requestHash));
+            mine.result().complete(outcome.response());
+            return outcome;
+        } catch (RuntimeException e) {
+            // Failed transfers are not remembered, so the client may retry with the same key
+            index.remove(idempotencyKey, mine);
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private IdempotentTransfer execute(String idempotencyKey, TransferRequest request, String requestHash) {
+        try {
+            return new IdempotentTransfer(accountService.transferFunds(request, idempotencyKey, requestHash), false);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key first; our transfer rolled back with the key insert
+            return idempotencyRecordRepository.findById(idempotencyKey)
+                    .map(record -> replay(idempotencyKey, record, requestHash))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private IdempotentTransfer replay(String idempotencyKey, IdempotencyRecord record, String requestHash) {
+        checkSameRequest(idempotencyKey, record.getRequestHash(), requestHash);
+        return new IdempotentTransfer(new TransferResponse(record.getTransferId(), record.getFromAccountId(),
+                record.getToAccountId(), record.getAmount(), record.getDescription(), record.getTransferTimestamp()), true);
+    }
+
+    private void checkSameRequest(String idempotencyKey, String expectedHash, String requestHash) {
+        if (!expectedHash.equals(requestHash)) {
+            throw new IdempotencyKeyConflictException("Idempotency key " + idempotencyKey + " was already used with a different request");
+        }
+    }
+
+    private TransferResponse await(CompletableFuture<TransferResponse> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static String fingerprint(TransferRequest request) {
+        BigDecimal amount = request.getAmount();
+        String canonical = request.getFromAccountId() + "|" + request.getToAccountId() + "|"
+                + (amount == null ? "" : amount.stripTrailingZeros().toPlainString()) + "|"
+                + Objects.toString(request.getDescription(), "");
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(String requestHash, CompletableFuture<TransferResponse> result) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.exception.ConcurrentUpdateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a transfer in its own transaction according to {@code banking.transfer.concurrency.strategy}.
+ * <p>
+ * Pessimistic transfers run once. Optimistic transfers that lose a version check at commit are rolled back
+ * and run again from scratch, after a random sleep between zero and an exponentially growing cap ("full
+ * jitter"), so colliding transfers spread out instead of colliding again in lockstep. A call made inside
+ * an existing transaction joins it and is never retried here: the rolled-back work belongs to the caller.
+ */
+@Slf4j
+@Component
+public class TransferRetryTemplate {
+
+    private final TransferConcurrencyProperties properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter conflicts;
+
+    private final Counter exhausted;
+
+    private final DistributionSummary attempts;
+
+    public TransferRetryTemplate(TransferConcurrencyProperties properties, PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        String strategy = properties.getStrategy().name().toLowerCase();
+        this.conflicts = Counter.builder("banking.transfer.conflicts")
+                .description("Optimistic transfer attempts rolled back because an account changed concurrently")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("banking.transfer.conflicts.exhausted")
+                .description("Optimistic transfers that still conflicted after the last attempt")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
+        this.attempts = DistributionSummary.builder("banking.transfer.attempts")
+                .description("Attempts needed per transfer; conflict rate is conflicts / attempts")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
+    }
+
+    public boolean isOptimistic() {
+        return properties.getStrategy() == ConcurrencyStrategy.OPTIMISTIC;
+    }
+
+    public <T> T execute(Supplier<T> transfer) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transfer.get();
+        }
+        int maxAttempts = isOptimistic() ? Math.max(1, properties.getMaxAttempts()) : 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> transfer.get());
+                attempts.record(attempt);
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                if (!isOptimistic()) {
+                    throw e;
+                }
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    attempts.record(attempt);
+                    exhausted.increment();
+                    throw new ConcurrentUpdateException("Transfer conflicted with concurrent updates " + attempt
+                            + " times, please retry", e);
+                }
+                log.debug("Transfer attempt {} conflicted, retrying: {}", attempt, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        long capNanos = Math.min(properties.getMaxBackoff().toNanos(),
+                properties.getInitialBackoff().toNanos() << Math.min(attempt - 1, 30));
+        if (capNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(capNanos + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while waiting to retry a conflicting transfer", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.banking_api_challenge.splitbalance;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "banking.split-balance")
+public class SplitBalanceProperties {
+
+    /** Slots given to an account designated without a slot count; concurrent credits spread over this many rows. */
+    private int defaultSlots = 16;
+
+    /** Upper bound on the slots of one account. A debit that overdraws the account row locks all of them. */
+    private int maxSlots = 256;
+}
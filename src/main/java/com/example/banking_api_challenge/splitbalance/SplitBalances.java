@@ -0,0 +1,176 @@
+package com.example.banking_api_challenge.splitbalance;
+
+import com.example.banking_api_challenge.DTO.SplitBalanceResponse;
+import com.example.banking_api_challenge.exception.AccountNotFoundException;
+import com.example.banking_api_challenge.exception.InvalidSplitBalanceException;
+import com.example.banking_api_challenge.ledger.LedgerMode;
+import com.example.banking_api_challenge.ledger.LedgerProperties;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.AccountBalanceSlot;
+import com.example.banking_api_challenge.model.AccountBalanceSlotId;
+import com.example.banking_api_challenge.repository.AccountBalanceSlotRepository;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.statement.DailyBalanceBackfill;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Split balances for hot accounts, typically settlement accounts that receive far more transfers than they send.
+ * <p>
+ * A split account has {@code n} rows in {@code account_balance_slots}. Credits are added to one of them,
+ * picked by hashing the sending account, instead of to the account row, so concurrent credits only wait for
+ * each other when they land on the same slot. The account row keeps the main balance and still takes the
+ * debits; a debit larger than the main balance first locks every slot and folds it into the row. The balance
+ * is the row plus its slots, and balance reads sum both in one statement.
+ * <p>
+ * Locks are always taken as account rows in ascending id order first, then slots in ascending account id
+ * order, so split transfers cannot deadlock with each other or with ordinary ones.
+ * <p>
+ * Slots are only used with {@code banking.ledger.mode=database}. Split accounts have no
+ * {@code daily_balances} rows, since keeping them would put every credit back on one row; their statements
+ * are computed from the transfers table instead, and the rows are rebuilt when the account is merged back.
+ * Each instance caches the designations it has seen at startup or made itself. An instance that has not seen
+ * one credits the account row directly, which is correct but contended, and does not draw on the slots.
+ */
+@Slf4j
+@Component
+public class SplitBalances {
+
+    private final SplitBalanceProperties properties;
+
+    private final LedgerProperties ledgerProperties;
+
+    private final AccountRepository accountRepository;
+
+    private final AccountBalanceSlotRepository slotRepository;
+
+    private final DailyBalanceBackfill dailyBalanceBackfill;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /** Slot count per split account. */
+    private final Map<Long, Integer> slotCounts = new ConcurrentHashMap<>();
+
+    public SplitBalances(SplitBalanceProperties properties, LedgerProperties ledgerProperties, AccountRepository accountRepository,
+                         AccountBalanceSlotRepository slotRepository, DailyBalanceBackfill dailyBalanceBackfill,
+                         PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.ledgerProperties = ledgerProperties;
+        this.accountRepository = accountRepository;
+        this.slotRepository = slotRepository;
+        this.dailyBalanceBackfill = dailyBalanceBackfill;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void loadDesignations() {
+        for (Object[] row : slotRepository.countSlotsByAccount()) {
+            Long accountId = (Long) row[0];
+            if (ledgerProperties.getMode() == LedgerMode.DATABASE) {
+                slotCounts.put(accountId, ((Long) row[1]).intValue());
+            } else {
+                // The other ledger modes read only the account row, so nothing may stay in the slots
+                log.warn("Merging the balance slots of account {}: split balances need banking.ledger.mode=database", accountId);
+                merge(accountId);
+            }
+        }
+    }
+
+    public boolean isSplit(Long accountId) {
+        return slotCounts.containsKey(accountId);
+    }
+
+    /**
+     * Credits a split account in one of its slots. If the account was merged since the caller checked
+     * {@link #isSplit}, the account row is credited instead.
+     */
+    public void credit(Long fromAccountId, Long accountId, BigDecimal amount) {
+        Integer slots = slotCounts.get(accountId);
+        if (slots != null && slotRepository.credit(accountId, slot(fromAccountId, slots), amount) == 1) {
+            return;
+        }
+        if (accountRepository.adjustBalance(accountId, amount) == 0) {
+            throw new AccountNotFoundException("Destination account not found with ID: " + accountId);
+        }
+    }
+
+    /**
+     * Moves everything in the account's slots to its row, which the caller must have locked, and leaves the
+     * slots at zero. Called before a debit the main balance cannot cover.
+     */
+    public void drawOnSlots(Account account) {
+        drawOnSlots(account, slotRepository.findByAccountIdForUpdate(account.getId()));
+    }
+
+    private static void drawOnSlots(Account account, List<AccountBalanceSlot> slots) {
+        BigDecimal collected = BigDecimal.ZERO;
+        for (AccountBalanceSlot slot : slots) {
+            collected = collected.add(slot.getBalance());
+            slot.setBalance(BigDecimal.ZERO);
+        }
+        account.setBalance(account.getBalance().add(collected));
+    }
+
+    /** Splits the account over {@code slots} balance slots, or changes its slot count if it is already split. */
+    public SplitBalanceResponse split(Long accountId, Integer slots) {
+        if (ledgerProperties.getMode() != LedgerMode.DATABASE) {
+            throw new InvalidSplitBalanceException("Split balances need banking.ledger.mode=database");
+        }
+        int count = slots != null ? slots : properties.getDefaultSlots();
+        if (count < 1 || count > properties.getMaxSlots()) {
+            throw new InvalidSplitBalanceException("Slot count must be between 1 and " + properties.getMaxSlots());
+        }
+        BigDecimal balance = transactionTemplate.execute(status -> {
+            Account account = lockAccount(accountId);
+            List<AccountBalanceSlot> existing = slotRepository.findByAccountIdForUpdate(accountId);
+            drawOnSlots(account, existing);
+            List<AccountBalanceSlot> created = new ArrayList<>(count);
+            for (int slot = existing.size(); slot < count; slot++) {
+                created.add(new AccountBalanceSlot(new AccountBalanceSlotId(accountId, slot), BigDecimal.ZERO));
+            }
+            slotRepository.saveAll(created);
+            slotRepository.deleteAll(existing.subList(Math.min(count, existing.size()), existing.size()));
+            return account.getBalance();
+        });
+        slotCounts.put(accountId, count);
+        log.info("Split account {} over {} balance slots", accountId, count);
+        return new SplitBalanceResponse(accountId, count, balance);
+    }
+
+    /**
+     * Folds the slots back into the account row, removes them and rebuilds the account's daily balances.
+     * Credits routed to a slot before the slots are gone are folded in or fall back to the row.
+     */
+    public SplitBalanceResponse merge(Long accountId) {
+        slotCounts.remove(accountId);
+        BigDecimal balance = transactionTemplate.execute(status -> {
+            Account account = lockAccount(accountId);
+            List<AccountBalanceSlot> slots = slotRepository.findByAccountIdForUpdate(accountId);
+            drawOnSlots(account, slots);
+            slotRepository.deleteAll(slots);
+            dailyBalanceBackfill.rebuild(List.of(accountId));
+            return account.getBalance();
+        });
+        log.info("Merged the balance slots of account {}", accountId);
+        return new SplitBalanceResponse(accountId, 0, balance);
+    }
+
+    private Account lockAccount(Long accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
+    }
+
+    private static int slot(Long fromAccountId, int slots) {
+        return Math.floorMod(Long.hashCode(fromAccountId * 0x9E3779B97F4A7C15L), slots);
+    }
+}
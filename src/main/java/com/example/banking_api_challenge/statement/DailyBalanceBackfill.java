@@ -0,0 +1,121 @@
+package com.example.banking_api_challenge.statement;
+
+import com.example.banking_api_challenge.archive.TransferArchive;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.DailyBalance;
+import com.example.banking_api_challenge.repository.AccountBalanceSlotRepository;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.DailyBalanceRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Rebuilds the {@code daily_balances} rollup from the {@code transfers} table and its archive, for data written
+ * before the rollup existed or by bulk loads that bypass the transfer paths.
+ * <p>
+ * Accounts are split into id-ordered chunks that are rebuilt in parallel, each in its own transaction.
+ * A chunk first locks its account rows in ascending id order, the same order transfers lock in, so the
+ * balances it walks back from and the transfers it sums are the same committed state, and transfers on
+ * those accounts simply wait for the chunk to commit before adding to the rebuilt rows.
+ */
+@Slf4j
+@Component
+public class DailyBalanceBackfill {
+
+    private final StatementProperties properties;
+
+    private final AccountRepository accountRepository;
+
+    private final TransferRepository transferRepository;
+
+    private final DailyBalanceRepository dailyBalanceRepository;
+
+    private final AccountBalanceSlotRepository slotRepository;
+
+    private final TransferArchive transferArchive;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public DailyBalanceBackfill(StatementProperties properties, AccountRepository accountRepository,
+                                TransferRepository transferRepository, DailyBalanceRepository dailyBalanceRepository,
+                                AccountBalanceSlotRepository slotRepository, TransferArchive transferArchive,
+                                PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.transferRepository = transferRepository;
+        this.dailyBalanceRepository = dailyBalanceRepository;
+        this.slotRepository = slotRepository;
+        this.transferArchive = transferArchive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public DailyBalanceBackfillSummary backfill() {
+        long start = System.nanoTime();
+        List<Long> accountIds = new ArrayList<>(accountRepository.findAllIds());
+        // Split accounts have no rollup rows until they are merged back, which rebuilds theirs
+        accountIds.removeAll(slotRepository.findSplitAccountIds());
+        int chunkSize = Math.max(1, properties.getBackfillChunkSize());
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < accountIds.size(); i += chunkSize) {
+            chunks.add(accountIds.subList(i, Math.min(i + chunkSize, accountIds.size())));
+        }
+
+        long rows = 0;
+        if (!chunks.isEmpty()) {
+            ExecutorService workers = Executors.newFixedThreadPool(Math.min(Math.max(1, properties.getBackfillParallelism()), chunks.size()));
+            try {
+                List<CompletableFuture<Integer>> rebuilt = chunks.stream()
+                        .map(chunk -> CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> rebuild(chunk)), workers))
+                        .toList();
+                for (CompletableFuture<Integer> chunk : rebuilt) {
+                    rows += chunk.join();
+                }
+            } finally {
+                workers.shutdown();
+            }
+        }
+
+        DailyBalanceBackfillSummary summary = new DailyBalanceBackfillSummary(accountIds.size(), rows,
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("Backfilled {} daily balances for {} accounts in {} ms", summary.rows(), summary.accounts(), summary.durationMillis());
+        return summary;
+    }
+
+    /**
+     * Rebuilds the daily balances of the given accounts from their transfers. Must be called in a transaction;
+     * it locks the account rows until that transaction ends.
+     */
+    public int rebuild(List<Long> accountIds) {
+        List<Account> accounts = accountRepository.findAllByIdForUpdate(accountIds);
+        dailyBalanceRepository.deleteByAccountIds(accountIds);
+
+        DailyMovements movements = new DailyMovements();
+        transferArchive.readConsistently(() -> {
+            movements.debit(transferRepository.sumOutgoingByDay(accountIds));
+            movements.debit(transferArchive.sumOutgoingByDay(accountIds));
+            movements.credit(transferRepository.sumIncomingByDay(accountIds));
+            movements.credit(transferArchive.sumIncomingByDay(accountIds));
+            return movements;
+        });
+        if (movements.isEmpty()) {
+            return 0;
+        }
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        accounts.forEach(account -> balances.put(account.getId(), account.getBalance()));
+        List<DailyBalance> rows = movements.apply(balances, Map.of());
+        dailyBalanceRepository.saveAll(rows);
+        return rows.size();
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.banking_api_challenge.statement;
+
+/** Outcome of a {@link DailyBalanceBackfill} run. */
+public record DailyBalanceBackfillSummary(long accounts, long rows, long durationMillis) {
+}
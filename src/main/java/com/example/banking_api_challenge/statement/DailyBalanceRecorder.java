@@ -0,0 +1,71 @@
+package com.example.banking_api_challenge.statement;
+
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.DailyBalance;
+import com.example.banking_api_challenge.model.DailyBalanceId;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.DailyBalanceRepository;
+import com.example.banking_api_challenge.splitbalance.SplitBalances;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@code daily_balances} rollup current. Every transfer path calls it in the transaction that
+ * applies its transfers, so a committed transfer is always counted in its accounts' rows for that day.
+ * Accounts with split balances are left out, see {@link SplitBalances}.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailyBalanceRecorder {
+
+    private final DailyBalanceRepository dailyBalanceRepository;
+
+    private final SplitBalances splitBalances;
+
+    /**
+     * Adds the transfers to the rollup rows of both their accounts. The transfers' accounts must already
+     * hold their new balances, and the caller must hold their row locks or, with optimistic transfers,
+     * have them version-checked at flush.
+     */
+    public void recordTransfers(List<Transfer> transfers) {
+        if (transfers.isEmpty()) {
+            return;
+        }
+        // Sends the account UPDATEs first: their row locks order concurrent writers of the same account's rows
+        // even for optimistic transfers, and a lost version check fails here before any rollup row is touched
+        dailyBalanceRepository.flush();
+
+        DailyMovements movements = new DailyMovements();
+        Map<Long, BigDecimal> closingBalances = new HashMap<>();
+        for (Transfer transfer : transfers) {
+            Account from = transfer.getFromAccount();
+            Account to = transfer.getToAccount();
+            LocalDate day = transfer.getTimestamp().toLocalDate();
+            // Split accounts have no rollup rows; their credited row may not even be loaded
+            if (!splitBalances.isSplit(from.getId())) {
+                movements.debit(from.getId(), day, transfer.getAmount(), 1);
+                closingBalances.put(from.getId(), from.getBalance());
+            }
+            if (!splitBalances.isSplit(to.getId())) {
+                movements.credit(to.getId(), day, transfer.getAmount(), from.getId().equals(to.getId()) ? 0 : 1);
+                closingBalances.put(to.getId(), to.getBalance());
+            }
+        }
+        if (movements.isEmpty()) {
+            return;
+        }
+
+        Map<DailyBalanceId, DailyBalance> existing = dailyBalanceRepository
+                .findByAccountIdsAndDays(movements.accountIds(), movements.days()).stream()
+                .collect(Collectors.toMap(DailyBalance::getId, Function.identity()));
+        dailyBalanceRepository.saveAll(movements.apply(closingBalances, existing));
+    }
+}
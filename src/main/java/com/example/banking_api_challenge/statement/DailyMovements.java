@@ -0,0 +1,100 @@
+package com.example.banking_api_challenge.statement;
+
+import com.example.banking_api_challenge.model.DailyBalance;
+import com.example.banking_api_challenge.model.DailyBalanceId;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Debit and credit totals per account and day, turned into {@link DailyBalance} rows by walking back
+ * from each account's balance after the last of them: a day closes at the balance the following day
+ * opened with, and opens at its closing balance minus its credits plus its debits.
+ */
+final class DailyMovements {
+
+    private final Map<Long, NavigableMap<LocalDate, Movement>> byAccount = new HashMap<>();
+
+    void debit(Long accountId, LocalDate day, BigDecimal amount, long transfers) {
+        Movement movement = movement(accountId, day);
+        movement.debits = movement.debits.add(amount);
+        movement.transfers += transfers;
+    }
+
+    void credit(Long accountId, LocalDate day, BigDecimal amount, long transfers) {
+        Movement movement = movement(accountId, day);
+        movement.credits = movement.credits.add(amount);
+        movement.transfers += transfers;
+    }
+
+    /** Adds each of the daily totals of outgoing transfers as a debit. */
+    void debit(List<DailyTotals> totals) {
+        totals.forEach(day -> debit(day.accountId(), day.day(), day.amount(), day.transfers()));
+    }
+
+    /** Adds each of the daily totals of incoming transfers as a credit. */
+    void credit(List<DailyTotals> totals) {
+        totals.forEach(day -> credit(day.accountId(), day.day(), day.amount(), day.transfers()));
+    }
+
+    boolean isEmpty() {
+        return byAccount.isEmpty();
+    }
+
+    Set<Long> accountIds() {
+        return byAccount.keySet();
+    }
+
+    Set<LocalDate> days() {
+        Set<LocalDate> days = new TreeSet<>();
+        byAccount.values().forEach(movements -> days.addAll(movements.keySet()));
+        return days;
+    }
+
+    /**
+     * Adds the movements to the {@code existing} rows in place and creates rows for the days that have none.
+     * {@code closingBalances} holds each account's balance after all of its movements, and the movements
+     * must be the latest the account has; an existing row keeps its opening balance.
+     */
+    List<DailyBalance> apply(Map<Long, BigDecimal> closingBalances, Map<DailyBalanceId, DailyBalance> existing) {
+        List<DailyBalance> rows = new ArrayList<>();
+        byAccount.forEach((accountId, movements) -> {
+            BigDecimal balance = closingBalances.get(accountId);
+            for (Map.Entry<LocalDate, Movement> day : movements.descendingMap().entrySet()) {
+                Movement movement = day.getValue();
+                BigDecimal closing = balance;
+                balance = closing.subtract(movement.credits).add(movement.debits);
+                DailyBalanceId id = new DailyBalanceId(accountId, day.getKey());
+                DailyBalance row = existing.get(id);
+                if (row == null) {
+                    row = new DailyBalance(id, balance, closing, movement.debits, movement.credits, movement.transfers);
+                } else {
+                    row.setClosingBalance(closing);
+                    row.setDebits(row.getDebits().add(movement.debits));
+                    row.setCredits(row.getCredits().add(movement.credits));
+                    row.setTransferCount(row.getTransferCount() + movement.transfers);
+                }
+                rows.add(row);
+            }
+        });
+        return rows;
+    }
+
+    private Movement movement(Long accountId, LocalDate day) {
+        return byAccount.computeIfAbsent(accountId, id -> new TreeMap<>()).computeIfAbsent(day, d -> new Movement());
+    }
+
+    private static final class Movement {
+        private BigDecimal debits = BigDecimal.ZERO;
+        private BigDecimal credits = BigDecimal.ZERO;
+        private long transfers;
+    }
+}
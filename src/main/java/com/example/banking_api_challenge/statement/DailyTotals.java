@@ -0,0 +1,8 @@
+package com.example.banking_api_challenge.statement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Sum and number of one account's transfers in one direction on one day. */
+public record DailyTotals(Long accountId, LocalDate day, BigDecimal amount, Long transfers) {
+}
@@ -0,0 +1,15 @@
+package com.example.banking_api_challenge.statement;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "banking.statement")
+public class StatementProperties {
+
+    /** Accounts whose daily balances are rebuilt per backfill transaction; their rows stay locked until it commits. */
+    private int backfillChunkSize = 500;
+
+    /** Backfill chunks rebuilt concurrently, each on its own connection. */
+    private int backfillParallelism = 4;
+}
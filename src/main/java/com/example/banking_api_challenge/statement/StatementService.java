@@ -0,0 +1,172 @@
+package com.example.banking_api_challenge.statement;
+
+import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.AccountStatement;
+import com.example.banking_api_challenge.DTO.BalanceAtResponse;
+import com.example.banking_api_challenge.DTO.DailyBalanceResponse;
+import com.example.banking_api_challenge.archive.TransferArchive;
+import com.example.banking_api_challenge.exception.AccountNotFoundException;
+import com.example.banking_api_challenge.exception.InvalidStatementRangeException;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.DailyBalance;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.DailyBalanceRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import com.example.banking_api_challenge.splitbalance.SplitBalances;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Historical balances and statements read from the {@code daily_balances} rollup instead of the transfer
+ * history. Whole days cost one primary-key range scan however busy the account was; only a point in time
+ * inside a day with transfers also sums that day's transfers up to it.
+ * <p>
+ * With {@code banking.ledger.mode=in-memory} the rollup is written by the write-behind flusher, so it
+ * trails acknowledged transfers by up to one flush interval. Accounts with split balances have no rollup;
+ * theirs are computed from the transfers since the requested time, walking back from the current balance.
+ * Wherever transfers are summed, the archived ones are added in.
+ */
+@Service
+@RequiredArgsConstructor
+public class StatementService {
+
+    public static final int MAX_STATEMENT_DAYS = 366;
+
+    private final AccountRepository accountRepository;
+
+    private final TransferRepository transferRepository;
+
+    private final DailyBalanceRepository dailyBalanceRepository;
+
+    private final SplitBalances splitBalances;
+
+    private final TransferArchive transferArchive;
+
+    @Transactional(readOnly = true)
+    public BalanceAtResponse getBalanceAt(Long accountId, LocalDateTime at) {
+        AccountResponse account = accountRepository.findAccountResponseById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
+        if (at.isBefore(account.getCreatedAt())) {
+            // Nothing to walk back to: without a rollup row the next day's opening balance would be used
+            return new BalanceAtResponse(accountId, at, BigDecimal.ZERO);
+        }
+        if (splitBalances.isSplit(accountId)) {
+            BigDecimal balance = transferArchive.readConsistently(() -> accountRepository.findBalanceAt(accountId, at).orElseThrow()
+                    .subtract(transferArchive.sumIncomingAfter(accountId, at))
+                    .add(transferArchive.sumOutgoingAfter(accountId, at)));
+            return new BalanceAtResponse(accountId, at, balance);
+        }
+        LocalDate day = at.toLocalDate();
+        Optional<DailyBalance> latest = first(dailyBalanceRepository.findLatestOnOrBefore(accountId, day, Limit.of(1)));
+
+        BigDecimal balance;
+        if (latest.isPresent() && latest.get().getId().getDay().equals(day)) {
+            // Partial day: its opening balance plus the transfers from midnight up to the requested time
+            LocalDateTime midnight = day.atStartOfDay();
+            BigDecimal net = transferArchive.readConsistently(() -> transferRepository.sumIncomingBetween(accountId, midnight, at)
+                    .subtract(transferRepository.sumOutgoingBetween(accountId, midnight, at))
+                    .add(transferArchive.sumIncomingBetween(accountId, midnight, at))
+                    .subtract(transferArchive.sumOutgoingBetween(accountId, midnight, at)));
+            balance = latest.get().getOpeningBalance().add(net);
+        } else if (latest.isPresent()) {
+            balance = latest.get().getClosingBalance();
+        } else {
+            balance = balanceBeforeFirstTransferAfter(accountId, day);
+        }
+        return new BalanceAtResponse(accountId, at, balance);
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AccountStatement getStatement(Long accountId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidStatementRangeException("Statement start " + from + " is after its end " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_STATEMENT_DAYS) {
+            throw new InvalidStatementRangeException("A statement covers at most " + MAX_STATEMENT_DAYS + " days");
+        }
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Account not found with ID: " + accountId);
+        }
+
+        List<DailyBalance> days;
+        BigDecimal opening;
+        if (splitBalances.isSplit(accountId)) {
+            days = new ArrayList<>();
+            opening = splitAccountDays(accountId, from, to, days);
+        } else {
+            days = dailyBalanceRepository.findRange(accountId, from, to);
+            opening = first(dailyBalanceRepository.findLatestOnOrBefore(accountId, from.minusDays(1), Limit.of(1)))
+                    .map(DailyBalance::getClosingBalance)
+                    .orElseGet(() -> days.isEmpty() ? balanceBeforeFirstTransferAfter(accountId, to) : days.get(0).getOpeningBalance());
+        }
+        BigDecimal closing = days.isEmpty() ? opening : days.get(days.size() - 1).getClosingBalance();
+
+        BigDecimal debits = BigDecimal.ZERO;
+        BigDecimal credits = BigDecimal.ZERO;
+        long transfers = 0;
+        for (DailyBalance day : days) {
+            debits = debits.add(day.getDebits());
+            credits = credits.add(day.getCredits());
+            transfers += day.getTransferCount();
+        }
+        return new AccountStatement(accountId, from, to, opening, closing, debits, credits, transfers,
+                days.stream().map(StatementService::mapToDailyBalanceResponse).toList());
+    }
+
+    /**
+     * Builds a split account's daily rows for {@code from..to} into {@code days} and returns its balance before
+     * {@code from}, by walking back from the current balance over every day with transfers since {@code from}.
+     * The statement's repeatable-read transaction keeps the balance and the totals in step.
+     */
+    private BigDecimal splitAccountDays(Long accountId, LocalDate from, LocalDate to, List<DailyBalance> days) {
+        LocalDateTime since = from.atStartOfDay();
+        DailyMovements movements = new DailyMovements();
+        transferArchive.readConsistently(() -> {
+            movements.debit(transferRepository.sumOutgoingByDaySince(accountId, since));
+            movements.debit(transferArchive.sumOutgoingByDaySince(accountId, since));
+            movements.credit(transferRepository.sumIncomingByDaySince(accountId, since));
+            movements.credit(transferArchive.sumIncomingByDaySince(accountId, since));
+            return movements;
+        });
+        BigDecimal balance = accountRepository.findAccountResponseById(accountId).orElseThrow().getBalance();
+        if (movements.isEmpty()) {
+            return balance;
+        }
+        // Rows come back newest first and cover days after the statement too
+        List<DailyBalance> rows = movements.apply(Map.of(accountId, balance), Map.of());
+        for (DailyBalance row : rows) {
+            if (!row.getId().getDay().isAfter(to)) {
+                days.add(0, row);
+            }
+        }
+        return rows.get(rows.size() - 1).getOpeningBalance();
+    }
+
+    /** With no rollup row on or before {@code day}, the balance is the one the next active day opened with. */
+    private BigDecimal balanceBeforeFirstTransferAfter(Long accountId, LocalDate day) {
+        return first(dailyBalanceRepository.findEarliestAfter(accountId, day, Limit.of(1)))
+                .map(DailyBalance::getOpeningBalance)
+                .orElseGet(() -> accountRepository.findById(accountId).map(Account::getBalance).orElseThrow());
+    }
+
+    private static Optional<DailyBalance> first(List<DailyBalance> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    private static DailyBalanceResponse mapToDailyBalanceResponse(DailyBalance day) {
+        return new DailyBalanceResponse(day.getId().getDay(), day.getOpeningBalance(), day.getClosingBalance(),
+                day.getDebits(), day.getCredits(), day.getTransferCount());
+    }
+}
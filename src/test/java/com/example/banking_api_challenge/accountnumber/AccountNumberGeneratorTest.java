@@ -0,0 +1,129 @@
+package com.example.banking_api_challenge.accountnumber;
+
+import com.example.banking_api_challenge.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountNumberGeneratorTest {
+
+    private AccountNumberProperties properties;
+
+    private AccountRepository accountRepository;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AccountNumberProperties();
+        properties.setNodeId(7);
+        accountRepository = mock(AccountRepository.class);
+    }
+
+    @Test
+    void next_IssuesIncreasingValidNumbersForTheNode() {
+        // Given
+        AccountNumberGenerator generator = seeded();
+
+        // When
+        String first = generator.next();
+        String second = generator.next();
+
+        // Then
+        assertEquals("ACC-107000000000136", first);
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(AccountNumberGenerator.isValid(first));
+        assertTrue(AccountNumberGenerator.isValid(second));
+    }
+
+    @Test
+    void isValid_RejectsTyposAndTranspositions() {
+        // Given
+        String number = seeded().next();
+        String typo = number.substring(0, 10) + (char) ((number.charAt(10) - '0' + 1) % 10 + '0') + number.substring(11);
+        String swapped = number.substring(0, 16) + number.charAt(17) + number.charAt(16) + number.substring(18);
+
+        // Then
+        assertFalse(AccountNumberGenerator.isValid(typo));
+        assertFalse(AccountNumberGenerator.isValid(swapped));
+        assertFalse(AccountNumberGenerator.isValid("ACC-1A2B3C4D"));
+        assertFalse(AccountNumberGenerator.isValid(null));
+    }
+
+    @Test
+    void seed_ContinuesAfterTheHighestStoredNumber() {
+        // Given
+        when(accountRepository.findMaxAccountNumberStartingWith("ACC-107", 19)).thenReturn(AccountNumberGenerator.format(7, 41));
+
+        // When
+        AccountNumberGenerator generator = seeded();
+
+        // Then
+        assertEquals(AccountNumberGenerator.format(7, 42), generator.next());
+    }
+
+    @Test
+    void reserve_HandsOutAContiguousBlock() {
+        // Given
+        AccountNumberGenerator generator = seeded();
+
+        // When
+        AccountNumberBlock block = generator.reserve(3);
+
+        // Then
+        assertEquals(AccountNumberGenerator.format(7, 1), block.get(0));
+        assertEquals(AccountNumberGenerator.format(7, 3), block.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> block.get(3));
+        assertEquals(AccountNumberGenerator.format(7, 4), generator.next());
+    }
+
+    @Test
+    void next_NeverCollidesAcrossThreads() throws Exception {
+        // Given
+        AccountNumberGenerator generator = seeded();
+        int threads = 4;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                List<String> numbers = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    numbers.add(generator.next());
+                }
+                return numbers;
+            }));
+        }
+        Set<String> unique = new HashSet<>();
+        for (Future<List<String>> result : results) {
+            unique.addAll(result.get(1, TimeUnit.MINUTES));
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(threads * perThread, unique.size());
+    }
+
+    @Test
+    void constructor_RejectsNodeIdsOutsideTwoDigits() {
+        properties.setNodeId(100);
+        assertThrows(IllegalArgumentException.class, () -> new AccountNumberGenerator(properties, accountRepository));
+    }
+
+    private AccountNumberGenerator seeded() {
+        AccountNumberGenerator generator = new AccountNumberGenerator(properties, accountRepository);
+        generator.seed();
+        return generator;
+    }
+}
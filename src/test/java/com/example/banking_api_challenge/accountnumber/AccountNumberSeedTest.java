@@ -0,0 +1,53 @@
+package com.example.banking_api_challenge.accountnumber;
+
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:accountnumberseed"
+})
+class AccountNumberSeedTest {
+
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void seed_IgnoresLegacyHexNumbersSharingTheNodePrefix() {
+        // Given - a legacy number that sorts above the new-format ones of node 0
+        Customer customer = customerRepository.save(new Customer(null, "Seed Customer", null));
+        accountRepository.saveAll(List.of(
+                account(AccountNumberGenerator.format(0, 40), customer),
+                account(AccountNumberGenerator.format(0, 41), customer),
+                account("ACC-100F3A2B", customer)));
+
+        // When
+        accountNumberGenerator.seed();
+
+        // Then
+        assertEquals(AccountNumberGenerator.format(0, 42), accountNumberGenerator.next());
+    }
+
+    private static Account account(String accountNumber, Customer customer) {
+        return Account.builder().accountNumber(accountNumber).balance(BigDecimal.ZERO)
+                .customer(customer).createdAt(LocalDateTime.now()).build();
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.banking_api_challenge.admission;
+
+import com.example.banking_api_challenge.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferAdmissionTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AdmissionProperties properties = new AdmissionProperties();
+
+    private long now = TimeUnit.DAYS.toNanos(1);
+
+    @BeforeEach
+    void setUp() {
+        properties.setClientRate(2);
+        properties.setClientBurst(3);
+        properties.setAccountRate(1);
+        properties.setAccountBurst(2);
+        properties.setInitialLimit(4);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(8);
+        properties.setLatencyWindow(100);
+    }
+
+    @Test
+    void admit_ShedsClientBeyondBurstUntilTokensRefill() {
+        // Given
+        TransferAdmission admission = admission();
+
+        // When - three accounts so only the client bucket runs out
+        admission.admit("partner-a", 1L).close();
+        admission.admit("partner-a", 2L).close();
+        admission.admit("partner-a", 3L).close();
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> admission.admit("partner-a", 4L));
+
+        // Then - another client is unaffected, and the first gets a token back after 1/rate seconds
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        admission.admit("partner-b", 4L).close();
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        admission.admit("partner-a", 4L).close();
+        assertEquals(1.0, registry.get(TransferAdmission.REJECTIONS_COUNTER).tag("scope", "client").counter().count());
+    }
+
+    @Test
+    void admit_ShedsSourceAccountAcrossClients() {
+        // Given
+        TransferAdmission admission = admission();
+        admission.admit("partner-a", 7L).close();
+        admission.admit("partner-b", 7L).close();
+
+        // When
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> admission.admit("partner-c", 7L));
+
+        // Then
+        assertEquals("Transfer rate limit exceeded for the source account", rejected.getMessage());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get(TransferAdmission.REJECTIONS_COUNTER).tag("scope", "account").counter().count());
+    }
+
+    @Test
+    void admit_ShedsBeyondConcurrencyLimitAndReleasesOnClose() {
+        // Given
+        properties.setClientBurst(100);
+        TransferAdmission admission = admission();
+        List<AdmissionPermit> permits = new ArrayList<>();
+        for (long account = 1; account <= 4; account++) {
+            permits.add(admission.admit("partner-a", account));
+        }
+
+        // When
+        assertThrows(AdmissionRejectedException.class, () -> admission.admit("partner-a", 5L));
+        permits.remove(0).close();
+
+        // Then
+        permits.add(admission.admit("partner-a", 5L));
+        assertEquals(4.0, registry.get("banking.admission.in-flight").gauge().value());
+        assertEquals(1.0, registry.get(TransferAdmission.REJECTIONS_COUNTER).tag("scope", "concurrency").counter().count());
+    }
+
+    @Test
+    void admitBatch_PaysATokenPerTransfer() {
+        // Given
+        TransferAdmission admission = admission();
+
+        // When - two transfers out of account 1 use up its burst, so a third transfer from it is shed
+        admission.admitBatch("partner-a", List.of(1L, 1L, 2L)).close();
+        AdmissionRejectedException account = assertThrows(AdmissionRejectedException.class, () -> admission.admit("partner-b", 1L));
+
+        // Then - the client has one of its three tokens left
+        assertEquals("Transfer rate limit exceeded for the source account", account.getMessage());
+        assertThrows(AdmissionRejectedException.class, () -> admission.admitBatch("partner-a", List.of(3L, 4L)));
+        assertEquals(0.0, registry.get("banking.admission.in-flight").gauge().value());
+    }
+
+    @Test
+    void admitBatch_LargerThanTheBurstLeavesTheClientInDebt() {
+        // Given
+        TransferAdmission admission = admission();
+        List<Long> sources = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+
+        // When - seven transfers against a burst of three at two per second
+        admission.admitBatch("partner-a", sources).close();
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, () -> admission.admit("partner-a", 8L));
+
+        // Then - the client waits for the four tokens beyond its burst, plus one
+        assertEquals(3, rejected.getRetryAfterSeconds());
+        now += TimeUnit.MILLISECONDS.toNanos(2500);
+        admission.admit("partner-a", 8L).close();
+    }
+
+    @Test
+    void admitQueued_PaysTokensButHoldsNoConcurrency() {
+        // Given
+        TransferAdmission admission = admission();
+
+        // When
+        admission.admitQueued("partner-a", 1L);
+        admission.admitQueued("partner-a", 1L);
+
+        // Then
+        assertThrows(AdmissionRejectedException.class, () -> admission.admitQueued("partner-a", 1L));
+        assertEquals(0.0, registry.get("banking.admission.in-flight").gauge().value());
+    }
+
+    @Test
+    void limiter_GrowsWhileFastAndBacksOffWhenLatencyRises() {
+        // Given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties);
+
+        // When - fast transfers at 2 ms
+        for (int i = 0; i < 40; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        int grown = limiter.limit();
+
+        // When - latency jumps to 10 ms, far beyond twice the baseline
+        for (int i = 0; i < 40; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // Then
+        assertTrue(grown > 4, "limit should grow, was " + grown);
+        assertTrue(limiter.limit() < grown, "limit should back off, was " + limiter.limit());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2), limiter.baselineNanos());
+    }
+
+    @Test
+    void admit_DisabledAdmitsEverything() {
+        // Given
+        properties.setEnabled(false);
+        TransferAdmission admission = admission();
+
+        // When & Then
+        for (int i = 0; i < 50; i++) {
+            admission.admit("partner-a", 1L);
+        }
+        assertEquals(0.0, registry.get("banking.admission.in-flight").gauge().value());
+    }
+
+    private TransferAdmission admission() {
+        return new TransferAdmission(properties, registry, () -> now);
+    }
+}
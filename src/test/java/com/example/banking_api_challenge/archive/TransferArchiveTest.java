@@ -0,0 +1,261 @@
+package com.example.banking_api_challenge.archive;
+
+import com.example.banking_api_challenge.DTO.AccountStatement;
+import com.example.banking_api_challenge.DTO.TransferHistoryPage;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import com.example.banking_api_challenge.service.AccountService;
+import com.example.banking_api_challenge.splitbalance.SplitBalances;
+import com.example.banking_api_challenge.statement.DailyBalanceBackfill;
+import com.example.banking_api_challenge.statement.StatementService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:transferarchive",
+        "banking.archive.retention=30d",
+        "banking.archive.chunk-size=2",
+        "banking.archive.catalog-refresh=0s"
+})
+class TransferArchiveTest {
+
+    @Autowired
+    private TransferArchive transferArchive;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private DailyBalanceBackfill dailyBalanceBackfill;
+
+    @Autowired
+    private SplitBalances splitBalances;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArchiveProperties archiveProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(new Customer(null, "Archive Customer", null));
+    }
+
+    @Test
+    void archive_MovesOldTransfersAndHistoryStillHasThem() {
+        // Given - history over three months, a self-transfer and one recent transfer
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Account a = account("ACC-ARCH-A", "1000.00");
+        Account b = account("ACC-ARCH-B", "1000.00");
+        List<Transfer> saved = transferRepository.saveAll(List.of(
+                transfer(a, b, "10.00", now.minusDays(200)),
+                transfer(b, a, "4.00", now.minusDays(120)),
+                transfer(a, a, "1.00", now.minusDays(120).plusHours(1)),
+                transfer(a, b, "2.00", now.minusDays(90)),
+                transfer(a, b, "5.00", now.minusHours(1))));
+        List<Long> before = ids(accountService.getTransferHistory(a.getId()));
+
+        // When
+        TransferArchiveSummary summary = transferArchive.archive();
+
+        // Then
+        assertTrue(summary.transfers() >= 4);
+        assertEquals(List.of(saved.get(4).getId()), ids(transferRepository.findTransferResponsesByAccountId(a.getId())));
+        assertEquals(before, ids(accountService.getTransferHistory(a.getId())));
+        List<TransferResponse> exported = new ArrayList<>();
+        accountService.exportTransferHistory(a.getId(), exported::add);
+        assertEquals(before, ids(exported));
+        Transfer oldest = saved.get(0);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition(oldest.getTimestamp()) + " WHERE id = ?",
+                Integer.class, oldest.getId()));
+        assertTrue(transferArchive.mayHoldFrom(now.minusDays(90)));
+        assertFalse(transferArchive.mayHoldFrom(now.minusDays(1)));
+    }
+
+    @Test
+    void getTransferHistoryPage_WalksFromHotIntoArchivedMonths() {
+        // Given
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Account a = account("ACC-ARCH-C", "1000.00");
+        Account b = account("ACC-ARCH-D", "1000.00");
+        List<Transfer> history = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            boolean outgoing = i % 2 == 0;
+            history.add(transfer(outgoing ? a : b, outgoing ? b : a, "1.00", now.minusDays(i * 25L)));
+        }
+        transferRepository.saveAll(history);
+        List<Long> expected = ids(accountService.getTransferHistory(a.getId()));
+        transferArchive.archive();
+
+        // When
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        TransferHistoryPage page;
+        do {
+            page = accountService.getTransferHistoryPage(a.getId(), cursor, 2);
+            paged.addAll(ids(page.getTransfers()));
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        // Then
+        assertEquals(7, expected.size());
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    void statementsAndBalancesIncludeArchivedTransfers() {
+        // Given - one archived day with a transfer either side of noon
+        LocalDate day = LocalDate.now().minusDays(150);
+        Account a = account("ACC-ARCH-E", "75.00");
+        Account b = account("ACC-ARCH-F", "125.00");
+        transferRepository.saveAll(List.of(
+                transfer(a, b, "30.00", day.atTime(10, 0)),
+                transfer(b, a, "5.00", day.atTime(14, 0))));
+        dailyBalanceBackfill.backfill();
+        transferArchive.archive();
+
+        // When - the rollup is rebuilt from the archive alone
+        dailyBalanceBackfill.backfill();
+        AccountStatement statement = statementService.getStatement(a.getId(), day, day);
+
+        // Then
+        assertAmount("70.00", statementService.getBalanceAt(a.getId(), day.atTime(12, 0)).getBalance());
+        assertAmount("100.00", statement.getOpeningBalance());
+        assertAmount("75.00", statement.getClosingBalance());
+        assertAmount("30.00", statement.getTotalDebits());
+        assertAmount("5.00", statement.getTotalCredits());
+        assertEquals(2, statement.getTransferCount());
+
+        // When - split accounts sum the transfers instead of reading the rollup
+        splitBalances.split(a.getId(), 2);
+        try {
+            AccountStatement split = statementService.getStatement(a.getId(), day, day);
+
+            // Then
+            assertAmount("70.00", statementService.getBalanceAt(a.getId(), day.atTime(12, 0)).getBalance());
+            assertAmount("100.00", split.getOpeningBalance());
+            assertAmount("75.00", split.getClosingBalance());
+            assertEquals(2, split.getTransferCount());
+        } finally {
+            splitBalances.merge(a.getId());
+        }
+    }
+
+    @Test
+    void readsSeeMonthsArchivedByAnotherInstance() {
+        // Given - another instance sharing the database archives into a month this one has not seen
+        LocalDateTime longAgo = LocalDateTime.now().withNano(0).minusDays(400);
+        Account a = account("ACC-ARCH-G", "1000.00");
+        Account b = account("ACC-ARCH-H", "1000.00");
+        Transfer old = transferRepository.save(transfer(a, b, "7.00", longAgo));
+        TransferArchive otherInstance = new TransferArchive(archiveProperties, jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+        otherInstance.loadPartitions();
+        otherInstance.archive();
+
+        // When
+        List<Long> history = ids(accountService.getTransferHistory(a.getId()));
+        TransferHistoryPage page = accountService.getTransferHistoryPage(b.getId(), null, 10);
+
+        // Then
+        assertEquals(List.of(old.getId()), history);
+        assertEquals(List.of(old.getId()), ids(page.getTransfers()));
+        assertAmount("7.00", transferArchive.sumOutgoingBetween(a.getId(), longAgo.minusDays(1), longAgo.plusDays(1)));
+    }
+
+    @Test
+    void readConsistently_CountsATransferOnceWhileAnotherInstanceMovesIt() throws Exception {
+        // Given
+        LocalDateTime longAgo = LocalDateTime.now().withNano(0).minusDays(200);
+        Account a = account("ACC-ARCH-I", "1000.00");
+        Account b = account("ACC-ARCH-J", "1000.00");
+        transferRepository.save(transfer(a, b, "9.00", longAgo));
+        TransferArchive otherInstance = new TransferArchive(archiveProperties, jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+        otherInstance.loadPartitions();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When - the other instance archives the transfer between the read of the transfers table and that of the archive
+        BigDecimal total;
+        try {
+            total = transferArchive.readConsistently(() -> {
+                BigDecimal hot = transferRepository.sumOutgoingBetween(a.getId(), longAgo.minusDays(1), longAgo.plusDays(1));
+                try {
+                    executor.submit(otherInstance::archive).get(30, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return hot.add(transferArchive.sumOutgoingBetween(a.getId(), longAgo.minusDays(1), longAgo.plusDays(1)));
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertAmount("9.00", total);
+        assertAmount("9.00", transferArchive.sumOutgoingBetween(a.getId(), longAgo.minusDays(1), longAgo.plusDays(1)));
+    }
+
+    private Account account(String accountNumber, String balance) {
+        return accountRepository.save(Account.builder().accountNumber(accountNumber).balance(new BigDecimal(balance))
+                .customer(customer).createdAt(LocalDateTime.now().minusYears(2)).build());
+    }
+
+    private static Transfer transfer(Account from, Account to, String amount, LocalDateTime timestamp) {
+        return Transfer.builder().fromAccount(from).toAccount(to).amount(new BigDecimal(amount))
+                .timestamp(timestamp).description("Archived").build();
+    }
+
+    private static String partition(LocalDateTime timestamp) {
+        return TransferArchive.PARTITION_PREFIX + DateTimeFormatter.ofPattern("yyyy_MM").format(YearMonth.from(timestamp));
+    }
+
+    private static List<Long> ids(List<TransferResponse> transfers) {
+        return transfers.stream().map(TransferResponse::getId).toList();
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.banking_api_challenge.cache;
+
+import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.CacheStatsResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountBalanceCacheTest {
+
+    private BalanceCacheProperties properties;
+
+    private AccountBalanceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BalanceCacheProperties();
+        cache = new AccountBalanceCache(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_LoadsOnceAndRecordsStats() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get(1L, () -> response(1L, "100.00", loads));
+        AccountResponse second = cache.get(1L, () -> response(1L, "999.00", loads));
+
+        // Then
+        assertEquals(new BigDecimal("100.00"), second.getBalance());
+        assertEquals(1, loads.get());
+        CacheStatsResponse stats = cache.stats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void get_DropsValueLoadedAcrossAConcurrentInvalidation() {
+        // Given - a transfer commits and invalidates while this reader is still loading the old balance
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        AccountResponse stale = cache.get(1L, () -> {
+            AccountResponse old = response(1L, "100.00", loads);
+            cache.evict(1L);
+            return old;
+        });
+        AccountResponse fresh = cache.get(1L, () -> response(1L, "50.00", loads));
+
+        // Then - the stale value was returned to its own caller but never served from the cache
+        assertEquals(new BigDecimal("100.00"), stale.getBalance());
+        assertEquals(new BigDecimal("50.00"), fresh.getBalance());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictAfterCommit_WaitsForCommitAndIgnoresRollback() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, () -> response(1L, "100.00", loads));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When - rolled back
+        cache.evictAfterCommit(List.of(1L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertEquals(new BigDecimal("100.00"), cache.get(1L, () -> response(1L, "0.00", loads)).getBalance());
+
+        // When - committed
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictAfterCommit(List.of(1L));
+        assertEquals(new BigDecimal("100.00"), cache.get(1L, () -> response(1L, "0.00", loads)).getBalance());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertEquals(new BigDecimal("75.00"), cache.get(1L, () -> response(1L, "75.00", loads)).getBalance());
+    }
+
+    @Test
+    void get_BypassesCacheWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get(1L, () -> response(1L, "100.00", loads));
+        cache.get(1L, () -> response(1L, "100.00", loads));
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    private AccountResponse response(Long id, String balance, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new AccountResponse(id, "ACC-" + id, new BigDecimal(balance), 1L, "Test Customer", LocalDateTime.now());
+    }
+}
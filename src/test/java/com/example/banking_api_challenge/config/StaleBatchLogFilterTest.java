@@ -0,0 +1,38 @@
+package com.example.banking_api_challenge.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleBatchLogFilterTest {
+
+    private final StaleBatchLogFilter filter = new StaleBatchLogFilter();
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final Logger batchLogger = context.getLogger(StaleBatchLogFilter.BATCH_LOGGER);
+
+    @Test
+    void decide_DropsStaleBatchesButKeepsOtherBatchFailures() {
+        // Given
+        String stale = "HHH100501: Exception executing batch [org.hibernate.StaleStateException: Batch update returned "
+                + "unexpected row count from update [0]; actual row count: 0; expected: 1], SQL: update accounts set balance=?";
+        String failed = "HHH100501: Exception executing batch [java.sql.BatchUpdateException: Value too long for column], "
+                + "SQL: insert into transfers (amount,description) values (?,?)";
+
+        // Then
+        assertEquals(FilterReply.DENY, decide(batchLogger, Level.ERROR, stale));
+        assertEquals(FilterReply.DENY, decide(batchLogger, Level.INFO, "HHH100503: On release of batch it still contained JDBC statements"));
+        assertEquals(FilterReply.NEUTRAL, decide(batchLogger, Level.ERROR, failed));
+        assertEquals(FilterReply.NEUTRAL, decide(context.getLogger("org.hibernate.SQL"), Level.ERROR, stale));
+        assertEquals(FilterReply.NEUTRAL, decide(batchLogger, Level.INFO, null));
+    }
+
+    private FilterReply decide(Logger logger, Level level, String message) {
+        return filter.decide(null, logger, level, message, null, null);
+    }
+}
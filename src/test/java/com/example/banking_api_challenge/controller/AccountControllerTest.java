@@ -1,32 +1,79 @@
 package com.example.banking_api_challenge.controller;
 
+import com.example.banking_api_challenge.DTO.AccountImportResult;
 import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.AccountStatement;
+import com.example.banking_api_challenge.DTO.AsyncTransferStatus;
+import com.example.banking_api_challenge.DTO.BalanceAtResponse;
+import com.example.banking_api_challenge.DTO.BatchTransferItemResult;
+import com.example.banking_api_challenge.DTO.BatchTransferMode;
+import com.example.banking_api_challenge.DTO.BatchTransferRequest;
+import com.example.banking_api_challenge.DTO.BatchTransferResponse;
 import com.example.banking_api_challenge.DTO.CreateAccountRequest;
+import com.example.banking_api_challenge.DTO.DailyBalanceResponse;
+import com.example.banking_api_challenge.DTO.TransferHistoryPage;
 import com.example.banking_api_challenge.DTO.TransferRequest;
 import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.admission.TransferAdmission;
+import com.example.banking_api_challenge.exception.AccountNotFoundException;
+import com.example.banking_api_challenge.exception.AdmissionRejectedException;
+import com.example.banking_api_challenge.exception.IdempotencyKeyConflictException;
+import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.exception.InvalidStatementRangeException;
+import com.example.banking_api_challenge.exception.TransferQueueFullException;
+import com.example.banking_api_challenge.pipeline.TransferPipeline;
+import com.example.banking_api_challenge.handler.ErrorLogProperties;
+import com.example.banking_api_challenge.handler.ExpectedFailureLog;
+import com.example.banking_api_challenge.service.AccountImportFormat;
+import com.example.banking_api_challenge.service.AccountImportService;
+import com.example.banking_api_challenge.service.AccountImportSummary;
 import com.example.banking_api_challenge.service.AccountService;
+import com.example.banking_api_challenge.service.IdempotentTransfer;
+import com.example.banking_api_challenge.service.TransferIdempotencyService;
+import com.example.banking_api_challenge.statement.StatementService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AccountController.class)
+@Import({SimpleMeterRegistry.class, ExpectedFailureLog.class, ErrorLogProperties.class})
 class AccountControllerTest {
 
     @Autowired
@@ -35,9 +82,35 @@ class AccountControllerTest {
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private TransferIdempotencyService transferIdempotencyService;
+
+    @MockBean
+    private TransferPipeline transferPipeline;
+
+    @MockBean
+    private AccountImportService accountImportService;
+
+    @MockBean
+    private StatementService statementService;
+
+    @MockBean
+    private TransferAdmission transferAdmission;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(transferAdmission.admit(any(), any())).thenReturn(() -> {
+        });
+        when(transferAdmission.admitBatch(any(), any())).thenReturn(() -> {
+        });
+    }
+
     @Test
     void createAccount_Success() throws Exception {
         // Given
@@ -68,7 +141,7 @@ class AccountControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value("Validation Failed"));
+                .andExpect(jsonPath("$.title").value("Validation Failed"));
     }
 
     @Test
@@ -90,7 +163,7 @@ class AccountControllerTest {
         TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer");
         TransferResponse response = new TransferResponse(1L, 1L, 2L, new BigDecimal("100.00"), "Test transfer", LocalDateTime.now());
 
-        when(accountService.transferFunds(any(TransferRequest.class))).thenReturn(response);
+        when(transferIdempotencyService.transfer(eq(null), any(TransferRequest.class))).thenReturn(new IdempotentTransfer(response, false));
 
         // When & Then
         mockMvc.perform(post("/api/accounts/transfer")
@@ -103,6 +176,235 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.amount").value(100.00));
     }
 
+    @Test
+    void transferFunds_ReplaysIdempotentRequest() throws Exception {
+        // Given
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer");
+        TransferResponse response = new TransferResponse(7L, 1L, 2L, new BigDecimal("100.00"), "Test transfer", LocalDateTime.now());
+
+        when(transferIdempotencyService.transfer(eq("key-1"), any(TransferRequest.class))).thenReturn(new IdempotentTransfer(response, true));
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(7));
+    }
+
+    @Test
+    void transferFunds_IdempotencyKeyReusedForDifferentRequest() throws Exception {
+        // Given
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer");
+
+        when(transferIdempotencyService.transfer(eq("key-1"), any(TransferRequest.class)))
+                .thenThrow(new IdempotencyKeyConflictException("Idempotency key key-1 was already used with a different request"));
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.title").value("Idempotency Key Conflict"));
+    }
+
+    @Test
+    void transferFunds_InsufficientFundsIsCounted() throws Exception {
+        // Given
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer");
+        double before = meterRegistry.counter("banking.exceptions", "exception", "InsufficientFundsException").count();
+
+        when(transferIdempotencyService.transfer(eq(null), any(TransferRequest.class)))
+                .thenThrow(new InsufficientFundsException("Insufficient funds in account: ACC-1"));
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.type").value("urn:banking:problem:insufficient-funds"))
+                .andExpect(jsonPath("$.title").value("Insufficient Funds"))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.detail").value("Insufficient funds in account: ACC-1"))
+                .andExpect(jsonPath("$.instance").value("/api/accounts/transfer"));
+        assertEquals(before + 1, meterRegistry.counter("banking.exceptions", "exception", "InsufficientFundsException").count());
+    }
+
+    @Test
+    void transferFunds_ShedByAdmissionControl() throws Exception {
+        // Given
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer");
+
+        when(transferAdmission.admit("partner-a", 1L))
+                .thenThrow(new AdmissionRejectedException("Transfer rate limit exceeded for this client", 3));
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer")
+                        .header("X-Client-Id", "partner-a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(jsonPath("$.type").value("urn:banking:problem:too-many-requests"))
+                .andExpect(jsonPath("$.detail").value("Transfer rate limit exceeded for this client"));
+        verify(transferIdempotencyService, never()).transfer(any(), any());
+    }
+
+    @Test
+    void submitTransfer_Accepted() throws Exception {
+        // Given
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer");
+        AsyncTransferStatus pending = new AsyncTransferStatus("sub-1", AsyncTransferStatus.Status.PENDING, null, null, LocalDateTime.now(), null);
+
+        when(transferPipeline.submit(any(TransferRequest.class))).thenReturn(pending);
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/accounts/transfer/async/sub-1"))
+                .andExpect(jsonPath("$.submissionId").value("sub-1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void getTransferStatus_LongPollsForCompletion() throws Exception {
+        // Given
+        TransferResponse transfer = new TransferResponse(9L, 1L, 2L, new BigDecimal("100.00"), "Test transfer", LocalDateTime.now());
+        AsyncTransferStatus completed = new AsyncTransferStatus("sub-1", AsyncTransferStatus.Status.COMPLETED, transfer, null, LocalDateTime.now(), LocalDateTime.now());
+
+        when(transferPipeline.awaitStatus("sub-1", Duration.ofMillis(5000))).thenReturn(CompletableFuture.completedFuture(completed));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/accounts/transfer/async/sub-1").param("waitMillis", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.transfer.id").value(9));
+    }
+
+    @Test
+    void submitTransfer_QueueFull() throws Exception {
+        // Given
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer");
+
+        when(transferPipeline.submit(any(TransferRequest.class))).thenThrow(new TransferQueueFullException("Transfer queue is full for account 1, retry later"));
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void submitTransfer_ShedByAdmissionControl() throws Exception {
+        // Given
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer");
+
+        doThrow(new AdmissionRejectedException("Transfer rate limit exceeded for this client", 2))
+                .when(transferAdmission).admitQueued("partner-a", 1L);
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer/async")
+                        .header("X-Client-Id", "partner-a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+        verify(transferPipeline, never()).submit(any());
+    }
+
+    @Test
+    void transferFundsBatch_ShedByAdmissionControl() throws Exception {
+        // Given
+        BatchTransferRequest request = new BatchTransferRequest(List.of(
+                new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Salary"),
+                new TransferRequest(1L, 3L, new BigDecimal("50.00"), "Bonus")
+        ), BatchTransferMode.BEST_EFFORT);
+
+        when(transferAdmission.admitBatch("partner-a", List.of(1L, 1L)))
+                .thenThrow(new AdmissionRejectedException("Transfer rate limit exceeded for the source account", 1));
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer/batch")
+                        .header("X-Client-Id", "partner-a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.detail").value("Transfer rate limit exceeded for the source account"));
+        verify(accountService, never()).transferFundsBatch(any());
+    }
+
+    @Test
+    void transferFundsBatch_Success() throws Exception {
+        // Given
+        BatchTransferRequest request = new BatchTransferRequest(List.of(
+                new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Salary"),
+                new TransferRequest(1L, 3L, new BigDecimal("5000.00"), "Bonus")
+        ), BatchTransferMode.BEST_EFFORT);
+        TransferResponse transfer = new TransferResponse(1L, 1L, 2L, new BigDecimal("100.00"), "Salary", LocalDateTime.now());
+        BatchTransferResponse response = new BatchTransferResponse(BatchTransferMode.BEST_EFFORT, true, 1, 1, List.of(
+                new BatchTransferItemResult(0, BatchTransferItemResult.Status.COMPLETED, transfer, null),
+                new BatchTransferItemResult(1, BatchTransferItemResult.Status.FAILED, null, "Insufficient funds in account: ACC-1")
+        ));
+
+        when(accountService.transferFundsBatch(any(BatchTransferRequest.class))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].transfer.id").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"));
+    }
+
+    @Test
+    void transferFundsBatch_RolledBack() throws Exception {
+        // Given
+        BatchTransferRequest request = new BatchTransferRequest(List.of(
+                new TransferRequest(1L, 2L, new BigDecimal("5000.00"), "Bonus")
+        ), BatchTransferMode.ALL_OR_NOTHING);
+        BatchTransferResponse response = new BatchTransferResponse(BatchTransferMode.ALL_OR_NOTHING, false, 0, 1, List.of(
+                new BatchTransferItemResult(0, BatchTransferItemResult.Status.FAILED, null, "Insufficient funds in account: ACC-1")
+        ));
+
+        when(accountService.transferFundsBatch(any(BatchTransferRequest.class))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.committed").value(false));
+    }
+
+    @Test
+    void transferFundsBatch_ValidationError() throws Exception {
+        // Given - empty batch
+        BatchTransferRequest request = new BatchTransferRequest(List.of(), BatchTransferMode.BEST_EFFORT);
+
+        // When & Then
+        mockMvc.perform(post("/api/accounts/transfer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Validation Failed"));
+    }
+
     @Test
     void getTransferHistory_Success() throws Exception {
         // Given
@@ -119,4 +421,143 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[1].id").value(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTransferHistoryPage_Success() throws Exception {
+        // Given
+        TransferResponse transfer = new TransferResponse(7L, 1L, 2L, new BigDecimal("100.00"), "Transfer 7", LocalDateTime.now());
+        TransferHistoryPage page = new TransferHistoryPage(List.of(transfer), "next-token", true);
+
+        when(accountService.getTransferHistoryPage(1L, "token", 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/1/transfers/page").param("cursor", "token").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transfers[0].id").value(7))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void exportTransferHistory_StreamsNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<TransferResponse> sink = invocation.getArgument(1);
+            sink.accept(new TransferResponse(1L, 1L, 2L, new BigDecimal("100.00"), "Transfer 1", null));
+            sink.accept(new TransferResponse(2L, 2L, 1L, new BigDecimal("50.00"), "Transfer 2", null));
+            return null;
+        }).when(accountService).exportTransferHistory(eq(1L), any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/accounts/1/transfers/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"id\":1,\"fromAccountId\":1,\"toAccountId\":2,\"amount\":100.00,\"description\":\"Transfer 1\",\"timestamp\":null}\n"
+                                + "{\"id\":2,\"fromAccountId\":2,\"toAccountId\":1,\"amount\":50.00,\"description\":\"Transfer 2\",\"timestamp\":null}\n"));
+    }
+
+    @Test
+    void exportTransferHistory_AccountNotFound() throws Exception {
+        // Given
+        doThrow(new AccountNotFoundException("Account not found with ID: 999")).when(accountService).requireAccount(999L);
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/999/transfers/export"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("Account not found with ID: 999"));
+        verify(accountService, never()).exportTransferHistory(eq(999L), any());
+    }
+
+    @Test
+    void importAccounts_StreamsOneResultPerNdjsonRow() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Stream<String> lines = invocation.getArgument(0);
+            Consumer<AccountImportResult> sink = invocation.getArgument(2);
+            long[] line = {0};
+            lines.forEach(text -> {
+                line[0]++;
+                sink.accept(new AccountImportResult(line[0], AccountImportResult.Status.CREATED, line[0], "ACC-" + line[0], null));
+            });
+            return new AccountImportSummary(line[0], line[0], 0);
+        }).when(accountImportService).importAccounts(any(), eq(AccountImportFormat.NDJSON), any());
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/accounts/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"customerId\":1,\"initialDeposit\":10.00}\n{\"customerId\":2,\"initialDeposit\":20.00}\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"line\":1,\"status\":\"CREATED\",\"accountId\":1,\"accountNumber\":\"ACC-1\",\"error\":null}\n"
+                                + "{\"line\":2,\"status\":\"CREATED\",\"accountId\":2,\"accountNumber\":\"ACC-2\",\"error\":null}\n"));
+    }
+
+    @Test
+    void importAccounts_RejectsUnsupportedContentType() throws Exception {
+        mockMvc.perform(post("/api/accounts/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void getStatement_Success() throws Exception {
+        // Given
+        LocalDate day = LocalDate.of(2026, 3, 2);
+        AccountStatement statement = new AccountStatement(1L, day, day, new BigDecimal("1000.00"), new BigDecimal("950.00"),
+                new BigDecimal("75.00"), new BigDecimal("25.00"), 3, List.of(new DailyBalanceResponse(day,
+                new BigDecimal("1000.00"), new BigDecimal("950.00"), new BigDecimal("75.00"), new BigDecimal("25.00"), 3)));
+        when(statementService.getStatement(1L, day, day)).thenReturn(statement);
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/1/statement").param("from", "2026-03-02").param("to", "2026-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingBalance").value(1000.00))
+                .andExpect(jsonPath("$.closingBalance").value(950.00))
+                .andExpect(jsonPath("$.transferCount").value(3))
+                .andExpect(jsonPath("$.days[0].day").value("2026-03-02"));
+    }
+
+    @Test
+    void getStatement_InvalidRangeIsBadRequest() throws Exception {
+        // Given
+        when(statementService.getStatement(1L, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 1)))
+                .thenThrow(new InvalidStatementRangeException("Statement start 2026-03-02 is after its end 2026-03-01"));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/1/statement").param("from", "2026-03-02").param("to", "2026-03-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Invalid Statement Range"));
+    }
+
+    @Test
+    void getBalanceAt_Success() throws Exception {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2026, 3, 2, 14, 30);
+        when(statementService.getBalanceAt(1L, at)).thenReturn(new BalanceAtResponse(1L, at, new BigDecimal("975.00")));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/1/balance/at").param("timestamp", "2026-03-02T14:30:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(975.00));
+    }
+
+    @Test
+    void getBalanceAt_MissingTimestampIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/accounts/1/balance/at"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Missing Parameter"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.banking_api_challenge.controller;
+
+import com.example.banking_api_challenge.DTO.CustomerPage;
+import com.example.banking_api_challenge.DTO.CustomerResponse;
+import com.example.banking_api_challenge.DTO.CustomerSortField;
+import com.example.banking_api_challenge.exception.CustomerNotFoundException;
+import com.example.banking_api_challenge.handler.ErrorLogProperties;
+import com.example.banking_api_challenge.handler.ExpectedFailureLog;
+import com.example.banking_api_challenge.service.CustomerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CustomerController.class)
+@Import({SimpleMeterRegistry.class, ExpectedFailureLog.class, ErrorLogProperties.class})
+class CustomerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CustomerService customerService;
+
+    @Test
+    void getAllCustomers_Success() throws Exception {
+        // Given
+        CustomerPage page = new CustomerPage(List.of(new CustomerResponse(1L, "Arisha Barron", 2L, new BigDecimal("150.00"))), 0, 20, 1, 1);
+        when(customerService.getCustomers(0, 20, CustomerSortField.NAME, Sort.Direction.DESC, true)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                        .param("size", "20")
+                        .param("sort", "NAME")
+                        .param("direction", "DESC")
+                        .param("includeAccounts", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers[0].name").value("Arisha Barron"))
+                .andExpect(jsonPath("$.customers[0].accountCount").value(2))
+                .andExpect(jsonPath("$.customers[0].totalBalance").value(150.00))
+                .andExpect(jsonPath("$.customers[0].accounts").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void getAllCustomers_InvalidSort() throws Exception {
+        mockMvc.perform(get("/api/customers").param("sort", "accounts"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Invalid Parameter"));
+    }
+
+    @Test
+    void getCustomer_OmitsSummaryByDefault() throws Exception {
+        // Given
+        when(customerService.getCustomer(1L, false)).thenReturn(new CustomerResponse(1L, "Arisha Barron"));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Arisha Barron"))
+                .andExpect(jsonPath("$.accountCount").doesNotExist());
+    }
+
+    @Test
+    void getCustomer_NotFound() throws Exception {
+        // Given
+        when(customerService.getCustomer(99L, false)).thenThrow(new CustomerNotFoundException("Customer not found with ID: 99"));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.title").value("Customer Not Found"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.banking_api_challenge.controller;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics"
+})
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void prometheusEndpointExposesTransferAndPersistenceMetrics() throws Exception {
+        Customer customer = customerRepository.save(new Customer(null, "Metrics Customer", null));
+        Long from = accountRepository.save(Account.builder().accountNumber("MTA-" + System.nanoTime())
+                .balance(new BigDecimal("100.00")).customer(customer).createdAt(LocalDateTime.now()).build()).getId();
+        Long to = accountRepository.save(Account.builder().accountNumber("MTB-" + System.nanoTime())
+                .balance(BigDecimal.ZERO).customer(customer).createdAt(LocalDateTime.now()).build()).getId();
+
+        mockMvc.perform(post("/api/accounts/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(from, to, new BigDecimal("10.00"), "metrics"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/accounts/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(from, to, new BigDecimal("500.00"), "too much"))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/accounts/{id}/balance", 999_999L))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("banking_transfer_phase_seconds_count{phase=\"load\"")))
+                .andExpect(content().string(containsString("banking_transfer_phase_seconds_count{phase=\"commit\"")))
+                .andExpect(content().string(containsString("banking_http_jdbc_statements_count{method=\"POST\",uri=\"/api/accounts/transfer\"")))
+                .andExpect(content().string(containsString("banking_exceptions_total{exception=\"InsufficientFundsException\"")))
+                .andExpect(content().string(containsString("banking_exceptions_total{exception=\"AccountNotFoundException\"")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"balances\"")));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.banking_api_challenge.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:load-platform",
+        "spring.threads.virtual.enabled=false"
+})
+class PlatformThreadLoadBenchmarkTest extends ThreadingModeLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
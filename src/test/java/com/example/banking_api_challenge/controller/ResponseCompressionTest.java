@@ -0,0 +1,108 @@
+package com.example.banking_api_challenge.controller;
+
+import com.example.banking_api_challenge.DTO.BatchTransferMode;
+import com.example.banking_api_challenge.DTO.BatchTransferRequest;
+import com.example.banking_api_challenge.DTO.CreateAccountRequest;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.service.AccountService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:compression",
+        "server.compression.enabled=true",
+        "server.compression.mime-types=application/json,application/x-ndjson",
+        "server.compression.min-response-size=2KB"
+})
+class ResponseCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private Long fromId;
+
+    @BeforeEach
+    void setUp() {
+        Long customerId = customerRepository.save(new Customer(null, "Compression Customer", null)).getId();
+        fromId = accountService.createAccount(new CreateAccountRequest(customerId, new BigDecimal("1000.00"))).getId();
+        Long toId = accountService.createAccount(new CreateAccountRequest(customerId, new BigDecimal("1000.00"))).getId();
+        List<TransferRequest> transfers = IntStream.range(0, 200)
+                .mapToObj(i -> new TransferRequest(fromId, toId, new BigDecimal("1.00"), "Transfer " + i)).toList();
+        accountService.transferFundsBatch(new BatchTransferRequest(transfers, BatchTransferMode.ALL_OR_NOTHING));
+    }
+
+    @Test
+    void historyPage_IsGzippedAboveThreshold() throws Exception {
+        // When
+        HttpResponse<byte[]> rows = get("/api/accounts/" + fromId + "/transfers/page?limit=200");
+        HttpResponse<byte[]> columns = get("/api/accounts/" + fromId + "/transfers/page?limit=200&format=columnar");
+
+        // Then
+        assertEquals(200, rows.statusCode());
+        assertEquals("gzip", rows.headers().firstValue("Content-Encoding").orElse(null));
+        JsonNode page = objectMapper.readTree(gunzip(rows.body()));
+        assertEquals(200, page.get("transfers").size());
+
+        assertEquals(200, columns.statusCode());
+        JsonNode columnar = objectMapper.readTree(gunzip(columns.body()));
+        assertEquals(200, columnar.get("count").asInt());
+        assertEquals(page.get("transfers").get(0).get("id").asLong(), columnar.get("id").get(0).asLong());
+        assertTrue(columns.body().length < rows.body().length,
+                "columnar " + columns.body().length + " bytes, rows " + rows.body().length + " bytes");
+    }
+
+    @Test
+    void balance_IsNotCompressedBelowThreshold() throws Exception {
+        // When
+        HttpResponse<byte[]> balance = get("/api/accounts/" + fromId + "/balance");
+
+        // Then
+        assertEquals(200, balance.statusCode());
+        assertTrue(balance.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals(fromId, objectMapper.readTree(balance.body()).get("id").asLong());
+    }
+
+    private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip").GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
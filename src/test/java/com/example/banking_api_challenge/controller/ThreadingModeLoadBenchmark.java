@@ -0,0 +1,129 @@
+package com.example.banking_api_challenge.controller;
+
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the balance and transfer endpoints over real HTTP with more concurrent clients than Tomcat has
+ * worker threads, so platform-thread mode queues at the connector while virtual-thread mode queues on the
+ * connection pool. Subclasses pick the threading mode; both log throughput and latency percentiles
+ * and assert only correctness. Tagged {@code load}, so they only run with the {@code load} Maven profile.
+ * Load can be raised with -Dload.requests and -Dload.clients.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "server.tomcat.threads.max=8",
+        "server.tomcat.threads.min-spare=8",
+        "spring.datasource.hikari.maximum-pool-size=8",
+        "spring.datasource.hikari.minimum-idle=8",
+        "banking.admission.enabled=false"
+})
+abstract class ThreadingModeLoadBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 600);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 32);
+    private static final int ACCOUNTS = 20;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    /** Label used in the logged results. */
+    abstract String mode();
+
+    @Test
+    void balanceAndTransferEndpointsUnderLoad() throws Exception {
+        Customer customer = customerRepository.save(new Customer(null, "Load Customer", null));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            ids.add(accountRepository.save(Account.builder().accountNumber("LD-" + i + "-" + System.nanoTime())
+                    .balance(OPENING_BALANCE).customer(customer).createdAt(LocalDateTime.now()).build()).getId());
+        }
+
+        run("balance", i -> HttpRequest.newBuilder(uri("/api/accounts/" + ids.get(i % ACCOUNTS) + "/balance")).GET().build());
+        run("transfer", i -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Long from = ids.get(random.nextInt(ACCOUNTS));
+            Long to = ids.get(random.nextInt(ACCOUNTS));
+            String body = "{\"fromAccountId\":" + from + ",\"toAccountId\":" + to + ",\"amount\":1.00,\"description\":\"load\"}";
+            return HttpRequest.newBuilder(uri("/api/accounts/transfer"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        });
+
+        BigDecimal total = accountRepository.findAllById(ids).stream()
+                .map(Account::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(total), "money must be conserved");
+    }
+
+    private void run(String endpoint, IntFunction<HttpRequest> requests) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long[] latencies = new long[REQUESTS];
+        List<Future<Integer>> statuses = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            int request = i;
+            statuses.add(clients.submit(() -> {
+                long sent = System.nanoTime();
+                int status = http.send(requests.apply(request), HttpResponse.BodyHandlers.discarding()).statusCode();
+                latencies[request] = System.nanoTime() - sent;
+                return status;
+            }));
+        }
+        for (Future<Integer> status : statuses) {
+            int code = status.get(2, TimeUnit.MINUTES);
+            assertTrue(code >= 200 && code < 300, endpoint + " returned " + code);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        clients.shutdown();
+
+        Arrays.sort(latencies);
+        log.info("{} threads {}: {} requests, {} req/s, p50 {} us, p99 {} us",
+                mode(), endpoint, REQUESTS, Math.round(REQUESTS / seconds),
+                TimeUnit.NANOSECONDS.toMicros(latencies[REQUESTS / 2]),
+                TimeUnit.NANOSECONDS.toMicros(latencies[(int) (REQUESTS * 0.99)]));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
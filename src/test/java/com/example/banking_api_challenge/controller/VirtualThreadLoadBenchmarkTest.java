@@ -0,0 +1,18 @@
+package com.example.banking_api_challenge.controller;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.TestPropertySource;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:load-virtual",
+        "spring.threads.virtual.enabled=true"
+})
+class VirtualThreadLoadBenchmarkTest extends ThreadingModeLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.banking_api_challenge.handler;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.banking_api_challenge.exception.AccountNotFoundException;
+import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpectedFailureLogTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ExpectedFailureLog.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private ExpectedFailureLog expectedFailureLog;
+
+    @BeforeEach
+    void setUp() {
+        ErrorLogProperties properties = new ErrorLogProperties();
+        properties.setExpectedLogRate(3);
+        expectedFailureLog = new ExpectedFailureLog(properties);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void businessExceptionsCaptureNoStackTrace() {
+        // When
+        InsufficientFundsException ex = new InsufficientFundsException("Insufficient funds in account: ACC-1");
+        ex.addSuppressed(new IllegalStateException("ignored"));
+
+        // Then
+        assertEquals(0, ex.getStackTrace().length);
+        assertEquals(0, ex.getSuppressed().length);
+        assertEquals("Insufficient funds in account: ACC-1", ex.getMessage());
+    }
+
+    @Test
+    void log_LimitsLinesPerExceptionTypeWithoutStackTraces() {
+        // When - a burst well inside one second
+        for (int i = 0; i < 100; i++) {
+            expectedFailureLog.log(new InsufficientFundsException("Insufficient funds in account: ACC-" + i));
+        }
+        expectedFailureLog.log(new AccountNotFoundException("Account not found with ID: 7"));
+
+        // Then - three lines for the flooded type, and its own budget for the other
+        List<String> lines = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertEquals(List.of(
+                "InsufficientFundsException: Insufficient funds in account: ACC-0",
+                "InsufficientFundsException: Insufficient funds in account: ACC-1",
+                "InsufficientFundsException: Insufficient funds in account: ACC-2",
+                "AccountNotFoundException: Account not found with ID: 7"), lines);
+        assertTrue(appender.list.stream().allMatch(event -> event.getThrowableProxy() == null));
+    }
+
+    @Test
+    void log_ReportsSkippedFailuresOnTheNextLoggedLine() throws InterruptedException {
+        // Given - the budget spent and 7 more dropped
+        for (int i = 0; i < 10; i++) {
+            expectedFailureLog.log(new InsufficientFundsException("Insufficient funds in account: ACC-1"));
+        }
+
+        // When - the next window opens
+        Thread.sleep(1_100);
+        expectedFailureLog.log(new InsufficientFundsException("Insufficient funds in account: ACC-2"));
+
+        // Then
+        assertEquals(4, appender.list.size());
+        assertEquals("InsufficientFundsException: Insufficient funds in account: ACC-2 (7 more not logged)",
+                appender.list.get(3).getFormattedMessage());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.banking_api_challenge.json;
+
+import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.ColumnarTransferPage;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseSerializersTest {
+
+    // Spring Boot writes dates as ISO strings, not timestamp arrays
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    private final ObjectMapper tuned = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializers(new TransferResponseSerializer(), new AccountResponseSerializer(), new ColumnarTransferPageSerializer())
+            .build();
+
+    @Test
+    void transferResponse_MatchesReflectiveOutput() throws Exception {
+        // Given - whole seconds, trimmed fractions, full nanos, nulls and an exponent-form amount
+        List<TransferResponse> transfers = List.of(
+                new TransferResponse(1L, 2L, 3L, new BigDecimal("125.50"), "Invoice \"42\"", LocalDateTime.of(2026, 3, 2, 14, 30)),
+                new TransferResponse(4L, 5L, 6L, new BigDecimal("0.01"), null, LocalDateTime.of(2026, 12, 31, 23, 59, 59, 120_000_000)),
+                new TransferResponse(7L, 8L, 9L, new BigDecimal("1E+3"), "ü", LocalDateTime.of(999, 1, 1, 0, 0, 0, 123_456_789)),
+                new TransferResponse(10L, 11L, 12L, new BigDecimal("99999.99"), "", LocalDateTime.of(2026, 1, 1, 0, 0, 0, 1)),
+                new TransferResponse(null, null, null, null, null, null));
+
+        // When & Then
+        for (TransferResponse transfer : transfers) {
+            assertEquals(reflective.writeValueAsString(transfer), tuned.writeValueAsString(transfer));
+        }
+        assertEquals(reflective.writeValueAsString(transfers), tuned.writeValueAsString(transfers));
+    }
+
+    @Test
+    void accountResponse_MatchesReflectiveOutput() throws Exception {
+        // Given
+        AccountResponse account = new AccountResponse(1L, "ACC-100000000000195", new BigDecimal("1000.00"), 7L, "Arisha Barron",
+                LocalDateTime.of(2026, 10, 17, 4, 22, 29, 494_000_000));
+        AccountResponse empty = new AccountResponse();
+
+        // When & Then
+        assertEquals(reflective.writeValueAsString(account), tuned.writeValueAsString(account));
+        assertEquals(reflective.writeValueAsString(empty), tuned.writeValueAsString(empty));
+    }
+
+    @Test
+    void transferResponse_HonoursTimestampArraysSetting() throws Exception {
+        // Given
+        ObjectMapper reflectiveArrays = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper tunedArrays = Jackson2ObjectMapperBuilder.json().serializers(new TransferResponseSerializer()).build();
+        TransferResponse transfer = new TransferResponse(1L, 2L, 3L, new BigDecimal("1.00"), "x", LocalDateTime.of(2026, 3, 2, 14, 30, 5));
+
+        // When & Then
+        assertEquals(reflectiveArrays.writeValueAsString(transfer), tunedArrays.writeValueAsString(transfer));
+    }
+
+    @Test
+    void columnarTransferPage_WritesOneArrayPerField() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2026, 3, 2, 14, 30);
+        ColumnarTransferPage page = new ColumnarTransferPage(List.of(
+                new TransferResponse(2L, 1L, 3L, new BigDecimal("20.00"), "Second", now),
+                new TransferResponse(1L, 3L, 1L, new BigDecimal("10.00"), null, now.minusSeconds(1))), "cursor", true);
+
+        // When
+        String written = tuned.writeValueAsString(page);
+        JsonNode json = tuned.readTree(written);
+
+        // Then
+        assertEquals(2, json.get("count").asInt());
+        assertEquals("[2,1]", json.get("id").toString());
+        assertEquals("[1,3]", json.get("fromAccountId").toString());
+        assertEquals("[3,1]", json.get("toAccountId").toString());
+        assertTrue(written.contains("\"amount\":[20.00,10.00]"), written);
+        assertEquals("[\"Second\",null]", json.get("description").toString());
+        assertEquals("[\"2026-03-02T14:30:00\",\"2026-03-02T14:29:59\"]", json.get("timestamp").toString());
+        assertEquals("cursor", json.get("nextCursor").asText());
+        assertTrue(json.get("hasMore").asBoolean());
+    }
+}
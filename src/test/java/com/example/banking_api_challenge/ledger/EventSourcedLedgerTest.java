@@ -0,0 +1,158 @@
+package com.example.banking_api_challenge.ledger;
+
+import com.example.banking_api_challenge.DTO.BatchTransferMode;
+import com.example.banking_api_challenge.DTO.BatchTransferRequest;
+import com.example.banking_api_challenge.DTO.CreateAccountRequest;
+import com.example.banking_api_challenge.DTO.LedgerConsistencyReport;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.BalanceSnapshotRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.LedgerEntryRepository;
+import com.example.banking_api_challenge.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scheduled snapshots are pushed out of the way; the tests take them explicitly, including while transfers
+ * are running.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventledger",
+        "banking.ledger.mode=event-sourced",
+        "banking.ledger.snapshot-threshold=10",
+        "banking.ledger.snapshot-interval=PT1H"
+})
+class EventSourcedLedgerTest {
+
+    private static final int TRANSFERS = 200;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private EventLedger eventLedger;
+
+    @Autowired
+    private LedgerSnapshotter snapshotter;
+
+    @Autowired
+    private LedgerConsistencyChecker checker;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private LedgerEntryRepository entryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void balancesAreDerivedFromSnapshotsPlusTail() throws Exception {
+        Long customerId = customerRepository.save(new Customer(null, "Ledger Customer", null)).getId();
+        Long a = accountService.createAccount(new CreateAccountRequest(customerId, new BigDecimal("500.00"))).getId();
+        Long b = accountService.createAccount(new CreateAccountRequest(customerId, new BigDecimal("500.00"))).getId();
+        Long c = accountService.createAccount(new CreateAccountRequest(customerId, BigDecimal.ZERO)).getId();
+
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        Future<Integer> snapshots = background.submit(() -> {
+            int taken = 0;
+            while (!done.get()) {
+                taken += snapshotter.snapshotAll();
+            }
+            return taken;
+        });
+
+        for (int i = 0; i < TRANSFERS; i++) {
+            accountService.transferFunds(new TransferRequest(i % 2 == 0 ? a : b, i % 3 == 0 ? c : (i % 2 == 0 ? b : a),
+                    new BigDecimal("1.25"), "ledger " + i));
+        }
+        accountService.transferFundsBatch(new BatchTransferRequest(List.of(
+                new TransferRequest(a, c, new BigDecimal("10.00"), "batch 1"),
+                new TransferRequest(c, b, new BigDecimal("5.00"), "batch 2"),
+                new TransferRequest(b, a, new BigDecimal("100000.00"), "declined")), BatchTransferMode.BEST_EFFORT));
+        assertThrows(InsufficientFundsException.class,
+                () -> accountService.transferFunds(new TransferRequest(c, a, new BigDecimal("100000.00"), "rolled back")));
+
+        done.set(true);
+        assertTrue(snapshots.get(1, TimeUnit.MINUTES) > 0);
+        background.shutdown();
+
+        for (Long id : List.of(a, b, c)) {
+            assertEquals(0, accountRepository.findById(id).orElseThrow().getBalance().compareTo(eventLedger.derivedBalance(id)),
+                    "account " + id);
+        }
+        LedgerConsistencyReport report = checker.check();
+        assertTrue(report.isConsistent(), () -> report.getDiscrepancies().toString());
+        assertTrue(report.getCheckedAccounts() >= 3);
+    }
+
+    @Test
+    void scheduledSnapshotsKeepTheTailBounded() {
+        Long customerId = customerRepository.save(new Customer(null, "Tail Customer", null)).getId();
+        Long a = accountService.createAccount(new CreateAccountRequest(customerId, new BigDecimal("100.00"))).getId();
+        Long b = accountService.createAccount(new CreateAccountRequest(customerId, new BigDecimal("100.00"))).getId();
+        snapshotter.snapshotAll();
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                accountService.transferFunds(new TransferRequest(round % 2 == 0 ? a : b, round % 2 == 0 ? b : a, BigDecimal.ONE, null));
+            }
+            snapshotter.snapshotDueAccounts();
+        }
+
+        for (Long id : List.of(a, b)) {
+            Long snapshotEntryId = snapshotRepository.findById(id).orElseThrow().getLastEntryId();
+            assertEquals(0, entryRepository.findTail(id, snapshotEntryId).entries(), "account " + id);
+        }
+        assertEquals(0, new BigDecimal("90.00").compareTo(eventLedger.derivedBalance(a)));
+    }
+
+    @Test
+    void checkerReportsAStoredBalanceChangedBehindTheLedger() {
+        Long customerId = customerRepository.save(new Customer(null, "Drift Customer", null)).getId();
+        Long a = accountService.createAccount(new CreateAccountRequest(customerId, new BigDecimal("100.00"))).getId();
+        Long b = accountService.createAccount(new CreateAccountRequest(customerId, new BigDecimal("100.00"))).getId();
+        accountService.transferFunds(new TransferRequest(a, b, new BigDecimal("40.00"), "audited"));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> accountRepository.adjustBalance(b, new BigDecimal("0.01")));
+
+        LedgerConsistencyReport report = checker.check();
+        assertFalse(report.isConsistent());
+        assertEquals(1, report.getInconsistentAccounts());
+        assertEquals(b, report.getDiscrepancies().get(0).getAccountId());
+        assertEquals(0, new BigDecimal("140.01").compareTo(report.getDiscrepancies().get(0).getStoredBalance()));
+        assertEquals(0, new BigDecimal("140.00").compareTo(report.getDiscrepancies().get(0).getDerivedBalance()));
+
+        // Put it back so the other tests sharing this database see a consistent ledger
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> accountRepository.adjustBalance(b, new BigDecimal("-0.01")));
+        assertTrue(checker.check().isConsistent());
+    }
+}
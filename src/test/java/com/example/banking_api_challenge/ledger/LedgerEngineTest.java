@@ -0,0 +1,158 @@
+package com.example.banking_api_challenge.ledger;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.model.LedgerCheckpoint;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.LedgerCheckpointRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import com.example.banking_api_challenge.statement.DailyBalanceRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerEngineTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransferRepository transferRepository;
+
+    @Mock
+    private LedgerCheckpointRepository checkpointRepository;
+
+    @Mock
+    private DailyBalanceRecorder dailyBalanceRecorder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    private LedgerProperties properties;
+
+    private LedgerEngine ledgerEngine;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LedgerProperties();
+        properties.setMode(LedgerMode.IN_MEMORY);
+        properties.setJournalPath(tempDir.resolve("ledger-journal"));
+        properties.setFlushInterval(Duration.ofHours(1));
+        ledgerEngine = new LedgerEngine(properties, accountRepository, transferRepository, checkpointRepository, dailyBalanceRecorder, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ledgerEngine.stop();
+    }
+
+    @Test
+    void transfer_AppliesInMemoryAndWritesBehindOnFlush() throws Exception {
+        // Given
+        Customer customer = new Customer(1L, "Test Customer", null);
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.empty());
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account(1L, "ACC-1", "1000.00", customer)));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(account(2L, "ACC-2", "500.00", customer)));
+        ledgerEngine.start();
+
+        // When
+        TransferResponse first = ledgerEngine.transfer(new TransferRequest(1L, 2L, new BigDecimal("100.00"), "First"));
+        ledgerEngine.transfer(new TransferRequest(2L, 1L, new BigDecimal("30.50"), "Second"));
+
+        // Then - balances move in memory without any database write
+        assertNull(first.getId());
+        assertEquals(new BigDecimal("930.50"), ledgerEngine.currentBalance(1L).orElseThrow());
+        assertEquals(new BigDecimal("569.50"), ledgerEngine.currentBalance(2L).orElseThrow());
+        verify(accountRepository, never()).adjustBalance(anyLong(), any());
+        verify(transferRepository, never()).saveAll(anyList());
+
+        // When
+        assertEquals(2, ledgerEngine.flush());
+
+        // Then - net deltas per account, one transfer row per entry and the checkpoint in one transaction
+        verify(accountRepository).adjustBalance(1L, new BigDecimal("-69.50"));
+        verify(accountRepository).adjustBalance(2L, new BigDecimal("69.50"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transfer>> transfers = ArgumentCaptor.forClass(List.class);
+        verify(transferRepository).saveAll(transfers.capture());
+        assertEquals(2, transfers.getValue().size());
+        ArgumentCaptor<LedgerCheckpoint> checkpoint = ArgumentCaptor.forClass(LedgerCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(2L, checkpoint.getValue().getLastSequence());
+        assertEquals(2L, ledgerEngine.getPersistedSequence());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void transfer_InsufficientFundsLeavesBalancesUntouched() throws Exception {
+        // Given
+        Customer customer = new Customer(1L, "Test Customer", null);
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.empty());
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account(1L, "ACC-1", "50.00", customer)));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(account(2L, "ACC-2", "500.00", customer)));
+        ledgerEngine.start();
+
+        // When & Then
+        assertThrows(InsufficientFundsException.class,
+                () -> ledgerEngine.transfer(new TransferRequest(1L, 2L, new BigDecimal("50.01"), "Too much")));
+        assertEquals(new BigDecimal("50.00"), ledgerEngine.currentBalance(1L).orElseThrow());
+        assertEquals(new BigDecimal("500.00"), ledgerEngine.currentBalance(2L).orElseThrow());
+        assertEquals(0, ledgerEngine.flush());
+    }
+
+    @Test
+    void start_ReplaysJournalEntriesAboveCheckpoint() throws Exception {
+        // Given - entries 1..3 were acknowledged, only 1 reached the database before the crash
+        try (LedgerJournal journal = new LedgerJournal(properties.getJournalPath(), properties.getJournalSegmentBytes())) {
+            journal.append(new JournalEntry(1, 1L, 2L, 1_000, LocalDateTime.now(), "Applied"));
+            journal.append(new JournalEntry(2, 1L, 2L, 2_000, LocalDateTime.now(), "Lost"));
+            journal.append(new JournalEntry(3, 2L, 1L, 500, LocalDateTime.now(), "Lost"));
+        }
+        when(checkpointRepository.findById(1L))
+                .thenReturn(Optional.of(new LedgerCheckpoint(1L, 1L, LocalDateTime.now())));
+
+        // When
+        ledgerEngine.start();
+
+        // Then
+        verify(accountRepository).adjustBalance(1L, new BigDecimal("-15.00"));
+        verify(accountRepository).adjustBalance(2L, new BigDecimal("15.00"));
+        ArgumentCaptor<LedgerCheckpoint> checkpoint = ArgumentCaptor.forClass(LedgerCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(3L, checkpoint.getValue().getLastSequence());
+        assertEquals(3L, ledgerEngine.getPersistedSequence());
+    }
+
+    private Account account(Long id, String accountNumber, String balance, Customer customer) {
+        Account account = new Account(accountNumber, new BigDecimal(balance), customer);
+        account.setId(id);
+        return account;
+    }
+}
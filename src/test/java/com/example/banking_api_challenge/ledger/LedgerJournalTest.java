@@ -0,0 +1,172 @@
+package com.example.banking_api_challenge.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerJournalTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void appendAndReadAll_RoundTripsEntries() throws IOException {
+        // Given
+        JournalEntry first = new JournalEntry(1, 10L, 20L, 12_345, LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_789), "Rent");
+        JournalEntry second = new JournalEntry(2, 20L, 10L, 1, LocalDateTime.of(2024, 5, 1, 10, 15, 31), null);
+
+        try (LedgerJournal journal = new LedgerJournal(tempDir, SEGMENT_BYTES)) {
+            journal.append(first);
+            journal.append(second);
+        }
+
+        // When
+        List<JournalEntry> entries;
+        try (LedgerJournal journal = new LedgerJournal(tempDir, SEGMENT_BYTES)) {
+            entries = journal.readAll();
+        }
+
+        // Then
+        assertEquals(List.of(first, second), entries);
+    }
+
+    @Test
+    void encode_IsCompact() {
+        // Given
+        JournalEntry entry = new JournalEntry(1_000_000, 42L, 4242L, 10_000, LocalDateTime.of(2024, 5, 1, 10, 15, 30), null);
+
+        // Then - length, payload and checksum in 23 bytes, against 64 with fixed-width fields
+        assertEquals(23, LedgerJournal.encode(entry).remaining());
+    }
+
+    @Test
+    void readAll_DiscardsTornTailAndAppendsAfterLastIntactEntry() throws IOException {
+        // Given - a crash left the second record with a length but half of its payload on disk
+        JournalEntry first = new JournalEntry(1, 10L, 20L, 500, LocalDateTime.of(2024, 5, 1, 9, 0), "Coffee");
+        JournalEntry second = new JournalEntry(2, 10L, 20L, 700, LocalDateTime.of(2024, 5, 1, 9, 1), "Lunch");
+        try (LedgerJournal journal = new LedgerJournal(tempDir, SEGMENT_BYTES)) {
+            journal.append(first);
+            journal.append(second);
+        }
+        int intactBytes = LedgerJournal.encode(first).remaining();
+        int secondBytes = LedgerJournal.encode(second).remaining();
+        try (FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(secondBytes / 2), intactBytes + secondBytes / 2);
+        }
+
+        // When
+        JournalEntry third = new JournalEntry(2, 20L, 10L, 3, LocalDateTime.of(2024, 5, 1, 9, 2), null);
+        try (LedgerJournal journal = new LedgerJournal(tempDir, SEGMENT_BYTES)) {
+            assertEquals(List.of(first), journal.readAll());
+            journal.append(third);
+        }
+
+        // Then - the shorter third record leaves none of the torn bytes behind it
+        try (LedgerJournal journal = new LedgerJournal(tempDir, SEGMENT_BYTES)) {
+            assertEquals(List.of(first, third), journal.readAll());
+        }
+    }
+
+    @Test
+    void append_RollsSegmentsAndReleaseDeletesPersistedOnes() throws IOException {
+        // Given
+        List<JournalEntry> appended = new ArrayList<>();
+        try (LedgerJournal journal = new LedgerJournal(tempDir, 256)) {
+            for (int sequence = 1; sequence <= 40; sequence++) {
+                JournalEntry entry = new JournalEntry(sequence, 1L, 2L, sequence, LocalDateTime.of(2024, 5, 1, 9, 0), "Transfer " + sequence);
+                journal.append(entry);
+                appended.add(entry);
+            }
+            int segments = journal.segmentCount();
+            assertTrue(segments > 3, "expected the journal to roll, got " + segments);
+            assertEquals(appended, journal.readAll());
+
+            // When - everything up to 20 is in the database
+            journal.release(20);
+
+            // Then - only segments still holding an entry above 20 are kept
+            List<JournalEntry> kept = journal.readAll();
+            assertTrue(journal.segmentCount() < segments);
+            assertTrue(kept.get(0).sequence() <= 21);
+            assertEquals(appended.subList(appended.size() - kept.size(), appended.size()), kept);
+
+            // When - everything is in the database
+            journal.release(40);
+
+            // Then - the segment being appended to stays
+            assertEquals(1, journal.segmentCount());
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void sync_GroupsConcurrentAppendsIntoSharedForces() throws Exception {
+        // Given
+        int threads = 8;
+        int perThread = 200;
+        ReentrantLock appendLock = new ReentrantLock();
+        AtomicLong sequence = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try (LedgerJournal journal = new LedgerJournal(tempDir, 1024 * 1024)) {
+            // When - every thread appends in sequence order and waits for its own entry to be durable
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        long mine;
+                        appendLock.lock();
+                        try {
+                            mine = sequence.incrementAndGet();
+                            journal.append(new JournalEntry(mine, 1L, 2L, 1, LocalDateTime.now(), null));
+                        } finally {
+                            appendLock.unlock();
+                        }
+                        journal.sync(mine);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(1, TimeUnit.MINUTES);
+            }
+
+            // Then
+            assertEquals(threads * perThread, journal.readAll().size());
+            assertTrue(journal.getForces() < threads * perThread,
+                    "expected fewer forces than synced entries, got " + journal.getForces());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            List<Path> segments = files.toList();
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.banking_api_challenge.loadtest;
+
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:synthetic",
+        "banking.seed.customers=20",
+        "banking.seed.accounts=50",
+        "banking.seed.transfers=500",
+        "banking.load.target-rate=50",
+        "banking.load.duration=2s",
+        "banking.load.max-concurrency=8"
+})
+class SyntheticLoadTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private LoadDriver loadDriver;
+
+    @Test
+    void seed_CreatesSkewedHistoryThatConservesMoney() {
+        // Given - seeded on startup: 4 demo customers plus 20 synthetic ones
+        List<Long> accountIds = accountRepository.findAllIds();
+        List<Transfer> history = transferRepository.findAll().stream()
+                .filter(transfer -> "Synthetic transfer".equals(transfer.getDescription())).toList();
+
+        // Then
+        assertEquals(24, customerRepository.count());
+        assertEquals(50, accountIds.size());
+        assertTrue(history.size() > 400 && history.size() <= 500, "history size " + history.size());
+        assertEquals(0, new BigDecimal("50000.00").compareTo(totalBalance()));
+
+        // The hottest account takes part in far more than its even share of 2 in 50 transfers
+        Long hottest = accountIds.get(0);
+        long involvingHottest = history.stream().filter(transfer -> hottest.equals(transfer.getFromAccount().getId())
+                || hottest.equals(transfer.getToAccount().getId())).count();
+        assertTrue(involvingHottest > history.size() / 4, "hottest account in " + involvingHottest + " transfers");
+    }
+
+    @Test
+    void run_ReportsLatencyPercentilesPerOperation() {
+        // When
+        LoadReport report = loadDriver.run();
+
+        // Then
+        assertEquals(100, report.requests());
+        assertEquals(0, report.errors());
+        assertFalse(report.operations().isEmpty());
+        for (LoadReport.OperationStats stats : report.operations()) {
+            assertTrue(stats.p50Millis() > 0);
+            assertTrue(stats.p50Millis() <= stats.p99Millis() && stats.p99Millis() <= stats.p999Millis());
+        }
+        assertEquals(0, new BigDecimal("50000.00").compareTo(totalBalance()));
+    }
+
+    private BigDecimal totalBalance() {
+        return accountRepository.findAll().stream().map(Account::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.banking_api_challenge.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfDistributionTest {
+
+    @Test
+    void sample_ConcentratesDrawsOnLowRanks() {
+        // Given
+        ZipfDistribution distribution = new ZipfDistribution(1000, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[distribution.size()];
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        // Then - rank 0 takes 1/H(1000) ~ 13% of draws, twice rank 1, and the top 1% about 39%
+        assertEquals(0.134, counts[0] / 100_000.0, 0.01);
+        assertEquals(2.0, (double) counts[0] / counts[1], 0.2);
+        int top = 0;
+        for (int rank = 0; rank < 10; rank++) {
+            top += counts[rank];
+        }
+        assertEquals(0.39, top / 100_000.0, 0.02);
+    }
+
+    @Test
+    void sample_ZeroExponentIsUniform() {
+        // Given
+        ZipfDistribution distribution = new ZipfDistribution(4, 0.0);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[4];
+
+        // When
+        for (int i = 0; i < 40_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        // Then
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+    }
+
+    @Test
+    void constructor_RejectsEmptyRange() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.banking_api_challenge.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final QueryCountInterceptor interceptor = new QueryCountInterceptor(registry);
+
+    private final QueryCountInspector inspector = new QueryCountInspector();
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void afterCompletion_RecordsTheStatementsOfTheRequest() {
+        // Given
+        MockHttpServletRequest request = request("/api/accounts/{accountId}");
+
+        // When
+        interceptor.preHandle(request, response, null);
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+        interceptor.afterCompletion(request, response, null, null);
+        inspector.inspect("select 3");
+
+        // Then
+        DistributionSummary statements = registry.get(QueryCountInterceptor.STATEMENTS_SUMMARY).summary();
+        assertEquals(1, statements.count());
+        assertEquals(2.0, statements.totalAmount());
+        assertEquals(0, QueryCountInspector.stop());
+    }
+
+    @Test
+    void asyncRequestsAreNotRecordedAndLeaveNoCountBehind() {
+        // Given
+        MockHttpServletRequest request = request("/api/accounts/{accountId}/transfers/export");
+
+        // When - the handler starts async work, which later completes on a dispatch thread
+        interceptor.preHandle(request, response, null);
+        inspector.inspect("select 1");
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        inspector.inspect("select 2");
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Then
+        assertNull(registry.find(QueryCountInterceptor.STATEMENTS_SUMMARY).summary());
+        assertEquals(0, QueryCountInspector.stop());
+    }
+
+    private static MockHttpServletRequest request(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
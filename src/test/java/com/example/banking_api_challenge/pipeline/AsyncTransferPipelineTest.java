@@ -0,0 +1,77 @@
+package com.example.banking_api_challenge.pipeline;
+
+import com.example.banking_api_challenge.DTO.AsyncTransferStatus;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transfers out of one account only succeed if they are applied in submission order: the account starts
+ * with exactly enough for the first {@value #AFFORDABLE}, and the one after them must fail.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:pipeline",
+        "banking.pipeline.batch-size=7"
+})
+class AsyncTransferPipelineTest {
+
+    private static final int AFFORDABLE = 50;
+
+    @Autowired
+    private TransferPipeline pipeline;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void appliesEachAccountsTransfersInSubmissionOrder() throws Exception {
+        Customer customer = customerRepository.save(new Customer(null, "Pipeline Customer", null));
+        List<Long> sources = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            sources.add(accountRepository.save(Account.builder().accountNumber("PL-" + i + "-" + System.nanoTime())
+                    .balance(new BigDecimal(AFFORDABLE)).customer(customer).createdAt(LocalDateTime.now()).build()).getId());
+        }
+        Long target = accountRepository.save(Account.builder().accountNumber("PLT-" + System.nanoTime())
+                .balance(BigDecimal.ZERO).customer(customer).createdAt(LocalDateTime.now()).build()).getId();
+
+        // Interleave the sources so their transfers share partitions and micro-batches
+        List<List<String>> submitted = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int n = 0; n <= AFFORDABLE; n++) {
+            for (int s = 0; s < sources.size(); s++) {
+                submitted.get(s).add(pipeline.submit(new TransferRequest(sources.get(s), target, BigDecimal.ONE, "seq " + n)).getSubmissionId());
+            }
+        }
+
+        for (List<String> ids : submitted) {
+            for (int n = 0; n < ids.size(); n++) {
+                AsyncTransferStatus status = pipeline.awaitStatus(ids.get(n), Duration.ofSeconds(30)).get(1, TimeUnit.MINUTES);
+                AsyncTransferStatus.Status expected = n < AFFORDABLE ? AsyncTransferStatus.Status.COMPLETED : AsyncTransferStatus.Status.FAILED;
+                assertEquals(expected, status.getStatus(), "submission " + n);
+                if (expected == AsyncTransferStatus.Status.COMPLETED) {
+                    assertNotNull(status.getTransfer().getId());
+                    assertEquals("seq " + n, status.getTransfer().getDescription());
+                }
+            }
+        }
+        assertEquals(0, new BigDecimal(AFFORDABLE * sources.size()).compareTo(accountRepository.findById(target).orElseThrow().getBalance()));
+    }
+}
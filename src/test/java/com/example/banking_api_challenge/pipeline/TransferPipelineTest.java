@@ -0,0 +1,207 @@
+package com.example.banking_api_challenge.pipeline;
+
+import com.example.banking_api_challenge.DTO.AsyncTransferStatus;
+import com.example.banking_api_challenge.DTO.BatchTransferItemResult;
+import com.example.banking_api_challenge.DTO.BatchTransferMode;
+import com.example.banking_api_challenge.DTO.BatchTransferRequest;
+import com.example.banking_api_challenge.DTO.BatchTransferResponse;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.exception.TransferQueueFullException;
+import com.example.banking_api_challenge.exception.TransferSubmissionNotFoundException;
+import com.example.banking_api_challenge.service.AccountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferPipelineTest {
+
+    @Mock
+    private AccountService accountService;
+
+    private TransferPipelineProperties properties;
+
+    private SimpleMeterRegistry registry;
+
+    private TransferPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TransferPipelineProperties();
+        properties.setPartitions(1);
+        properties.setQueueCapacity(2);
+        registry = new SimpleMeterRegistry();
+        // Workers are not started, so submissions stay queued until the test applies them
+        pipeline = new TransferPipeline(accountService, properties, registry);
+    }
+
+    @Test
+    void submit_QueuesAndReportsDepth() {
+        // When
+        AsyncTransferStatus status = pipeline.submit(new TransferRequest(1L, 2L, new BigDecimal("10.00"), "Rent"));
+
+        // Then
+        assertEquals(AsyncTransferStatus.Status.PENDING, status.getStatus());
+        assertEquals(status, pipeline.getStatus(status.getSubmissionId()));
+        assertEquals(1.0, registry.get("banking.pipeline.queue.depth").gauge().value());
+        assertEquals(1.0, registry.get("banking.pipeline.partition.depth").tag("partition", "0").gauge().value());
+    }
+
+    @Test
+    void submit_RejectsWhenPartitionIsFull() {
+        // Given
+        pipeline.submit(new TransferRequest(1L, 2L, BigDecimal.ONE, null));
+        pipeline.submit(new TransferRequest(1L, 2L, BigDecimal.ONE, null));
+
+        // When & Then
+        assertThrows(TransferQueueFullException.class, () -> pipeline.submit(new TransferRequest(1L, 2L, BigDecimal.ONE, null)));
+        assertEquals(1.0, registry.get("banking.pipeline.rejected").counter().count());
+    }
+
+    @Test
+    void submit_KeepsInFlightTransfersPollableAndRejectsWhenTrackingIsFull() throws Exception {
+        // Given - a worker is stuck applying a batch that took both tracking slots
+        properties.setMaxTrackedSubmissions(2);
+        pipeline = new TransferPipeline(accountService, properties, registry);
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransferResponse transfer = new TransferResponse(5L, 1L, 2L, BigDecimal.ONE, null, LocalDateTime.now());
+        when(accountService.transferFundsBatch(any(BatchTransferRequest.class))).thenAnswer(invocation -> {
+            applying.countDown();
+            release.await();
+            int size = invocation.<BatchTransferRequest>getArgument(0).getTransfers().size();
+            return new BatchTransferResponse(BatchTransferMode.BEST_EFFORT, true, size, 0, IntStream.range(0, size)
+                    .mapToObj(i -> new BatchTransferItemResult(i, BatchTransferItemResult.Status.COMPLETED, transfer, null))
+                    .toList());
+        });
+        AsyncTransferStatus first = pipeline.submit(new TransferRequest(1L, 2L, BigDecimal.ONE, null));
+        AsyncTransferStatus second = pipeline.submit(new TransferRequest(1L, 2L, BigDecimal.ONE, null));
+        pipeline.start();
+        try {
+            assertTrue(applying.await(10, TimeUnit.SECONDS));
+
+            // When & Then - the queue has room again, but the applying transfers are still tracked
+            assertThrows(TransferQueueFullException.class, () -> pipeline.submit(new TransferRequest(1L, 2L, BigDecimal.ONE, null)));
+            assertEquals(AsyncTransferStatus.Status.PENDING, pipeline.getStatus(first.getSubmissionId()).getStatus());
+
+            // When - the batch finishes
+            release.countDown();
+
+            // Then - both are pollable as finished and their slots are free again
+            assertEquals(AsyncTransferStatus.Status.COMPLETED,
+                    pipeline.awaitStatus(second.getSubmissionId(), Duration.ofSeconds(10)).get(10, TimeUnit.SECONDS).getStatus());
+            assertEquals(AsyncTransferStatus.Status.COMPLETED, pipeline.getStatus(first.getSubmissionId()).getStatus());
+            assertEquals(AsyncTransferStatus.Status.PENDING, pipeline.submit(new TransferRequest(1L, 2L, BigDecimal.ONE, null)).getStatus());
+        } finally {
+            release.countDown();
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void constructor_RejectsTrackingSmallerThanTheQueues() {
+        // Given
+        properties.setPartitions(4);
+        properties.setQueueCapacity(100);
+        properties.setMaxTrackedSubmissions(399);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new TransferPipeline(accountService, properties, registry));
+    }
+
+    @Test
+    void apply_MapsBatchResultsInSubmissionOrder() {
+        // Given
+        TransferSubmission first = new TransferSubmission("a", new TransferRequest(1L, 2L, new BigDecimal("10.00"), "first"));
+        TransferSubmission second = new TransferSubmission("b", new TransferRequest(1L, 3L, new BigDecimal("90.00"), "second"));
+        TransferResponse transfer = new TransferResponse(5L, 1L, 2L, new BigDecimal("10.00"), "first", LocalDateTime.now());
+        when(accountService.transferFundsBatch(any(BatchTransferRequest.class))).thenReturn(new BatchTransferResponse(
+                BatchTransferMode.BEST_EFFORT, true, 1, 1, List.of(
+                        new BatchTransferItemResult(0, BatchTransferItemResult.Status.COMPLETED, transfer, null),
+                        new BatchTransferItemResult(1, BatchTransferItemResult.Status.FAILED, null, "Insufficient funds in account: ACC-1"))));
+
+        // When
+        pipeline.apply(List.of(first, second));
+
+        // Then
+        ArgumentCaptor<BatchTransferRequest> batch = ArgumentCaptor.forClass(BatchTransferRequest.class);
+        verify(accountService).transferFundsBatch(batch.capture());
+        assertEquals(BatchTransferMode.BEST_EFFORT, batch.getValue().getMode());
+        assertEquals(List.of("first", "second"), batch.getValue().getTransfers().stream().map(TransferRequest::getDescription).toList());
+        assertEquals(AsyncTransferStatus.Status.COMPLETED, first.status().getStatus());
+        assertEquals(5L, first.status().getTransfer().getId());
+        assertEquals(AsyncTransferStatus.Status.FAILED, second.status().getStatus());
+        assertEquals("Insufficient funds in account: ACC-1", second.status().getError());
+    }
+
+    @Test
+    void apply_FallsBackToSingleTransfersWhenTheBatchFails() {
+        // Given
+        TransferRequest ok = new TransferRequest(1L, 2L, new BigDecimal("10.00"), "ok");
+        TransferRequest broke = new TransferRequest(3L, 2L, new BigDecimal("10.00"), "broke");
+        TransferSubmission first = new TransferSubmission("a", ok);
+        TransferSubmission second = new TransferSubmission("b", broke);
+        when(accountService.transferFundsBatch(any(BatchTransferRequest.class))).thenThrow(new CannotAcquireLockException("lock timeout"));
+        when(accountService.isBatchAtomic()).thenReturn(true);
+        when(accountService.transferFunds(ok)).thenReturn(new TransferResponse(7L, 1L, 2L, new BigDecimal("10.00"), "ok", LocalDateTime.now()));
+        when(accountService.transferFunds(broke)).thenThrow(new InsufficientFundsException("Insufficient funds in account: ACC-3"));
+
+        // When
+        pipeline.apply(List.of(first, second));
+
+        // Then
+        assertEquals(AsyncTransferStatus.Status.COMPLETED, first.status().getStatus());
+        assertEquals(AsyncTransferStatus.Status.FAILED, second.status().getStatus());
+    }
+
+    @Test
+    void apply_DoesNotRetryABatchThatMayBePartlyApplied() {
+        // Given - the in-memory ledger applies items one at a time, so a failed batch did not roll back
+        TransferSubmission first = new TransferSubmission("a", new TransferRequest(1L, 2L, new BigDecimal("10.00"), "applied"));
+        TransferSubmission second = new TransferSubmission("b", new TransferRequest(1L, 2L, new BigDecimal("10.00"), "unknown"));
+        when(accountService.transferFundsBatch(any(BatchTransferRequest.class))).thenThrow(new IllegalStateException("ledger failure"));
+        when(accountService.isBatchAtomic()).thenReturn(false);
+
+        // When
+        pipeline.apply(List.of(first, second));
+
+        // Then
+        verify(accountService, never()).transferFunds(any(TransferRequest.class));
+        assertEquals(AsyncTransferStatus.Status.FAILED, first.status().getStatus());
+        assertEquals(AsyncTransferStatus.Status.FAILED, second.status().getStatus());
+    }
+
+    @Test
+    void awaitStatus_ReturnsPendingWhenTheWaitElapses() throws Exception {
+        // Given
+        AsyncTransferStatus submitted = pipeline.submit(new TransferRequest(1L, 2L, BigDecimal.ONE, null));
+
+        // When
+        CompletableFuture<AsyncTransferStatus> status = pipeline.awaitStatus(submitted.getSubmissionId(), Duration.ofMillis(50));
+
+        // Then
+        assertEquals(AsyncTransferStatus.Status.PENDING, status.get().getStatus());
+        assertEquals(AsyncTransferStatus.Status.PENDING, pipeline.getStatus(submitted.getSubmissionId()).getStatus());
+        assertThrows(TransferSubmissionNotFoundException.class, () -> pipeline.getStatus("unknown"));
+    }
+}
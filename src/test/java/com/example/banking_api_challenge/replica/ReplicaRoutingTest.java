@@ -0,0 +1,170 @@
+package com.example.banking_api_challenge.replica;
+
+import com.example.banking_api_challenge.DTO.CreateAccountRequest;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.archive.TransferArchive;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.service.AccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-primary",
+        "banking.replica.enabled=true",
+        "banking.replica.url=jdbc:h2:mem:replica-secondary;DB_CLOSE_DELAY=-1",
+        "banking.replica.max-staleness=2s",
+        "banking.replica.heartbeat-interval=PT1H",
+        "banking.replica.simulate=true",
+        "banking.replica.replication-interval=PT1H",
+        "banking.replica.replication-delay=PT0S"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private SimulatedReplication replication;
+
+    @Autowired
+    private TransferArchive transferArchive;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(new Customer(null, "Replica Customer", null));
+    }
+
+    @Test
+    void readOnlyTransactionsReadTheReplicaUntilItCatchesUp() throws Exception {
+        // Given
+        Long from = createAccount("100.00");
+        Long to = createAccount("0.00");
+        catchUp();
+        double replicaReads = meterRegistry.counter(ReplicaRoutingDataSource.READS_COUNTER, "target", "replica").count();
+
+        // When
+        accountService.transferFunds(new TransferRequest(from, to, new BigDecimal("10.00"), "Rent"));
+
+        // Then - the replica does not have the transfer yet, and its stale balance is not cached
+        assertTrue(accountService.getTransferHistory(from).isEmpty());
+        assertAmount("100.00", accountService.getAccountBalance(from).getBalance());
+        catchUp();
+        assertEquals(1, accountService.getTransferHistory(from).size());
+        assertAmount("90.00", accountService.getAccountBalance(from).getBalance());
+        assertEquals(replicaReads + 4, meterRegistry.counter(ReplicaRoutingDataSource.READS_COUNTER, "target", "replica").count());
+    }
+
+    @Test
+    void readsGoToPrimaryWhenReplicaIsTooFarBehind() throws Exception {
+        // Given
+        Long from = createAccount("100.00");
+        Long to = createAccount("0.00");
+        catchUp();
+        accountService.transferFunds(new TransferRequest(from, to, new BigDecimal("10.00"), "Rent"));
+
+        // When - no heartbeat comes back for longer than max-staleness
+        Thread.sleep(2_200);
+
+        // Then
+        assertEquals(1, accountService.getTransferHistory(from).size());
+    }
+
+    @Test
+    void clientReadsItsOwnTransferFromPrimary() throws Exception {
+        // Given
+        Long from = createAccount("100.00");
+        Long to = createAccount("0.00");
+        catchUp();
+
+        // When
+        mockMvc.perform(post("/api/accounts/transfer")
+                        .header("X-Client-Id", "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(from, to, new BigDecimal("10.00"), "Rent"))))
+                .andExpect(status().isCreated());
+
+        // Then - the writer sees its transfer, another client still reads the replica
+        mockMvc.perform(get("/api/accounts/" + from + "/transfers").header("X-Client-Id", "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/api/accounts/" + from + "/transfers").header("X-Client-Id", "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void replicaReadsSkipArchiveTablesItDoesNotHaveYet() throws Exception {
+        // Given - a transfer old enough to archive, on the replica while still in the transfers table
+        Long from = createAccount("100.00");
+        Long to = createAccount("0.00");
+        TransferResponse transfer = accountService.transferFunds(new TransferRequest(from, to, new BigDecimal("10.00"), "Rent"));
+        jdbcTemplate.update("UPDATE transfers SET timestamp = ? WHERE id = ?", LocalDateTime.now().minusYears(2), transfer.getId());
+        catchUp();
+
+        // When
+        transferArchive.archive();
+
+        // Then - before and after the replica gets the new month table, the transfer is read exactly once
+        assertEquals(1, accountService.getTransferHistory(from).size());
+        catchUp();
+        assertEquals(1, accountService.getTransferHistory(from).size());
+        assertEquals(1, accountService.getTransferHistoryPage(from, null, 10).getTransfers().size());
+    }
+
+    /** Heartbeat, replicate, then read the heartbeat back, so the replica is current and known to be. */
+    private void catchUp() throws Exception {
+        lagMonitor.heartbeat();
+        replication.replicateNow();
+        lagMonitor.heartbeat();
+    }
+
+    private Long createAccount(String balance) {
+        return accountService.createAccount(new CreateAccountRequest(customer.getId(), new BigDecimal(balance))).getId();
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.AccountImportResult;
+import com.example.banking_api_challenge.accountnumber.AccountNumberGenerator;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:accountimport",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "banking.import.chunk-size=3"
+})
+class AccountImportTest {
+
+    @Autowired
+    private AccountImportService accountImportService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = customerRepository.save(new Customer(null, "Import Customer", null)).getId();
+    }
+
+    @Test
+    void importAccounts_CsvReportsEveryRowInOrder() {
+        // Given
+        Stream<String> csv = Stream.of(
+                "customerId,initialDeposit",
+                customerId + ",100.00",
+                "999999,50.00",
+                "",
+                customerId + ",-5",
+                "not-a-number,10",
+                customerId + ",250.50");
+        List<AccountImportResult> results = new ArrayList<>();
+
+        // When
+        AccountImportSummary summary = accountImportService.importAccounts(csv, AccountImportFormat.CSV, results::add);
+
+        // Then
+        assertEquals(new AccountImportSummary(5, 2, 3), summary);
+        assertEquals(List.of(2L, 3L, 5L, 6L, 7L), results.stream().map(AccountImportResult::getLine).toList());
+        assertEquals(AccountImportResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals("Customer not found with ID: 999999", results.get(1).getError());
+        assertEquals("Initial deposit must be positive", results.get(2).getError());
+        assertEquals("Invalid number in 'not-a-number,10'", results.get(3).getError());
+
+        Account created = accountRepository.findById(results.get(4).getAccountId()).orElseThrow();
+        assertEquals(0, new BigDecimal("250.50").compareTo(created.getBalance()));
+        assertEquals(results.get(4).getAccountNumber(), created.getAccountNumber());
+        assertTrue(AccountNumberGenerator.isValid(created.getAccountNumber()));
+    }
+
+    @Test
+    void importAccounts_NdjsonReportsMalformedRows() {
+        // Given
+        Stream<String> ndjson = Stream.of(
+                "{\"customerId\":" + customerId + ",\"initialDeposit\":10.00}",
+                "{\"customerId\":" + customerId + ",",
+                "{\"initialDeposit\":10.00}");
+        List<AccountImportResult> results = new ArrayList<>();
+
+        // When
+        AccountImportSummary summary = accountImportService.importAccounts(ndjson, AccountImportFormat.NDJSON, results::add);
+
+        // Then
+        assertEquals(new AccountImportSummary(3, 1, 2), summary);
+        assertEquals(AccountImportResult.Status.CREATED, results.get(0).getStatus());
+        assertTrue(results.get(1).getError().startsWith("Malformed JSON"));
+        assertEquals("Customer ID is required", results.get(2).getError());
+    }
+
+    @Test
+    void importAccounts_ValidatesCustomersOncePerChunk() {
+        // Given - 30 rows in chunks of 3
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Stream<String> csv = IntStream.range(0, 30).mapToObj(i -> customerId + ",1.00");
+        statistics.clear();
+
+        // When
+        AccountImportSummary summary = accountImportService.importAccounts(csv, AccountImportFormat.CSV, result -> { });
+
+        // Then - one customer lookup per chunk, customers referenced without being loaded
+        assertEquals(30, summary.created());
+        assertEquals(10, statistics.getQueryExecutionCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(30, statistics.getEntityInsertCount());
+    }
+}
@@ -1,32 +1,61 @@
 package com.example.banking_api_challenge.service;
 
 import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.BatchTransferItemResult;
+import com.example.banking_api_challenge.DTO.BatchTransferMode;
+import com.example.banking_api_challenge.DTO.BatchTransferRequest;
+import com.example.banking_api_challenge.DTO.BatchTransferResponse;
 import com.example.banking_api_challenge.DTO.CreateAccountRequest;
+import com.example.banking_api_challenge.DTO.TransferHistoryPage;
 import com.example.banking_api_challenge.DTO.TransferRequest;
 import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.accountnumber.AccountNumberGenerator;
+import com.example.banking_api_challenge.archive.TransferArchive;
+import com.example.banking_api_challenge.cache.AccountBalanceCache;
+import com.example.banking_api_challenge.cache.BalanceCacheProperties;
 import com.example.banking_api_challenge.exception.AccountNotFoundException;
 import com.example.banking_api_challenge.exception.CustomerNotFoundException;
 import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.exception.InvalidCursorException;
+import com.example.banking_api_challenge.exception.UnsupportedIdempotencyKeyException;
+import com.example.banking_api_challenge.ledger.EventLedger;
+import com.example.banking_api_challenge.ledger.LedgerEngine;
+import com.example.banking_api_challenge.metrics.TransferMetrics;
 import com.example.banking_api_challenge.model.Account;
 import com.example.banking_api_challenge.model.Customer;
 import com.example.banking_api_challenge.model.Transfer;
 import com.example.banking_api_challenge.repository.AccountRepository;
 import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.IdempotencyRecordRepository;
 import com.example.banking_api_challenge.repository.TransferRepository;
+import com.example.banking_api_challenge.splitbalance.SplitBalances;
+import com.example.banking_api_challenge.statement.DailyBalanceRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,12 +63,45 @@ class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
     @Mock
     private CustomerRepository customerRepository;
 
     @Mock
     private TransferRepository transferRepository;
 
+    @Mock
+    private LedgerEngine ledgerEngine;
+
+    @Mock
+    private EventLedger eventLedger;
+
+    @Mock
+    private DailyBalanceRecorder dailyBalanceRecorder;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private SplitBalances splitBalances;
+
+    @Mock
+    private TransferArchive transferArchive;
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private AccountBalanceCache balanceCache = new AccountBalanceCache(new BalanceCacheProperties());
+
+    private final TransferConcurrencyProperties concurrencyProperties = new TransferConcurrencyProperties();
+
+    @Spy
+    private TransferRetryTemplate transferRetry = new TransferRetryTemplate(concurrencyProperties,
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
     @InjectMocks
     private AccountService accountService;
 
@@ -58,6 +120,7 @@ class AccountServiceTest {
         // Given
         CreateAccountRequest request = new CreateAccountRequest(1L, new BigDecimal("500.00"));
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(accountNumberGenerator.next()).thenReturn("ACC-100000000000195");
         when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
 
         // When
@@ -70,7 +133,7 @@ class AccountServiceTest {
         assertEquals(testCustomer.getId(), response.getCustomerId());
         assertEquals(testCustomer.getName(), response.getCustomerName());
         verify(customerRepository).findById(1L);
-        verify(accountRepository).save(any(Account.class));
+        verify(accountRepository).save(argThat(account -> "ACC-100000000000195".equals(account.getAccountNumber())));
     }
 
     @Test
@@ -88,7 +151,8 @@ class AccountServiceTest {
     @Test
     void getAccountBalance_Success() {
         // Given
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
+        AccountResponse projected = new AccountResponse(1L, "ACC-12345", new BigDecimal("1000.00"), 1L, "Test Customer", LocalDateTime.now());
+        when(accountRepository.findAccountResponseById(1L)).thenReturn(Optional.of(projected));
 
         // When
         AccountResponse response = accountService.getAccountBalance(1L);
@@ -97,17 +161,46 @@ class AccountServiceTest {
         assertNotNull(response);
         assertEquals(testAccount.getId(), response.getId());
         assertEquals(testAccount.getBalance(), response.getBalance());
-        verify(accountRepository).findById(1L);
+        assertEquals(testCustomer.getName(), response.getCustomerName());
+        verify(accountRepository).findAccountResponseById(1L);
+        verify(accountRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getAccountBalance_ServedFromCacheUntilTransferEvicts() {
+        // Given
+        AccountResponse projected = new AccountResponse(1L, "ACC-12345", new BigDecimal("1000.00"), 1L, "Test Customer", LocalDateTime.now());
+        when(accountRepository.findAccountResponseById(1L)).thenReturn(Optional.of(projected));
+
+        // When
+        accountService.getAccountBalance(1L);
+        accountService.getAccountBalance(1L);
+
+        // Then
+        verify(accountRepository, times(1)).findAccountResponseById(1L);
+
+        // When - a transfer touching the account invalidates the entry
+        Account toAccount = new Account("ACC-67890", new BigDecimal("500.00"), testCustomer);
+        toAccount.setId(2L);
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(toAccount));
+        when(transferRepository.save(any(Transfer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        accountService.transferFunds(new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer"));
+        accountService.getAccountBalance(1L);
+
+        // Then
+        verify(balanceCache).evictAfterCommit(List.of(1L, 2L));
+        verify(accountRepository, times(2)).findAccountResponseById(1L);
     }
 
     @Test
     void getAccountBalance_AccountNotFound() {
         // Given
-        when(accountRepository.findById(999L)).thenReturn(Optional.empty());
+        when(accountRepository.findAccountResponseById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(AccountNotFoundException.class, () -> accountService.getAccountBalance(999L));
-        verify(accountRepository).findById(999L);
+        verify(accountRepository).findAccountResponseById(999L);
     }
 
     @Test
@@ -118,8 +211,8 @@ class AccountServiceTest {
 
         TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer");
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
-        when(accountRepository.findById(2L)).thenReturn(Optional.of(toAccount));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(toAccount));
 
         Transfer savedTransfer = new Transfer(testAccount, toAccount, new BigDecimal("100.00"), "Test transfer");
         savedTransfer.setId(1L);
@@ -138,6 +231,27 @@ class AccountServiceTest {
         verify(accountRepository).save(testAccount);
         verify(accountRepository).save(toAccount);
         verify(transferRepository).save(any(Transfer.class));
+        verify(dailyBalanceRecorder).recordTransfers(List.of(savedTransfer));
+    }
+
+    @Test
+    void transferFunds_OptimisticStrategyReadsWithoutLocks() {
+        // Given
+        concurrencyProperties.setStrategy(ConcurrencyStrategy.OPTIMISTIC);
+        Account toAccount = new Account("ACC-67890", new BigDecimal("500.00"), testCustomer);
+        toAccount.setId(2L);
+
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(toAccount));
+        when(transferRepository.save(any(Transfer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        accountService.transferFunds(new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Test transfer"));
+
+        // Then
+        assertEquals(new BigDecimal("900.00"), testAccount.getBalance());
+        assertEquals(new BigDecimal("600.00"), toAccount.getBalance());
+        verify(accountRepository, never()).findByIdForUpdate(any());
     }
 
     @Test
@@ -148,8 +262,8 @@ class AccountServiceTest {
 
         TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("1500.00"), "Test transfer");
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
-        when(accountRepository.findById(2L)).thenReturn(Optional.of(toAccount));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(toAccount));
 
         // When & Then
         assertThrows(InsufficientFundsException.class, () -> accountService.transferFunds(request));
@@ -160,30 +274,153 @@ class AccountServiceTest {
     @Test
     void transferFunds_FromAccountNotFound() {
         // Given
+        Account toAccount = new Account("ACC-67890", new BigDecimal("500.00"), testCustomer);
+        toAccount.setId(2L);
+
         TransferRequest request = new TransferRequest(999L, 2L, new BigDecimal("100.00"), "Test transfer");
-        when(accountRepository.findById(999L)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(toAccount));
+        when(accountRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(AccountNotFoundException.class, () -> accountService.transferFunds(request));
-        verify(accountRepository).findById(999L);
+        verify(accountRepository).findByIdForUpdate(999L);
         verify(transferRepository, never()).save(any(Transfer.class));
     }
 
     @Test
-    void getTransferHistory_Success() {
+    void transferFunds_LocksAccountsInAscendingIdOrder() {
+        // Given - transfer from the higher id to the lower id
+        Account toAccount = new Account("ACC-67890", new BigDecimal("500.00"), testCustomer);
+        toAccount.setId(2L);
+
+        TransferRequest request = new TransferRequest(2L, 1L, new BigDecimal("100.00"), "Reverse transfer");
+
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(toAccount));
+        when(transferRepository.save(any(Transfer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        accountService.transferFunds(request);
+
+        // Then
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).findByIdForUpdate(1L);
+        inOrder.verify(accountRepository).findByIdForUpdate(2L);
+        assertEquals(new BigDecimal("400.00"), toAccount.getBalance());
+        assertEquals(new BigDecimal("1100.00"), testAccount.getBalance());
+    }
+
+    @Test
+    void transferFunds_InMemoryLedgerRefusesIdempotencyKeys() {
+        // Given - the ledger journals outside the transaction that would insert the key, and that insert fails
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Keyed transfer");
+        when(ledgerEngine.isEnabled()).thenReturn(true);
+        lenient().when(idempotencyRecordRepository.save(any())).thenThrow(new DataIntegrityViolationException("key insert failed"));
+
+        // When - the client retries with the same key
+        assertThrows(UnsupportedIdempotencyKeyException.class, () -> accountService.transferFunds(request, "key-1", "hash"));
+        assertThrows(UnsupportedIdempotencyKeyException.class, () -> accountService.transferFunds(request, "key-1", "hash"));
+
+        // Then - no money moved
+        verify(ledgerEngine, never()).transfer(any());
+    }
+
+    @Test
+    void transferFundsBatch_InMemoryLedgerReportsAJournalFailurePerItem() {
+        // Given - the journal cannot be forced for the second of three transfers
+        TransferRequest first = new TransferRequest(1L, 2L, new BigDecimal("10.00"), "First");
+        TransferRequest second = new TransferRequest(1L, 2L, new BigDecimal("20.00"), "Second");
+        TransferRequest third = new TransferRequest(1L, 2L, new BigDecimal("30.00"), "Third");
+        when(ledgerEngine.isEnabled()).thenReturn(true);
+        when(ledgerEngine.transfer(first)).thenReturn(new TransferResponse(null, 1L, 2L, new BigDecimal("10.00"), "First", LocalDateTime.now()));
+        when(ledgerEngine.transfer(second)).thenThrow(new UncheckedIOException("Transfer was journaled but could not be forced to storage",
+                new IOException("disk full")));
+        when(ledgerEngine.transfer(third)).thenReturn(new TransferResponse(null, 1L, 2L, new BigDecimal("30.00"), "Third", LocalDateTime.now()));
+
+        // When
+        BatchTransferResponse response = accountService.transferFundsBatch(
+                new BatchTransferRequest(List.of(first, second, third), BatchTransferMode.BEST_EFFORT));
+
+        // Then - the batch does not throw, and each transfer reached the ledger exactly once
+        assertEquals(List.of(BatchTransferItemResult.Status.COMPLETED, BatchTransferItemResult.Status.FAILED, BatchTransferItemResult.Status.COMPLETED),
+                response.getResults().stream().map(BatchTransferItemResult::getStatus).toList());
+        assertEquals("Transfer was journaled but could not be forced to storage", response.getResults().get(1).getError());
+        assertFalse(accountService.isBatchAtomic());
+        verify(ledgerEngine).transfer(first);
+        verify(ledgerEngine).transfer(second);
+        verify(ledgerEngine).transfer(third);
+    }
+
+    @Test
+    void transferFundsBatch_BestEffortCommitsValidItems() {
+        // Given
+        Account toAccount = new Account("ACC-67890", new BigDecimal("500.00"), testCustomer);
+        toAccount.setId(2L);
+
+        BatchTransferRequest request = new BatchTransferRequest(List.of(
+                new TransferRequest(1L, 2L, new BigDecimal("600.00"), "Salary 1"),
+                new TransferRequest(1L, 2L, new BigDecimal("600.00"), "Salary 2"),
+                new TransferRequest(1L, 3L, new BigDecimal("10.00"), "Salary 3"),
+                new TransferRequest(2L, 1L, new BigDecimal("100.00"), "Refund")
+        ), BatchTransferMode.BEST_EFFORT);
+
+        when(accountRepository.findAllByIdForUpdate(List.of(1L, 2L, 3L))).thenReturn(List.of(testAccount, toAccount));
+        when(transferRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BatchTransferResponse response = accountService.transferFundsBatch(request);
+
+        // Then
+        assertTrue(response.isCommitted());
+        assertEquals(2, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertEquals(BatchTransferItemResult.Status.COMPLETED, response.getResults().get(0).getStatus());
+        assertEquals(BatchTransferItemResult.Status.FAILED, response.getResults().get(1).getStatus());
+        assertEquals("Insufficient funds in account: ACC-12345", response.getResults().get(1).getError());
+        assertEquals("Destination account not found with ID: 3", response.getResults().get(2).getError());
+        assertEquals("Refund", response.getResults().get(3).getTransfer().getDescription());
+        assertEquals(new BigDecimal("500.00"), testAccount.getBalance());
+        assertEquals(new BigDecimal("1000.00"), toAccount.getBalance());
+    }
+
+    @Test
+    void transferFundsBatch_AllOrNothingRollsBackOnAnyFailure() {
         // Given
         Account toAccount = new Account("ACC-67890", new BigDecimal("500.00"), testCustomer);
         toAccount.setId(2L);
 
-        Transfer transfer1 = new Transfer(testAccount, toAccount, new BigDecimal("100.00"), "Transfer 1");
-        transfer1.setId(1L);
-        Transfer transfer2 = new Transfer(toAccount, testAccount, new BigDecimal("50.00"), "Transfer 2");
-        transfer2.setId(2L);
+        BatchTransferRequest request = new BatchTransferRequest(List.of(
+                new TransferRequest(1L, 2L, new BigDecimal("600.00"), "Salary 1"),
+                new TransferRequest(1L, 2L, new BigDecimal("600.00"), "Salary 2")
+        ), BatchTransferMode.ALL_OR_NOTHING);
+
+        when(accountRepository.findAllByIdForUpdate(List.of(1L, 2L))).thenReturn(List.of(testAccount, toAccount));
+
+        // When
+        BatchTransferResponse response = accountService.transferFundsBatch(request);
+
+        // Then
+        assertFalse(response.isCommitted());
+        assertEquals(0, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        assertEquals(BatchTransferItemResult.Status.ROLLED_BACK, response.getResults().get(0).getStatus());
+        assertEquals(BatchTransferItemResult.Status.FAILED, response.getResults().get(1).getStatus());
+        assertEquals(new BigDecimal("1000.00"), testAccount.getBalance());
+        assertEquals(new BigDecimal("500.00"), toAccount.getBalance());
+        verify(transferRepository, never()).saveAll(anyList());
+    }
 
-        List<Transfer> transfers = Arrays.asList(transfer1, transfer2);
+    @Test
+    void getTransferHistory_Success() {
+        // Given
+        TransferResponse transfer1 = new TransferResponse(1L, 1L, 2L, new BigDecimal("100.00"), "Transfer 1", LocalDateTime.now());
+        TransferResponse transfer2 = new TransferResponse(2L, 2L, 1L, new BigDecimal("50.00"), "Transfer 2", LocalDateTime.now());
+
+        List<TransferResponse> transfers = Arrays.asList(transfer1, transfer2);
 
         when(accountRepository.existsById(1L)).thenReturn(true);
-        when(transferRepository.findTransferHistoryByAccountId(1L)).thenReturn(transfers);
+        when(transferRepository.findTransferResponsesByAccountId(1L)).thenReturn(transfers);
+        when(transferArchive.iterateHistory(1L)).thenReturn(Collections.emptyIterator());
 
         // When
         List<TransferResponse> responses = accountService.getTransferHistory(1L);
@@ -195,7 +432,7 @@ class AccountServiceTest {
         assertEquals(transfer2.getId(), responses.get(1).getId());
 
         verify(accountRepository).existsById(1L);
-        verify(transferRepository).findTransferHistoryByAccountId(1L);
+        verify(transferRepository).findTransferResponsesByAccountId(1L);
     }
 
     @Test
@@ -206,6 +443,104 @@ class AccountServiceTest {
         // When & Then
         assertThrows(AccountNotFoundException.class, () -> accountService.getTransferHistory(999L));
         verify(accountRepository).existsById(999L);
-        verify(transferRepository, never()).findTransferHistoryByAccountId(anyLong());
+        verify(transferRepository, never()).findTransferResponsesByAccountId(anyLong());
+    }
+
+    @Test
+    void getTransferHistoryPage_MergesDirectionsNewestFirst() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        TransferResponse out1 = new TransferResponse(5L, 1L, 2L, new BigDecimal("10.00"), "Out 1", now);
+        TransferResponse out2 = new TransferResponse(3L, 1L, 2L, new BigDecimal("20.00"), "Out 2", now.minusMinutes(2));
+        TransferResponse in1 = new TransferResponse(4L, 2L, 1L, new BigDecimal("30.00"), "In 1", now.minusMinutes(1));
+        TransferResponse in2 = new TransferResponse(2L, 2L, 1L, new BigDecimal("40.00"), "In 2", now.minusMinutes(3));
+
+        when(accountRepository.existsById(1L)).thenReturn(true);
+        when(transferRepository.findOutgoingPage(1L, Limit.of(4))).thenReturn(List.of(out1, out2));
+        when(transferRepository.findIncomingPage(1L, Limit.of(4))).thenReturn(List.of(in1, in2));
+
+        // When
+        TransferHistoryPage page = accountService.getTransferHistoryPage(1L, null, 3);
+
+        // Then
+        assertEquals(List.of(5L, 4L, 3L), page.getTransfers().stream().map(TransferResponse::getId).toList());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+
+        // When - the cursor resumes strictly after the last returned transfer
+        when(transferRepository.findOutgoingPageAfter(1L, out2.getTimestamp(), 3L, Limit.of(4))).thenReturn(List.of());
+        when(transferRepository.findIncomingPageAfter(1L, out2.getTimestamp(), 3L, Limit.of(4))).thenReturn(List.of(in2));
+        TransferHistoryPage next = accountService.getTransferHistoryPage(1L, page.getNextCursor(), 3);
+
+        // Then
+        assertEquals(List.of(2L), next.getTransfers().stream().map(TransferResponse::getId).toList());
+        assertFalse(next.isHasMore());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void getTransferHistoryPage_ContinuesIntoArchive() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        TransferResponse hot = new TransferResponse(9L, 1L, 2L, new BigDecimal("10.00"), "Hot", now);
+        TransferResponse archivedOut = new TransferResponse(3L, 1L, 2L, new BigDecimal("20.00"), "Archived out", now.minusMonths(4));
+        TransferResponse archivedIn = new TransferResponse(2L, 2L, 1L, new BigDecimal("30.00"), "Archived in", now.minusMonths(5));
+
+        when(accountRepository.existsById(1L)).thenReturn(true);
+        when(transferRepository.findOutgoingPage(1L, Limit.of(3))).thenReturn(List.of(hot));
+        when(transferRepository.findIncomingPage(1L, Limit.of(3))).thenReturn(List.of());
+        when(transferArchive.findOutgoingPage(1L, null, null, 3)).thenReturn(List.of(archivedOut));
+        when(transferArchive.findIncomingPage(1L, null, null, 3)).thenReturn(List.of(archivedIn));
+
+        // When
+        TransferHistoryPage page = accountService.getTransferHistoryPage(1L, null, 2);
+
+        // Then
+        assertEquals(List.of(9L, 3L), page.getTransfers().stream().map(TransferResponse::getId).toList());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void getTransferHistoryPage_SkipsArchiveWhenHotPageIsNewer() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<TransferResponse> outgoing = List.of(
+                new TransferResponse(5L, 1L, 2L, new BigDecimal("10.00"), "Out 1", now),
+                new TransferResponse(3L, 1L, 2L, new BigDecimal("10.00"), "Out 2", now.minusMinutes(2)));
+        List<TransferResponse> incoming = List.of(
+                new TransferResponse(4L, 2L, 1L, new BigDecimal("10.00"), "In 1", now.minusMinutes(1)),
+                new TransferResponse(2L, 2L, 1L, new BigDecimal("10.00"), "In 2", now.minusMinutes(3)));
+
+        when(accountRepository.existsById(1L)).thenReturn(true);
+        when(transferRepository.findOutgoingPage(1L, Limit.of(2))).thenReturn(outgoing);
+        when(transferRepository.findIncomingPage(1L, Limit.of(2))).thenReturn(incoming);
+        when(transferArchive.mayHoldFrom(any())).thenReturn(false);
+
+        // When
+        TransferHistoryPage page = accountService.getTransferHistoryPage(1L, null, 1);
+
+        // Then
+        assertEquals(List.of(5L), page.getTransfers().stream().map(TransferResponse::getId).toList());
+        verify(transferArchive, never()).findOutgoingPage(anyLong(), any(), any(), anyInt());
+        verify(transferArchive, never()).findIncomingPage(anyLong(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getTransferHistoryPage_InvalidCursor() {
+        // Given
+        when(accountRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(InvalidCursorException.class, () -> accountService.getTransferHistoryPage(1L, "not-a-cursor", 10));
+    }
+
+    @Test
+    void getTransferHistoryPage_AccountNotFound() {
+        // Given
+        when(accountRepository.existsById(999L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(AccountNotFoundException.class, () -> accountService.getTransferHistoryPage(999L, null, 10));
+        verifyNoInteractions(transferRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.cache.AccountBalanceCache;
+import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Readers hammer the cached balance endpoint while transfers commit. Every read issued after a transfer
+ * returns must see that transfer, and no reader may ever observe the debited balance going back up.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:balancecache"
+})
+class BalanceCacheConsistencyTest {
+
+    private static final int TRANSFERS = 200;
+    private static final int READERS = 4;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountBalanceCache balanceCache;
+
+    @Test
+    void noStaleReadsAfterCommit() throws Exception {
+        Customer customer = customerRepository.save(new Customer(null, "Cache Customer", null));
+        Long source = accountRepository.save(Account.builder().accountNumber("CCA-" + System.nanoTime())
+                .balance(new BigDecimal("1000.00")).customer(customer).createdAt(LocalDateTime.now()).build()).getId();
+        Long target = accountRepository.save(Account.builder().accountNumber("CCB-" + System.nanoTime())
+                .balance(BigDecimal.ZERO).customer(customer).createdAt(LocalDateTime.now()).build()).getId();
+
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            results.add(readers.submit(() -> {
+                BigDecimal lastSeen = null;
+                int reads = 0;
+                while (!done.get()) {
+                    BigDecimal balance = accountService.getAccountBalance(source).getBalance();
+                    if (lastSeen != null && balance.compareTo(lastSeen) > 0) {
+                        fail("balance went back from " + lastSeen + " to " + balance);
+                    }
+                    lastSeen = balance;
+                    reads++;
+                }
+                return reads;
+            }));
+        }
+
+        BigDecimal expected = new BigDecimal("1000.00");
+        for (int i = 0; i < TRANSFERS; i++) {
+            accountService.transferFunds(new TransferRequest(source, target, BigDecimal.ONE, "cache " + i));
+            expected = expected.subtract(BigDecimal.ONE);
+            assertEquals(0, expected.compareTo(accountService.getAccountBalance(source).getBalance()), "stale read after transfer " + i);
+        }
+
+        // A rolled-back transfer must not evict or change what readers see
+        assertThrows(InsufficientFundsException.class,
+                () -> accountService.transferFunds(new TransferRequest(source, target, new BigDecimal("5000.00"), "too much")));
+        assertEquals(0, expected.compareTo(accountService.getAccountBalance(source).getBalance()));
+
+        done.set(true);
+        int reads = 0;
+        for (Future<Integer> result : results) {
+            reads += result.get(1, TimeUnit.MINUTES);
+        }
+        readers.shutdown();
+
+        assertEquals(0, new BigDecimal("200.00").compareTo(accountService.getAccountBalance(target).getBalance()));
+        assertTrue(reads > 0, "readers should have run alongside the transfers");
+        assertTrue(balanceCache.stats().getHitCount() > 0, "readers should have been served from the cache");
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.CustomerPage;
+import com.example.banking_api_challenge.DTO.CustomerResponse;
+import com.example.banking_api_challenge.DTO.CustomerSortField;
+import com.example.banking_api_challenge.exception.CustomerNotFoundException;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:customers",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CustomerListingTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Customer withAccounts;
+
+    private Customer withoutAccounts;
+
+    @BeforeEach
+    void setUp() {
+        withAccounts = customerRepository.save(new Customer(null, "Zelda Listing " + System.nanoTime(), null));
+        withoutAccounts = customerRepository.save(new Customer(null, "Aaron Listing " + System.nanoTime(), null));
+        for (String balance : List.of("100.00", "250.50", "0.00")) {
+            accountRepository.save(Account.builder().accountNumber("CL-" + System.nanoTime())
+                    .balance(new BigDecimal(balance)).customer(withAccounts).createdAt(LocalDateTime.now()).build());
+        }
+    }
+
+    @Test
+    void summaryIsAggregatedInTheListingQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CustomerPage page = customerService.getCustomers(0, CustomerService.MAX_PAGE_SIZE, CustomerSortField.ID, Sort.Direction.ASC, true);
+
+        // The page query plus at most its count query (skipped when the page is the last), however many accounts there are
+        assertTrue(statistics.getPrepareStatementCount() <= 2);
+        assertEquals(0, statistics.getEntityLoadCount());
+        CustomerResponse summary = find(page, withAccounts.getId());
+        assertEquals(3L, summary.getAccountCount());
+        assertEquals(0, new BigDecimal("350.50").compareTo(summary.getTotalBalance()));
+        CustomerResponse empty = find(page, withoutAccounts.getId());
+        assertEquals(0L, empty.getAccountCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(empty.getTotalBalance()));
+    }
+
+    @Test
+    void listingWithoutSummaryOmitsAggregates() {
+        CustomerPage page = customerService.getCustomers(0, 10, CustomerSortField.ID, Sort.Direction.ASC, false);
+
+        assertTrue(page.getCustomers().stream().allMatch(c -> c.getAccountCount() == null && c.getTotalBalance() == null));
+        assertEquals(customerRepository.count(), page.getTotalElements());
+    }
+
+    @Test
+    void sortsByNameAndClampsPageSize() {
+        CustomerPage page = customerService.getCustomers(0, 10_000, CustomerSortField.NAME, Sort.Direction.DESC, false);
+
+        assertEquals(CustomerService.MAX_PAGE_SIZE, page.getSize());
+        List<String> names = page.getCustomers().stream().map(CustomerResponse::getName).toList();
+        assertEquals(names.stream().sorted(Comparator.reverseOrder()).toList(), names);
+    }
+
+    @Test
+    void getCustomer_WithSummaryAndNotFound() {
+        CustomerResponse customer = customerService.getCustomer(withAccounts.getId(), true);
+
+        assertEquals(3L, customer.getAccountCount());
+        assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomer(999_999L, false));
+    }
+
+    private CustomerResponse find(CustomerPage page, Long id) {
+        return page.getCustomers().stream().filter(c -> c.getId().equals(id)).findFirst().orElseThrow();
+    }
+}
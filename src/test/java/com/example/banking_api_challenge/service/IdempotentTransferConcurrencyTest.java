@@ -0,0 +1,91 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.IdempotencyRecordRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A client retry storm: many threads submit the same keyed transfer at once. Exactly one transfer may be
+ * written and every caller must get that transfer back.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency"
+})
+class IdempotentTransferConcurrencyTest {
+
+    private static final int CLIENTS = 8;
+
+    @Autowired
+    private TransferIdempotencyService transferIdempotencyService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    void concurrentDuplicatesMoveMoneyOnce() throws Exception {
+        Customer customer = customerRepository.save(new Customer(null, "Retry Customer", null));
+        Long source = accountRepository.save(Account.builder().accountNumber("IDA-" + System.nanoTime())
+                .balance(new BigDecimal("1000.00")).customer(customer).createdAt(LocalDateTime.now()).build()).getId();
+        Long target = accountRepository.save(Account.builder().accountNumber("IDB-" + System.nanoTime())
+                .balance(BigDecimal.ZERO).customer(customer).createdAt(LocalDateTime.now()).build()).getId();
+        long transfersBefore = transferRepository.count();
+        TransferRequest request = new TransferRequest(source, target, new BigDecimal("250.00"), "Invoice 42");
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotentTransfer>> results = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            results.add(clients.submit(() -> {
+                start.await();
+                return transferIdempotencyService.transfer("invoice-42", request);
+            }));
+        }
+        start.countDown();
+
+        List<IdempotentTransfer> outcomes = new ArrayList<>();
+        for (Future<IdempotentTransfer> result : results) {
+            outcomes.add(result.get(1, TimeUnit.MINUTES));
+        }
+        clients.shutdown();
+
+        assertEquals(1, outcomes.stream().filter(outcome -> !outcome.replayed()).count());
+        assertEquals(1, outcomes.stream().map(outcome -> outcome.response().getId()).distinct().count());
+        assertEquals(transfersBefore + 1, transferRepository.count());
+        assertTrue(idempotencyRecordRepository.existsById("invoice-42"));
+        assertEquals(0, new BigDecimal("750.00").compareTo(accountService.getAccountBalance(source).getBalance()));
+        assertEquals(0, new BigDecimal("250.00").compareTo(accountService.getAccountBalance(target).getBalance()));
+    }
+}
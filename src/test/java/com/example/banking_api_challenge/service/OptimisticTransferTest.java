@@ -0,0 +1,117 @@
+package com.example.banking_api_challenge.service;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Opposing transfers on one hot pair with the optimistic strategy: conflicts are detected by the version
+ * column and retried, so every transfer lands exactly once and no money is created or lost.
+ */
+@Slf4j
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:optimistic;LOCK_TIMEOUT=10000",
+        "banking.transfer.concurrency.strategy=optimistic",
+        "banking.transfer.concurrency.max-attempts=100",
+        "banking.transfer.concurrency.initial-backoff=1ms",
+        "banking.transfer.concurrency.max-backoff=20ms"
+})
+class OptimisticTransferTest {
+
+    private static final int THREADS = 4;
+    private static final int TRANSFERS_PER_THREAD = 25;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentTransfersOnAHotPairAreRetriedAndConserveMoney() throws Exception {
+        // Given
+        Customer customer = customerRepository.save(new Customer(null, "Optimistic Customer", null));
+        Long first = accountRepository.save(Account.builder().accountNumber("OPA-" + System.nanoTime())
+                .balance(new BigDecimal("1000.00")).customer(customer).createdAt(LocalDateTime.now()).build()).getId();
+        Long second = accountRepository.save(Account.builder().accountNumber("OPB-" + System.nanoTime())
+                .balance(new BigDecimal("1000.00")).customer(customer).createdAt(LocalDateTime.now()).build()).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Logger batchLogger = (Logger) LoggerFactory.getLogger("org.hibernate.orm.jdbc.batch");
+        ListAppender<ILoggingEvent> batchLog = new ListAppender<>();
+        batchLog.start();
+        batchLogger.addAppender(batchLog);
+
+        // When - half the threads move money one way, half the other way
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Long from = t % 2 == 0 ? first : second;
+            Long to = t % 2 == 0 ? second : first;
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    accountService.transferFunds(new TransferRequest(from, to, new BigDecimal("3.00"), "optimistic"));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdown();
+            batchLogger.detachAppender(batchLog);
+        }
+
+        // Then
+        Account a = accountRepository.findById(first).orElseThrow();
+        Account b = accountRepository.findById(second).orElseThrow();
+        assertEquals(0, new BigDecimal("1000.00").compareTo(a.getBalance()));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(b.getBalance()));
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, a.getVersion());
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, accountService.getTransferHistory(first).size());
+
+        double conflicts = meterRegistry.get("banking.transfer.conflicts").counter().count();
+        long transfers = meterRegistry.get("banking.transfer.attempts").summary().count();
+        double attempts = meterRegistry.get("banking.transfer.attempts").summary().totalAmount();
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, transfers);
+        assertEquals(transfers + conflicts, attempts);
+        // Conflicts surface as stale batches, which are retried rather than logged
+        assertEquals(List.of(), batchLog.list.stream().map(ILoggingEvent::getFormattedMessage).toList());
+        log.info("optimistic hot pair: {} transfers, {} conflicts, {} attempts/transfer",
+                transfers, (long) conflicts, Math.round(attempts * 100 / transfers) / 100.0);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Before/after comparison of the balance and history read paths: the legacy entity load plus mapping
+ * against the single-join DTO projections in read-only transactions. Query counts are asserted,
+ * latencies are logged. The balance cache is off so every call reaches the database.
+ * Iterations can be raised with -Dreadpath.iterations.
+ */
+@Slf4j
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:readpath",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "banking.cache.balance.enabled=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class ReadPathBenchmarkTest {
+
+    private static final int ITERATIONS = Integer.getInteger("readpath.iterations", 200);
+    private static final int HISTORY_SIZE = 500;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Customer customer = customerRepository.save(new Customer(null, "Read Path Customer", null));
+        Account account = accountRepository.save(Account.builder().accountNumber("RP-" + System.nanoTime())
+                .balance(new BigDecimal("100.00")).customer(customer).createdAt(LocalDateTime.now()).build());
+        Account other = accountRepository.save(Account.builder().accountNumber("RO-" + System.nanoTime())
+                .balance(new BigDecimal("100.00")).customer(customer).createdAt(LocalDateTime.now()).build());
+        accountId = account.getId();
+
+        List<Transfer> transfers = new ArrayList<>(HISTORY_SIZE);
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            transfers.add(Transfer.builder().fromAccount(i % 2 == 0 ? account : other).toAccount(i % 2 == 0 ? other : account)
+                    .amount(new BigDecimal("1.00")).timestamp(LocalDateTime.now().minusSeconds(i)).description("T" + i).build());
+        }
+        transferRepository.saveAll(transfers);
+    }
+
+    @Test
+    void balanceProjectionUsesOneQueryInsteadOfTwo() {
+        TransactionTemplate legacy = new TransactionTemplate(transactionManager);
+        Supplier<AccountResponse> legacyRead = () -> legacy.execute(status -> {
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            return new AccountResponse(account.getId(), account.getAccountNumber(), account.getBalance(),
+                    account.getCustomer().getId(), account.getCustomer().getName(), account.getCreatedAt());
+        });
+        Supplier<AccountResponse> projectedRead = () -> accountService.getAccountBalance(accountId);
+
+        assertEquals(legacyRead.get(), projectedRead.get());
+        Measurement before = measure("balance/entity", legacyRead);
+        Measurement after = measure("balance/projection", projectedRead);
+
+        assertEquals(2.0, before.queriesPerCall());
+        assertEquals(1.0, after.queriesPerCall());
+        assertEquals(0.0, after.entityLoadsPerCall());
+    }
+
+    @Test
+    void historyProjectionSkipsEntityHydration() {
+        TransactionTemplate legacy = new TransactionTemplate(transactionManager);
+        Supplier<List<TransferResponse>> legacyRead = () -> legacy.execute(status -> {
+            assertTrue(accountRepository.existsById(accountId));
+            return transferRepository.findTransferHistoryByAccountId(accountId).stream()
+                    .map(t -> new TransferResponse(t.getId(), t.getFromAccount().getId(), t.getToAccount().getId(),
+                            t.getAmount(), t.getDescription(), t.getTimestamp()))
+                    .toList();
+        });
+        Supplier<List<TransferResponse>> projectedRead = () -> accountService.getTransferHistory(accountId);
+
+        assertEquals(HISTORY_SIZE, projectedRead.get().size());
+        Measurement before = measure("history/entity", legacyRead);
+        Measurement after = measure("history/projection", projectedRead);
+
+        assertEquals(HISTORY_SIZE, before.entityLoadsPerCall());
+        assertEquals(0.0, after.entityLoadsPerCall());
+        assertEquals(before.queriesPerCall(), after.queriesPerCall());
+    }
+
+    private Measurement measure(String name, Supplier<?> read) {
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            read.get();
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.get();
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+        Measurement measurement = new Measurement((double) statistics.getPrepareStatementCount() / ITERATIONS,
+                (double) statistics.getEntityLoadCount() / ITERATIONS, micros);
+        log.info("{}: {} queries/call, {} entity loads/call, {} us/call",
+                name, measurement.queriesPerCall(), measurement.entityLoadsPerCall(), Math.round(measurement.microsPerCall()));
+        return measurement;
+    }
+
+    private record Measurement(double queriesPerCall, double entityLoadsPerCall, double microsPerCall) {
+    }
+}
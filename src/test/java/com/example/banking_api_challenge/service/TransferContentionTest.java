@@ -0,0 +1,116 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contention harness: fires thousands of concurrent transfers across a small hot set of accounts
+ * (including opposing A->B / B->A pairs) and checks that no update is lost, no deadlock occurs
+ * and throughput stays above a floor. Tune with -Dcontention.transfers, -Dcontention.threads
+ * and -Dcontention.minThroughput.
+ */
+@Slf4j
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:contention;LOCK_TIMEOUT=10000"
+})
+class TransferContentionTest {
+
+    private static final int HOT_ACCOUNTS = 4;
+    private static final int TRANSFERS = Integer.getInteger("contention.transfers", 2000);
+    private static final int THREADS = Integer.getInteger("contention.threads", 8);
+    private static final double MIN_THROUGHPUT = Double.parseDouble(System.getProperty("contention.minThroughput", "50"));
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final List<Long> accountIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(new Customer(null, "Contention Customer", null));
+        for (int i = 0; i < HOT_ACCOUNTS; i++) {
+            Account account = Account.builder().accountNumber("HOT-" + System.nanoTime() + "-" + i)
+                    .balance(INITIAL_BALANCE).customer(customer).createdAt(LocalDateTime.now()).build();
+            accountIds.add(accountRepository.save(account).getId());
+        }
+    }
+
+    @Test
+    void concurrentTransfers_ConserveMoneyWithoutDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(TRANSFERS);
+
+        for (int i = 0; i < TRANSFERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = random.nextInt(HOT_ACCOUNTS);
+                int to = (from + 1 + random.nextInt(HOT_ACCOUNTS - 1)) % HOT_ACCOUNTS;
+                BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 5000), 2);
+                try {
+                    accountService.transferFunds(new TransferRequest(accountIds.get(from), accountIds.get(to), amount, "contention"));
+                    succeeded.incrementAndGet();
+                } catch (InsufficientFundsException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executor.shutdown();
+
+        BigDecimal total = accountRepository.findAllById(accountIds).stream()
+                .map(Account::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long throughput = TRANSFERS * 1000L / Math.max(1, elapsedMillis);
+        log.info("contention: {} transfers ({} ok, {} insufficient funds) on {} threads in {} ms = {} tx/s",
+                TRANSFERS, succeeded.get(), rejected.get(), THREADS, elapsedMillis, throughput);
+
+        assertEquals(TRANSFERS, succeeded.get() + rejected.get());
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(HOT_ACCOUNTS)).compareTo(total));
+        accountRepository.findAllById(accountIds)
+                .forEach(account -> assertTrue(account.getBalance().signum() >= 0));
+        assertTrue(throughput >= MIN_THROUGHPUT, "throughput " + throughput + " tx/s below " + MIN_THROUGHPUT);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferHistoryPage;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:history"
+})
+class TransferHistoryPaginationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    private Account account;
+
+    private List<Long> expectedIds;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(new Customer(null, "History Customer", null));
+        account = accountRepository.save(Account.builder().accountNumber("HIS-" + System.nanoTime())
+                .balance(new BigDecimal("100.00")).customer(customer).createdAt(LocalDateTime.now()).build());
+        Account other = accountRepository.save(Account.builder().accountNumber("OTH-" + System.nanoTime())
+                .balance(new BigDecimal("100.00")).customer(customer).createdAt(LocalDateTime.now()).build());
+
+        // Several transfers share a timestamp so the id tie-breaker is exercised, plus one self-transfer
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Transfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 37; i++) {
+            boolean outgoing = i % 3 != 0;
+            transfers.add(Transfer.builder()
+                    .fromAccount(outgoing ? account : other)
+                    .toAccount(i == 20 ? account : outgoing ? other : account)
+                    .amount(new BigDecimal("1.00"))
+                    .timestamp(base.plusMinutes(i / 4))
+                    .description("T" + i)
+                    .build());
+        }
+        transferRepository.saveAll(transfers);
+
+        expectedIds = transferRepository.findTransferHistoryByAccountId(account.getId()).stream()
+                .sorted((a, b) -> {
+                    int order = b.getTimestamp().compareTo(a.getTimestamp());
+                    return order != 0 ? order : b.getId().compareTo(a.getId());
+                })
+                .map(Transfer::getId)
+                .toList();
+    }
+
+    @Test
+    void pagingVisitsEveryTransferOnceInKeysetOrder() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransferHistoryPage page = accountService.getTransferHistoryPage(account.getId(), cursor, 5);
+            page.getTransfers().forEach(transfer -> seen.add(transfer.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(37, expectedIds.size());
+        assertEquals(expectedIds, seen);
+        assertEquals(8, pages);
+    }
+
+    @Test
+    void exportStreamsTheSameHistory() {
+        List<Long> exported = new ArrayList<>();
+        accountService.exportTransferHistory(account.getId(), transfer -> exported.add(transfer.getId()));
+
+        assertEquals(expectedIds, exported);
+    }
+
+    @Test
+    void pageSizeIsCapped() {
+        TransferHistoryPage page = accountService.getTransferHistoryPage(account.getId(), null, 10_000);
+
+        assertEquals(37, page.getTransfers().size());
+        assertFalse(page.isHasMore());
+        assertTrue(page.getTransfers().stream().map(TransferResponse::getId).toList().containsAll(expectedIds));
+    }
+}
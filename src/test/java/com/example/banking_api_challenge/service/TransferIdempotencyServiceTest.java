@@ -0,0 +1,145 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.DTO.TransferResponse;
+import com.example.banking_api_challenge.exception.IdempotencyKeyConflictException;
+import com.example.banking_api_challenge.exception.InsufficientFundsException;
+import com.example.banking_api_challenge.model.IdempotencyRecord;
+import com.example.banking_api_challenge.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferIdempotencyServiceTest {
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private TransferIdempotencyService service;
+
+    private TransferRequest request;
+
+    private TransferResponse response;
+
+    @BeforeEach
+    void setUp() {
+        service = new TransferIdempotencyService(accountService, idempotencyRecordRepository, new IdempotencyProperties());
+        request = new TransferRequest(1L, 2L, new BigDecimal("100.00"), "Rent");
+        response = new TransferResponse(10L, 1L, 2L, new BigDecimal("100.00"), "Rent", LocalDateTime.now());
+    }
+
+    @Test
+    void transfer_WithoutKeyIsNotDeduplicated() {
+        // Given
+        when(accountService.transferFunds(request)).thenReturn(response);
+
+        // When
+        IdempotentTransfer result = service.transfer(null, request);
+
+        // Then
+        assertSame(response, result.response());
+        assertFalse(result.replayed());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void transfer_RepeatIsServedFromMemory() {
+        // Given
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(accountService.transferFunds(eq(request), eq("key-1"), anyString())).thenReturn(response);
+
+        // When
+        IdempotentTransfer first = service.transfer("key-1", request);
+        IdempotentTransfer second = service.transfer("key-1", new TransferRequest(1L, 2L, new BigDecimal("100.0"), "Rent"));
+
+        // Then
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertSame(response, second.response());
+        verify(accountService, times(1)).transferFunds(any(), anyString(), anyString());
+        verify(idempotencyRecordRepository, times(1)).findById("key-1");
+    }
+
+    @Test
+    void transfer_ReplaysPersistedKey() {
+        // Given - the key was committed before a restart
+        IdempotencyRecord record = IdempotencyRecord.builder().idempotencyKey("key-1")
+                .requestHash(TransferIdempotencyService.fingerprint(request)).transferId(10L)
+                .fromAccountId(1L).toAccountId(2L).amount(new BigDecimal("100.00")).description("Rent")
+                .transferTimestamp(response.getTimestamp()).createdAt(LocalDateTime.now()).build();
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(record));
+
+        // When
+        IdempotentTransfer result = service.transfer("key-1", request);
+
+        // Then
+        assertTrue(result.replayed());
+        assertEquals(response, result.response());
+        verify(accountService, never()).transferFunds(any(), anyString(), anyString());
+    }
+
+    @Test
+    void transfer_KeyReusedWithDifferentPayload() {
+        // Given
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(accountService.transferFunds(eq(request), eq("key-1"), anyString())).thenReturn(response);
+        service.transfer("key-1", request);
+
+        // When & Then
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> service.transfer("key-1", new TransferRequest(1L, 2L, new BigDecimal("200.00"), "Rent")));
+    }
+
+    @Test
+    void transfer_FailureIsNotRemembered() {
+        // Given
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(accountService.transferFunds(eq(request), eq("key-1"), anyString()))
+                .thenThrow(new InsufficientFundsException("Insufficient funds in account: ACC-1"))
+                .thenReturn(response);
+
+        // When
+        assertThrows(InsufficientFundsException.class, () -> service.transfer("key-1", request));
+        IdempotentTransfer retry = service.transfer("key-1", request);
+
+        // Then
+        assertFalse(retry.replayed());
+        assertSame(response, retry.response());
+    }
+
+    @Test
+    void transfer_LosesInsertRaceToAnotherInstance() {
+        // Given - another node committed the key between our lookup and our insert
+        IdempotencyRecord record = IdempotencyRecord.builder().idempotencyKey("key-1")
+                .requestHash(TransferIdempotencyService.fingerprint(request)).transferId(10L)
+                .fromAccountId(1L).toAccountId(2L).amount(new BigDecimal("100.00")).description("Rent")
+                .transferTimestamp(response.getTimestamp()).createdAt(LocalDateTime.now()).build();
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty(), Optional.of(record));
+        when(accountService.transferFunds(eq(request), eq("key-1"), anyString()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        IdempotentTransfer result = service.transfer("key-1", request);
+
+        // Then
+        assertTrue(result.replayed());
+        assertEquals(10L, result.response().getId());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.banking_api_challenge.service;
+
+import com.example.banking_api_challenge.exception.ConcurrentUpdateException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransferRetryTemplateTest {
+
+    private TransferConcurrencyProperties properties;
+
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TransferConcurrencyProperties();
+        properties.setStrategy(ConcurrencyStrategy.OPTIMISTIC);
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(2));
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void execute_RetriesConflictsInFreshTransactions() {
+        // Given
+        TransferRetryTemplate template = new TransferRetryTemplate(properties, transactionManager, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        String result = template.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Account", 1L);
+            }
+            return "done";
+        });
+
+        // Then
+        assertEquals("done", result);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        assertEquals(2.0, meterRegistry.get("banking.transfer.conflicts").counter().count());
+        assertEquals(3.0, meterRegistry.get("banking.transfer.attempts").summary().totalAmount());
+    }
+
+    @Test
+    void execute_GivesUpAfterMaxAttempts() {
+        // Given
+        TransferRetryTemplate template = new TransferRetryTemplate(properties, transactionManager, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        assertThrows(ConcurrentUpdateException.class, () -> template.execute(() -> {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Account", 1L);
+        }));
+
+        // Then
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.get("banking.transfer.conflicts.exhausted").counter().count());
+    }
+
+    @Test
+    void execute_NeverRetriesPessimisticTransfers() {
+        // Given
+        properties.setStrategy(ConcurrencyStrategy.PESSIMISTIC);
+        TransferRetryTemplate template = new TransferRetryTemplate(properties, transactionManager, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> template.execute(() -> {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Account", 1L);
+        }));
+
+        // Then
+        assertEquals(1, calls.get());
+        assertEquals(0.0, meterRegistry.get("banking.transfer.conflicts").counter().count());
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.banking_api_challenge.splitbalance;
+
+import com.example.banking_api_challenge.DTO.AccountStatement;
+import com.example.banking_api_challenge.DTO.CreateAccountRequest;
+import com.example.banking_api_challenge.DTO.SplitBalanceResponse;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.exception.InvalidSplitBalanceException;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.model.DailyBalance;
+import com.example.banking_api_challenge.model.DailyBalanceId;
+import com.example.banking_api_challenge.repository.AccountBalanceSlotRepository;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.DailyBalanceRepository;
+import com.example.banking_api_challenge.service.AccountService;
+import com.example.banking_api_challenge.service.CustomerService;
+import com.example.banking_api_challenge.statement.StatementService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:splitbalance"
+})
+class SplitBalanceTest {
+
+    @Autowired
+    private SplitBalances splitBalances;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountBalanceSlotRepository slotRepository;
+
+    @Autowired
+    private DailyBalanceRepository dailyBalanceRepository;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(new Customer(null, "Split Customer", null));
+    }
+
+    @Test
+    void transferFunds_ConcurrentCreditsToSplitAccountKeepEveryCent() throws Exception {
+        // Given
+        Long hot = createAccount("0.00");
+        List<Long> sources = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            sources.add(createAccount("100.00"));
+        }
+        SplitBalanceResponse split = splitBalances.split(hot, 4);
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long source : sources) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        accountService.transferFunds(new TransferRequest(source, hot, new BigDecimal("1.00"), "Payment"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(4, split.getSlots());
+        assertAmount("200.00", accountService.getAccountBalance(hot).getBalance());
+        assertAmount("0.00", accountRepository.findById(hot).orElseThrow().getBalance());
+        assertAmount("75.00", accountService.getAccountBalance(sources.get(0)).getBalance());
+        assertTrue(dailyBalanceRepository.findById(new DailyBalanceId(hot, LocalDate.now())).isEmpty());
+    }
+
+    @Test
+    void transferFunds_DebitBeyondMainBalanceDrawsOnSlots() {
+        // Given
+        Long hot = createAccount("10.00");
+        Long other = createAccount("500.00");
+        Long payee = createAccount("0.00");
+        splitBalances.split(hot, 2);
+        accountService.transferFunds(new TransferRequest(other, hot, new BigDecimal("90.00"), "Top up"));
+
+        // When
+        accountService.transferFunds(new TransferRequest(hot, payee, new BigDecimal("60.00"), "Payout"));
+
+        // Then
+        assertAmount("40.00", accountService.getAccountBalance(hot).getBalance());
+        assertAmount("40.00", accountRepository.findById(hot).orElseThrow().getBalance());
+        assertAmount("60.00", accountService.getAccountBalance(payee).getBalance());
+        assertEquals(2, slotRepository.findAll().stream().filter(slot -> slot.getId().getAccountId().equals(hot)).count());
+    }
+
+    @Test
+    void statementsAndSummariesIncludeSlots() {
+        // Given
+        Long hot = createAccount("100.00");
+        Long other = createAccount("500.00");
+        splitBalances.split(hot, 3);
+        LocalDateTime before = LocalDateTime.now();
+        accountService.transferFunds(new TransferRequest(other, hot, new BigDecimal("50.00"), "One"));
+        accountService.transferFunds(new TransferRequest(hot, other, new BigDecimal("20.00"), "Two"));
+
+        // When
+        AccountStatement statement = statementService.getStatement(hot, LocalDate.now(), LocalDate.now());
+
+        // Then
+        assertAmount("100.00", statementService.getBalanceAt(hot, before).getBalance());
+        assertAmount("130.00", statementService.getBalanceAt(hot, LocalDateTime.now()).getBalance());
+        assertAmount("100.00", statement.getOpeningBalance());
+        assertAmount("130.00", statement.getClosingBalance());
+        assertAmount("50.00", statement.getTotalCredits());
+        assertAmount("20.00", statement.getTotalDebits());
+        assertEquals(2, statement.getTransferCount());
+        assertAmount("600.00", customerService.getCustomer(customer.getId(), true).getTotalBalance());
+    }
+
+    @Test
+    void merge_FoldsSlotsAndRebuildsDailyBalances() {
+        // Given
+        Long hot = createAccount("100.00");
+        Long other = createAccount("500.00");
+        splitBalances.split(hot, 4);
+        accountService.transferFunds(new TransferRequest(other, hot, new BigDecimal("25.00"), "One"));
+
+        // When
+        SplitBalanceResponse merged = splitBalances.merge(hot);
+
+        // Then
+        assertEquals(0, merged.getSlots());
+        assertAmount("125.00", merged.getBalance());
+        assertFalse(splitBalances.isSplit(hot));
+        assertTrue(slotRepository.findAll().stream().noneMatch(slot -> slot.getId().getAccountId().equals(hot)));
+        DailyBalance rollup = dailyBalanceRepository.findById(new DailyBalanceId(hot, LocalDate.now())).orElseThrow();
+        assertAmount("100.00", rollup.getOpeningBalance());
+        assertAmount("125.00", rollup.getClosingBalance());
+        assertAmount("125.00", accountService.getAccountBalance(hot).getBalance());
+    }
+
+    @Test
+    void split_RejectsSlotCountOutOfRange() {
+        // Given
+        Long account = createAccount("1.00");
+
+        // When & Then
+        assertThrows(InvalidSplitBalanceException.class, () -> splitBalances.split(account, 0));
+        assertThrows(InvalidSplitBalanceException.class, () -> splitBalances.split(account, 257));
+        assertFalse(splitBalances.isSplit(account));
+    }
+
+    private Long createAccount(String balance) {
+        return accountService.createAccount(new CreateAccountRequest(customer.getId(), new BigDecimal(balance))).getId();
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}
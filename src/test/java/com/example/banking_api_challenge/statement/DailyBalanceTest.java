@@ -0,0 +1,183 @@
+package com.example.banking_api_challenge.statement;
+
+import com.example.banking_api_challenge.DTO.AccountResponse;
+import com.example.banking_api_challenge.DTO.AccountStatement;
+import com.example.banking_api_challenge.DTO.CreateAccountRequest;
+import com.example.banking_api_challenge.DTO.TransferRequest;
+import com.example.banking_api_challenge.model.Account;
+import com.example.banking_api_challenge.model.Customer;
+import com.example.banking_api_challenge.model.DailyBalance;
+import com.example.banking_api_challenge.model.DailyBalanceId;
+import com.example.banking_api_challenge.model.Transfer;
+import com.example.banking_api_challenge.repository.AccountRepository;
+import com.example.banking_api_challenge.repository.CustomerRepository;
+import com.example.banking_api_challenge.repository.DailyBalanceRepository;
+import com.example.banking_api_challenge.repository.TransferRepository;
+import com.example.banking_api_challenge.service.AccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:dailybalance",
+        "banking.statement.backfill-chunk-size=1",
+        "banking.statement.backfill-parallelism=2"
+})
+class DailyBalanceTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private DailyBalanceBackfill dailyBalanceBackfill;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private DailyBalanceRepository dailyBalanceRepository;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(new Customer(null, "Statement Customer", null));
+    }
+
+    @Test
+    void transferFunds_MaintainsTodaysRollupAndBackfillRebuildsIt() {
+        // Given
+        Long a = accountService.createAccount(new CreateAccountRequest(customer.getId(), new BigDecimal("1000.00"))).getId();
+        Long b = accountService.createAccount(new CreateAccountRequest(customer.getId(), new BigDecimal("500.00"))).getId();
+
+        // When
+        accountService.transferFunds(new TransferRequest(a, b, new BigDecimal("100.00"), "First"));
+        accountService.transferFunds(new TransferRequest(b, a, new BigDecimal("30.00"), "Second"));
+        accountService.transferFunds(new TransferRequest(a, b, new BigDecimal("20.00"), "Third"));
+
+        // Then
+        LocalDate today = LocalDate.now();
+        DailyBalance rollup = dailyBalanceRepository.findById(new DailyBalanceId(a, today)).orElseThrow();
+        assertAmount("1000.00", rollup.getOpeningBalance());
+        assertAmount("910.00", rollup.getClosingBalance());
+        assertAmount("120.00", rollup.getDebits());
+        assertAmount("30.00", rollup.getCredits());
+        assertEquals(3, rollup.getTransferCount());
+
+        // When - rebuilt from the transfers table, the rows come out identical
+        List<DailyBalance> incremental = rows(a, b);
+        DailyBalanceBackfillSummary summary = dailyBalanceBackfill.backfill();
+
+        // Then
+        assertTrue(summary.rows() >= 2);
+        List<DailyBalance> rebuilt = rows(a, b);
+        assertEquals(incremental.size(), rebuilt.size());
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertAmount(incremental.get(i).getOpeningBalance().toPlainString(), rebuilt.get(i).getOpeningBalance());
+            assertAmount(incremental.get(i).getClosingBalance().toPlainString(), rebuilt.get(i).getClosingBalance());
+            assertEquals(incremental.get(i).getTransferCount(), rebuilt.get(i).getTransferCount());
+        }
+    }
+
+    @Test
+    void getBalanceAt_ReadsRollupAndPartialDay() {
+        // Given - two backdated days of history, as a bulk load would leave it, then backfilled
+        LocalDate first = LocalDate.now().minusDays(10);
+        LocalDate second = first.plusDays(2);
+        Account a = account("ACC-STMT-A", "940.00");
+        Account b = account("ACC-STMT-B", "560.00");
+        transferRepository.saveAll(List.of(
+                Transfer.builder().fromAccount(a).toAccount(b).amount(new BigDecimal("100.00"))
+                        .timestamp(first.atTime(10, 0)).description("Rent").build(),
+                Transfer.builder().fromAccount(b).toAccount(a).amount(new BigDecimal("40.00"))
+                        .timestamp(second.atTime(12, 0)).description("Refund").build()));
+        dailyBalanceBackfill.backfill();
+
+        // When & Then
+        assertAmount("1000.00", statementService.getBalanceAt(a.getId(), first.minusDays(5).atStartOfDay()).getBalance());
+        assertAmount("1000.00", statementService.getBalanceAt(a.getId(), first.atTime(9, 59)).getBalance());
+        assertAmount("900.00", statementService.getBalanceAt(a.getId(), first.atTime(10, 0)).getBalance());
+        assertAmount("900.00", statementService.getBalanceAt(a.getId(), first.plusDays(1).atTime(23, 0)).getBalance());
+        assertAmount("940.00", statementService.getBalanceAt(a.getId(), second.atTime(12, 0)).getBalance());
+        assertAmount("560.00", statementService.getBalanceAt(b.getId(), LocalDateTime.now()).getBalance());
+    }
+
+    @Test
+    void getBalanceAt_IsZeroBeforeTheAccountWasOpened() {
+        // Given - an account opened with a deposit and no transfers yet
+        AccountResponse account = accountService.createAccount(new CreateAccountRequest(customer.getId(), new BigDecimal("250.00")));
+
+        // When & Then
+        assertAmount("0", statementService.getBalanceAt(account.getId(), account.getCreatedAt().minusDays(1)).getBalance());
+        assertAmount("0", statementService.getBalanceAt(account.getId(), account.getCreatedAt().minusNanos(1000)).getBalance());
+        assertAmount("250.00", statementService.getBalanceAt(account.getId(), account.getCreatedAt()).getBalance());
+    }
+
+    @Test
+    void getStatement_SumsDaysInRange() {
+        // Given
+        LocalDate first = LocalDate.now().minusDays(20);
+        LocalDate second = first.plusDays(3);
+        Account a = account("ACC-STMT-C", "1075.00");
+        Account b = account("ACC-STMT-D", "425.00");
+        transferRepository.saveAll(List.of(
+                Transfer.builder().fromAccount(b).toAccount(a).amount(new BigDecimal("50.00"))
+                        .timestamp(first.atTime(8, 0)).description("One").build(),
+                Transfer.builder().fromAccount(b).toAccount(a).amount(new BigDecimal("50.00"))
+                        .timestamp(first.atTime(9, 0)).description("Two").build(),
+                Transfer.builder().fromAccount(a).toAccount(b).amount(new BigDecimal("25.00"))
+                        .timestamp(second.atTime(18, 0)).description("Three").build()));
+        dailyBalanceBackfill.backfill();
+
+        // When
+        AccountStatement statement = statementService.getStatement(a.getId(), first, second);
+        AccountStatement quiet = statementService.getStatement(a.getId(), second.plusDays(1), second.plusDays(5));
+
+        // Then
+        assertAmount("1000.00", statement.getOpeningBalance());
+        assertAmount("1075.00", statement.getClosingBalance());
+        assertAmount("25.00", statement.getTotalDebits());
+        assertAmount("100.00", statement.getTotalCredits());
+        assertEquals(3, statement.getTransferCount());
+        assertEquals(List.of(first, second), statement.getDays().stream().map(day -> day.getDay()).toList());
+        assertAmount("1075.00", quiet.getOpeningBalance());
+        assertAmount("1075.00", quiet.getClosingBalance());
+        assertTrue(quiet.getDays().isEmpty());
+    }
+
+    private Account account(String accountNumber, String balance) {
+        return accountRepository.save(Account.builder().accountNumber(accountNumber).balance(new BigDecimal(balance))
+                .customer(customer).createdAt(LocalDateTime.now().minusYears(2)).build());
+    }
+
+    private List<DailyBalance> rows(Long... accountIds) {
+        return dailyBalanceRepository.findAll().stream()
+                .filter(row -> List.of(accountIds).contains(row.getId().getAccountId()))
+                .sorted(Comparator.comparing((DailyBalance row) -> row.getId().getAccountId()).thenComparing(row -> row.getId().getDay()))
+                .toList();
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}